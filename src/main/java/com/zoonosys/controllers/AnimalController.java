@@ -1,14 +1,26 @@
 package com.zoonosys.controllers;
 
+import com.zoonosys.dtos.AdoptAnimalDTO;
+import com.zoonosys.dtos.AnimalAdminSummaryDTO;
+import com.zoonosys.dtos.AnimalFacetsDTO;
+import com.zoonosys.dtos.AnimalFilterDTO;
+import com.zoonosys.dtos.AnimalSummaryDTO;
+import com.zoonosys.dtos.Cursor;
+import com.zoonosys.dtos.CursorPageDTO;
+import com.zoonosys.dtos.ImportReportDTO;
 import com.zoonosys.dtos.RegisterAnimalDTO;
 import com.zoonosys.dtos.RegisterNewsDTO;
 import com.zoonosys.dtos.UpdateAnimalDTO;
+import com.zoonosys.enums.ImportFormat;
+import com.zoonosys.exceptions.BadRequestException;
 import com.zoonosys.exceptions.ResourceNotFoundException;
 import com.zoonosys.models.Animal;
 import com.zoonosys.models.News;
 import com.zoonosys.models.User;
 import com.zoonosys.security.userdetails.UserDetailsImpl;
+import com.zoonosys.services.AnimalImportService;
 import com.zoonosys.services.AnimalService;
+import com.zoonosys.services.AnimalSuggestIndex;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -19,11 +31,15 @@ import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.Optional;
 
@@ -34,9 +50,12 @@ public class AnimalController {
 
     private final AnimalService animalService;
 
+    private final AnimalImportService animalImportService;
+
     @Autowired
-    public AnimalController(AnimalService animalService){
+    public AnimalController(AnimalService animalService, AnimalImportService animalImportService){
         this.animalService = animalService;
+        this.animalImportService = animalImportService;
     }
     @Operation(
             summary = "Registrar um novo animal",
@@ -62,17 +81,92 @@ public class AnimalController {
         return new ResponseEntity<>(createdAnimal, HttpStatus.CREATED);
     }
 
+    @Operation(
+            summary = "Importar animais em lote (CSV ou NDJSON)",
+            description = "Cadastra os animais do arquivo enviado no corpo da requisição, lido de forma incremental. " +
+                    "CSV (text/csv, separado por vírgula ou ponto e vírgula) com cabeçalho: name, breed, description, " +
+                    "isVaccinated, isNeutered, imageUrl, imageId, species, gender, size. NDJSON (application/x-ndjson): " +
+                    "um objeto igual ao do cadastro individual por linha. Linhas inválidas são listadas no relatório e " +
+                    "não impedem a gravação das demais. Requer token JWT e a autoridade 'ROLE_ADMINISTRATOR'.",
+            tags = {"Animals", "Administração"},
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Importação concluída; veja os erros por linha no relatório.",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ImportReportDTO.class))),
+                    @ApiResponse(responseCode = "400", description = "Arquivo malformado, sem colunas obrigatórias ou acima do limite de linhas."),
+                    @ApiResponse(responseCode = "401", description = "Não autorizado."),
+                    @ApiResponse(responseCode = "403", description = "Proibido (Usuário sem 'ROLE_ADMINISTRATOR').")
+            }
+    )
+    @PostMapping(value = "/import", consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<ImportReportDTO> importAnimals(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body,
+            @AuthenticationPrincipal UserDetailsImpl authenticatedUserDetails) throws IOException {
+        ImportFormat format = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.APPLICATION_NDJSON)
+                ? ImportFormat.NDJSON
+                : ImportFormat.CSV;
+        ImportReportDTO report = animalImportService.importAnimals(body, format, authenticatedUserDetails.getUser());
+        return new ResponseEntity<>(report, HttpStatus.OK);
+    }
+
     @Operation(
             summary = "Listar animais disponíveis para adoção (Edital Público)",
-            description = "Retorna uma lista paginada de animais que estão com o status 'disponível' (idAdoptingUser é NULL e não estão em tratamento). Acesso público.",
-            tags = {"Animals", "Público"}
+            description = "Retorna os animais disponíveis (idAdoptingUser é NULL), com filtros opcionais, na página " +
+                    "tradicional. Acesso público.",
+            tags = {"Animals", "Público"},
+            parameters = {
+                    @Parameter(name = "species", description = "Espécie (CANINE, FELINE).", example = "CANINE"),
+                    @Parameter(name = "animalSize", description = "Porte (SMALL, MEDIUM, LARGE).", example = "MEDIUM"),
+                    @Parameter(name = "gender", description = "Gênero (MALE, FEMALE).", example = "FEMALE"),
+                    @Parameter(name = "isVaccinated", description = "Filtra por vacinação.", example = "true"),
+                    @Parameter(name = "isNeutered", description = "Filtra por castração.", example = "true"),
+                    @Parameter(name = "page", description = "Número da página a ser buscada (inicia em 0).", example = "0"),
+                    @Parameter(name = "size", description = "Quantidade de itens por página.", example = "20")
+            }
     )
     @GetMapping("/adocao")
-    public ResponseEntity<Page<Animal>> getAvailableAnimals(Pageable pageable) {
-        Page<Animal> availablePage = animalService.findAvailableForAdoption(pageable);
+    public ResponseEntity<Page<AnimalSummaryDTO>> getAvailableAnimals(AnimalFilterDTO filter, Pageable pageable) {
+        Page<AnimalSummaryDTO> availablePage = animalService.findAvailableForAdoption(filter, pageable);
         return new ResponseEntity<>(availablePage, HttpStatus.OK);
     }
 
+    @Operation(
+            summary = "Listar animais disponíveis para adoção (Edital Público)",
+            description = "Com o parâmetro 'after' a paginação é por cursor: a resposta traz 'nextCursor' e não " +
+                    "calcula o total. Aceita os mesmos filtros. Acesso público.",
+            tags = {"Animals", "Público"},
+            parameters = {
+                    @Parameter(name = "species", description = "Espécie (CANINE, FELINE).", example = "CANINE"),
+                    @Parameter(name = "animalSize", description = "Porte (SMALL, MEDIUM, LARGE).", example = "MEDIUM"),
+                    @Parameter(name = "gender", description = "Gênero (MALE, FEMALE).", example = "FEMALE"),
+                    @Parameter(name = "isVaccinated", description = "Filtra por vacinação.", example = "true"),
+                    @Parameter(name = "isNeutered", description = "Filtra por castração.", example = "true"),
+                    @Parameter(name = "after", description = "Cursor opaco retornado em 'nextCursor'; vazio para a primeira página."),
+                    @Parameter(name = "size", description = "Quantidade de itens por página.", example = "20")
+            }
+    )
+    @GetMapping(value = "/adocao", params = "after")
+    public ResponseEntity<CursorPageDTO<AnimalSummaryDTO>> getAvailableAnimalsByCursor(
+            AnimalFilterDTO filter,
+            @RequestParam(name = "after") String after,
+            Pageable pageable) {
+        CursorPageDTO<AnimalSummaryDTO> availablePage =
+                animalService.findAvailableForAdoption(filter, Cursor.decode(after), pageable.getPageSize());
+        return new ResponseEntity<>(availablePage, HttpStatus.OK);
+    }
+
+    @Operation(
+            summary = "Contagens por faceta dos animais disponíveis para adoção",
+            description = "Retorna quantos animais disponíveis há por espécie, porte, gênero, vacinação e castração. Acesso público.",
+            tags = {"Animals", "Público"}
+    )
+    @GetMapping("/adocao/facets")
+    public ResponseEntity<AnimalFacetsDTO> getAdoptionFacets() {
+        return new ResponseEntity<>(animalService.getAdoptionFacets(), HttpStatus.OK);
+    }
+
     @Operation(
             summary = "Listar todos os animais",
             description = "Retorna uma lista de animais paginada. Acesso privado e ordenado pelos mais recentes, por padrão.",
@@ -90,8 +184,26 @@ public class AnimalController {
             }
     )
     @GetMapping
-    public ResponseEntity<Page<Animal>> getAllAnimal(Pageable pageable) {
-        Page<Animal> animalPage = animalService.findAll(pageable);
+    public ResponseEntity<Page<AnimalAdminSummaryDTO>> getAllAnimal(Pageable pageable) {
+        Page<AnimalAdminSummaryDTO> animalPage = animalService.findAll(pageable);
+        return new ResponseEntity<>(animalPage, HttpStatus.OK);
+    }
+
+    @Operation(
+            summary = "Listar todos os animais",
+            description = "Com o parâmetro 'after' a paginação é por cursor, dos mais recentes para os mais antigos: " +
+                    "a resposta traz 'nextCursor' e não calcula o total. Acesso privado.",
+            tags = {"Animals"},
+            parameters = {
+                    @Parameter(name = "after", description = "Cursor opaco retornado em 'nextCursor'; vazio para a primeira página."),
+                    @Parameter(name = "size", description = "Quantidade de itens por página.", example = "10")
+            }
+    )
+    @GetMapping(params = "after")
+    public ResponseEntity<CursorPageDTO<AnimalAdminSummaryDTO>> getAllAnimalByCursor(
+            @RequestParam(name = "after") String after,
+            Pageable pageable) {
+        CursorPageDTO<AnimalAdminSummaryDTO> animalPage = animalService.findAll(Cursor.decode(after), pageable.getPageSize());
         return new ResponseEntity<>(animalPage, HttpStatus.OK);
     }
 
@@ -115,11 +227,45 @@ public class AnimalController {
                 .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
 
+    @Operation(
+            summary = "Sugerir nomes e raças (autocompletar)",
+            description = "Retorna nomes e raças de animais disponíveis para adoção que começam com o texto digitado, " +
+                    "sem diferenciar acentos e maiúsculas. Servido da memória. Acesso público.",
+            tags = {"Animals", "Público"},
+            parameters = {
+                    @Parameter(name = "q", description = "Texto digitado.", example = "pit"),
+                    @Parameter(name = "limit", description = "Número máximo de sugestões.", example = "10")
+            }
+    )
+    @GetMapping("/suggest")
+    public ResponseEntity<List<AnimalSuggestIndex.Suggestion>> suggestAnimals(
+            @RequestParam (name = "q") String prefix,
+            @RequestParam (name = "limit", defaultValue = "10") int limit) {
+        return new ResponseEntity<>(animalService.suggest(prefix, limit), HttpStatus.OK);
+    }
+
+    @Operation(
+            summary = "Buscar animais por nome ou raça",
+            description = "Busca aproximada, sem diferenciar acentos e tolerante a erros de digitação, ordenada pela similaridade. Acesso privado.",
+            tags = {"Animals"},
+            parameters = {
+                    @Parameter(name = "q", description = "Nome ou raça.", example = "Pitoco"),
+                    @Parameter(name = "name", description = "Nome antigo de 'q'.", deprecated = true),
+                    @Parameter(name = "limit", description = "Número máximo de resultados.", example = "20")
+            }
+    )
     @GetMapping("/search")
-    public ResponseEntity<List<Animal>> searchAnimalByName(
-            @RequestParam (name = "name") String name) {
+    public ResponseEntity<List<Animal>> searchAnimals(
+            @RequestParam (name = "q", required = false) String query,
+            @RequestParam (name = "name", required = false) String name,
+            @RequestParam (name = "limit", defaultValue = "20") int limit) {
 
-        List<Animal> animalList = animalService.findByNameContainingIgnoreCase(name);
+        // 'name' era o nome do parâmetro antes da busca aproximada; mantido para clientes antigos.
+        String term = query != null ? query : name;
+        if (term == null) {
+            throw new BadRequestException("Informe o texto de busca no parâmetro 'q'.");
+        }
+        List<Animal> animalList = animalService.search(term, limit);
         return new ResponseEntity<>(animalList, HttpStatus.OK);
     }
 
@@ -150,6 +296,32 @@ public class AnimalController {
         }
     }
 
+    @Operation(
+            summary = "Registrar a adoção de um animal",
+            description = "Associa o animal ao usuário adotante, retirando-o da listagem de adoção. Requer token JWT e a autoridade 'ROLE_ADMINISTRATOR'.",
+            tags = {"Animals", "Administração"},
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Adoção registrada com sucesso.",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = Animal.class))),
+                    @ApiResponse(responseCode = "404", description = "Animal ou usuário não encontrado."),
+                    @ApiResponse(responseCode = "400", description = "Animal já adotado."),
+                    @ApiResponse(responseCode = "401", description = "Não autorizado."),
+                    @ApiResponse(responseCode = "403", description = "Proibido (Usuário sem 'ROLE_ADMINISTRATOR').")
+            }
+    )
+    @PutMapping("/{id}/adoption")
+    public ResponseEntity<Animal> adoptAnimal(
+            @PathVariable Long id,
+            @RequestBody @Valid AdoptAnimalDTO adoptAnimalDTO) {
+        try{
+            return new ResponseEntity<>(animalService.adopt(id, adoptAnimalDTO.userId()), HttpStatus.OK);
+        } catch (ResourceNotFoundException e){
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+    }
+
     @Operation(
             summary = "Deletar um cadastro de animal",
             description = "Exclui um animal pelo ID. Requer token JWT e a autoridade 'ROLE_ADMINISTRATOR'.",
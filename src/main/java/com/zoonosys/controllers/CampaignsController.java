@@ -1,6 +1,9 @@
 package com.zoonosys.controllers;
 
+import com.zoonosys.dtos.Cursor;
+import com.zoonosys.dtos.CursorPageDTO;
 import com.zoonosys.dtos.UpdateCampaignsDTO;
+import com.zoonosys.exceptions.BadRequestException;
 import com.zoonosys.exceptions.ResourceNotFoundException;
 import com.zoonosys.models.Campaigns;
 import com.zoonosys.models.User;
@@ -22,7 +25,6 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import com.zoonosys.dtos.RegisterCampaignsDTO;
 
-import java.util.List;
 import java.util.Optional;
 
 @RestController
@@ -74,7 +76,6 @@ public class CampaignsController {
                     @ApiResponse(
                             responseCode = "200",
                             description = "Lista de campanhas paginada retornada com sucesso."
-                            // O schema para Page<Campaigns> é complexo e geralmente inferido automaticamente
                     )
             }
     )
@@ -84,6 +85,24 @@ public class CampaignsController {
         return new ResponseEntity<>(campaignsPage, HttpStatus.OK);
     }
 
+    @Operation(
+            summary = "Listar todas as Campanhas",
+            description = "Com o parâmetro 'after' a paginação é por cursor, das mais recentes para as mais antigas: " +
+                    "a resposta traz 'nextCursor' e não calcula o total. Acesso público.",
+            tags = {"Campanhas"},
+            parameters = {
+                    @Parameter(name = "after", description = "Cursor opaco retornado em 'nextCursor'; vazio para a primeira página."),
+                    @Parameter(name = "size", description = "Quantidade de itens por página.", example = "10")
+            }
+    )
+    @GetMapping(params = "after")
+    public ResponseEntity<CursorPageDTO<Campaigns>> getAllCampaignsByCursor(
+            @RequestParam(name = "after") String after,
+            Pageable pageable){
+        CursorPageDTO<Campaigns> campaignsPage = campaignsService.findAll(Cursor.decode(after), pageable.getPageSize());
+        return new ResponseEntity<>(campaignsPage, HttpStatus.OK);
+    }
+
     @Operation(
             summary = "Buscar campanhas por ID",
             description = "Retorna uma campanha específica com base no ID fornecido no path. Acesso público.",
@@ -104,12 +123,31 @@ public class CampaignsController {
                 .orElseGet(()-> new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
 
+    @Operation(
+            summary = "Buscar campanhas",
+            description = "Busca textual no nome e na descrição, com resultados ordenados por relevância e paginados. " +
+                    "Aceita palavras, \"frases entre aspas\", OR e -exclusão.",
+            tags = {"Campanhas"},
+            parameters = {
+                    @Parameter(name = "q", description = "Texto de busca.", example = "castração"),
+                    @Parameter(name = "name", description = "Nome antigo de 'q'.", deprecated = true),
+                    @Parameter(name = "page", description = "Número da página a ser buscada (inicia em 0).", example = "0"),
+                    @Parameter(name = "size", description = "Quantidade de itens por página.", example = "10")
+            }
+    )
     @GetMapping("search")
-    public ResponseEntity<List<Campaigns>> searchCampaignsByName(
-            @RequestParam (name = "name") String name) {
+    public ResponseEntity<Page<Campaigns>> searchCampaigns(
+            @RequestParam (name = "q", required = false) String query,
+            @RequestParam (name = "name", required = false) String name,
+            Pageable pageable) {
 
-        List<Campaigns> campaignsList = campaignsService.findByNameContainingIgnoreCase(name);
-        return new ResponseEntity<>(campaignsList, HttpStatus.OK);
+        // 'name' era o nome do parâmetro antes da busca textual; mantido para clientes antigos.
+        String term = query != null ? query : name;
+        if (term == null) {
+            throw new BadRequestException("Informe o texto de busca no parâmetro 'q'.");
+        }
+        Page<Campaigns> campaignsPage = campaignsService.search(term, pageable);
+        return new ResponseEntity<>(campaignsPage, HttpStatus.OK);
     }
 
     @Operation(
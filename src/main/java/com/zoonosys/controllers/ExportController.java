@@ -0,0 +1,81 @@
+package com.zoonosys.controllers;
+
+import com.zoonosys.services.ExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/export")
+@Tag(name = "Exportação", description = "Exportação completa de animais, notícias e campanhas.")
+public class ExportController {
+
+    private static final MediaType TEXT_CSV = new MediaType("text", "csv", StandardCharsets.UTF_8);
+
+    private final ExportService exportService;
+
+    @Autowired
+    public ExportController(ExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    @Operation(
+            summary = "Exportar todos os registros de um recurso",
+            description = "Baixa todos os animais, notícias ou campanhas em CSV ou NDJSON (um objeto JSON por linha), " +
+                    "escritos à medida que são lidos do banco. Com 'gzip=true' a saída é compactada. Requer token JWT e " +
+                    "a autoridade 'ROLE_ADMINISTRATOR'.",
+            tags = {"Exportação", "Administração"},
+            parameters = {
+                    @Parameter(name = "resource", description = "Recurso (animals, news, campaigns).", example = "animals"),
+                    @Parameter(name = "format", description = "Formato (csv, ndjson).", example = "csv"),
+                    @Parameter(name = "gzip", description = "Compacta a saída com gzip.", example = "false")
+            },
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Arquivo exportado."),
+                    @ApiResponse(responseCode = "400", description = "Recurso ou formato inválido."),
+                    @ApiResponse(responseCode = "401", description = "Não autorizado."),
+                    @ApiResponse(responseCode = "403", description = "Proibido (Usuário sem 'ROLE_ADMINISTRATOR')."),
+                    @ApiResponse(responseCode = "429", description = "Limite de exportações simultâneas atingido.")
+            }
+    )
+    @GetMapping("/{resource}")
+    public ResponseEntity<StreamingResponseBody> export(
+            @PathVariable String resource,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            HttpServletRequest request) {
+        ExportService.Resource exportResource = ExportService.Resource.fromPathSegment(resource);
+        ExportService.Format exportFormat = ExportService.Format.fromParameter(format);
+
+        String fileName = exportResource.pathSegment() + "-" + LocalDate.now()
+                + (exportFormat == ExportService.Format.CSV ? ".csv" : ".ndjson")
+                + (gzip ? ".gz" : "");
+        MediaType contentType = gzip
+                ? MediaType.parseMediaType("application/gzip")
+                : exportFormat == ExportService.Format.CSV ? TEXT_CSV : MediaType.APPLICATION_NDJSON;
+
+        StreamingResponseBody body = exportService.export(exportResource, exportFormat, gzip,
+                WebAsyncUtils.getAsyncManager(request));
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+                .body(body);
+    }
+}
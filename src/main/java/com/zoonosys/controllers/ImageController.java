@@ -0,0 +1,126 @@
+package com.zoonosys.controllers;
+
+import com.zoonosys.dtos.ImageUploadDTO;
+import com.zoonosys.enums.ImageVariant;
+import com.zoonosys.exceptions.BadRequestException;
+import com.zoonosys.exceptions.ResourceNotFoundException;
+import com.zoonosys.services.ImageStorageService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+
+@RestController
+@RequestMapping("/images")
+@Tag(name = "Imagens", description = "Envio e entrega de imagens de animais, notícias e campanhas.")
+public class ImageController {
+
+    /** Atributos do Tomcat para envio do arquivo pelo próprio conector (sendfile), sem passar pela JVM. */
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private static final String IMMUTABLE = "public, max-age=31536000, immutable";
+
+    private final ImageStorageService imageStorage;
+
+    @Autowired
+    public ImageController(ImageStorageService imageStorage) {
+        this.imageStorage = imageStorage;
+    }
+
+    @Operation(
+            summary = "Enviar uma imagem",
+            description = "Armazena uma imagem JPEG, PNG ou GIF e agenda a geração das miniaturas. Envios idênticos " +
+                    "retornam o mesmo ID. Requer token JWT e a autoridade 'ROLE_ADMINISTRATOR'.",
+            tags = {"Imagens", "Administração"},
+            responses = {
+                    @ApiResponse(
+                            responseCode = "201",
+                            description = "Imagem armazenada.",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ImageUploadDTO.class))),
+                    @ApiResponse(responseCode = "400", description = "Arquivo ausente, não suportado ou grande demais."),
+                    @ApiResponse(responseCode = "401", description = "Não autorizado."),
+                    @ApiResponse(responseCode = "403", description = "Proibido (Usuário sem 'ROLE_ADMINISTRATOR').")
+            }
+    )
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImageUploadDTO> uploadImage(@RequestParam("file") MultipartFile file) throws IOException {
+        if (file.isEmpty()) {
+            throw new BadRequestException("Arquivo de imagem vazio.");
+        }
+        String imageId = imageStorage.store(file.getInputStream());
+        return new ResponseEntity<>(ImageUploadDTO.of(imageId), HttpStatus.CREATED);
+    }
+
+    @Operation(
+            summary = "Obter uma imagem",
+            description = "Entrega a imagem no tamanho pedido (small, medium, large ou original), com ETag e cache de " +
+                    "longa duração. Se a miniatura ainda estiver sendo gerada, entrega o original sem cache. Acesso público.",
+            tags = {"Imagens", "Público"},
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Imagem."),
+                    @ApiResponse(responseCode = "304", description = "A cópia do cliente (If-None-Match) está atualizada."),
+                    @ApiResponse(responseCode = "404", description = "Imagem não encontrada.")
+            }
+    )
+    @GetMapping("/{id}/{variant}")
+    public void getImage(
+            @PathVariable String id,
+            @PathVariable String variant,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        ImageVariant imageVariant = ImageVariant.fromPathSegment(variant);
+        ImageStorageService.StoredFile file = imageStorage.resolve(id, imageVariant)
+                .orElseThrow(() -> new ResourceNotFoundException("Imagem não encontrada: " + id));
+
+        // O conteúdo de cada URL é imutável (endereçado pelo hash); o original servido no lugar da miniatura
+        // tem outra ETag para que o cliente troque de versão quando a miniatura ficar pronta.
+        String etag = "\"" + id + "-" + imageVariant.pathSegment() + (file.immutable() ? "" : "-pending") + "\"";
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, file.immutable() ? IMMUTABLE : "no-cache");
+        if (etag.equals(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        response.setContentType(file.contentType());
+        response.setContentLengthLong(file.size());
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.path().toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, file.size());
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file.path(), StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = 0;
+            while (position < file.size()) {
+                position += channel.transferTo(position, file.size() - position, out);
+            }
+        }
+    }
+}
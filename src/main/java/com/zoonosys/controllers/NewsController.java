@@ -1,7 +1,10 @@
 package com.zoonosys.controllers;
 
+import com.zoonosys.dtos.Cursor;
+import com.zoonosys.dtos.CursorPageDTO;
 import com.zoonosys.dtos.RegisterNewsDTO;
 import com.zoonosys.dtos.UpdateNewsDTO;
+import com.zoonosys.exceptions.BadRequestException;
 import com.zoonosys.exceptions.ResourceNotFoundException;
 import com.zoonosys.models.News;
 import com.zoonosys.models.User;
@@ -22,7 +25,6 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import com.zoonosys.security.userdetails.UserDetailsImpl;
 
-import java.util.List;
 import java.util.Optional;
 
 @RestController
@@ -74,7 +76,6 @@ public class NewsController {
                     @ApiResponse(
                             responseCode = "200",
                             description = "Lista de notícias paginada retornada com sucesso."
-                            // O schema para Page<News> é complexo e geralmente inferido automaticamente
                     )
             }
     )
@@ -84,6 +85,24 @@ public class NewsController {
         return new ResponseEntity<>(newsPage, HttpStatus.OK);
     }
 
+    @Operation(
+            summary = "Listar todas as notícias",
+            description = "Com o parâmetro 'after' a paginação é por cursor, das mais recentes para as mais antigas: " +
+                    "a resposta traz 'nextCursor' e não calcula o total. Acesso público.",
+            tags = {"Notícias"},
+            parameters = {
+                    @Parameter(name = "after", description = "Cursor opaco retornado em 'nextCursor'; vazio para a primeira página."),
+                    @Parameter(name = "size", description = "Quantidade de itens por página.", example = "10")
+            }
+    )
+    @GetMapping(params = "after")
+    public ResponseEntity<CursorPageDTO<News>> getAllNewsByCursor(
+            @RequestParam(name = "after") String after,
+            Pageable pageable) {
+        CursorPageDTO<News> newsPage = newsService.findAll(Cursor.decode(after), pageable.getPageSize());
+        return new ResponseEntity<>(newsPage, HttpStatus.OK);
+    }
+
     @Operation(
             summary = "Buscar notícia por ID",
             description = "Retorna uma notícia específica com base no ID fornecido no path. Acesso público.",
@@ -104,12 +123,31 @@ public class NewsController {
                 .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
 
+    @Operation(
+            summary = "Buscar notícias",
+            description = "Busca textual no título e no conteúdo, com resultados ordenados por relevância e paginados. " +
+                    "Aceita palavras, \"frases entre aspas\", OR e -exclusão.",
+            tags = {"Notícias"},
+            parameters = {
+                    @Parameter(name = "q", description = "Texto de busca.", example = "vacinação gratuita"),
+                    @Parameter(name = "title", description = "Nome antigo de 'q'.", deprecated = true),
+                    @Parameter(name = "page", description = "Número da página a ser buscada (inicia em 0).", example = "0"),
+                    @Parameter(name = "size", description = "Quantidade de itens por página.", example = "10")
+            }
+    )
     @GetMapping("/search")
-    public ResponseEntity<List<News>> searchNewsByTitle(
-            @RequestParam (name = "title") String title) {
+    public ResponseEntity<Page<News>> searchNews(
+            @RequestParam (name = "q", required = false) String query,
+            @RequestParam (name = "title", required = false) String title,
+            Pageable pageable) {
 
-        List<News> newsList = newsService.findByTitleContainingIgnoreCase(title);
-        return new ResponseEntity<>(newsList, HttpStatus.OK);
+        // 'title' era o nome do parâmetro antes da busca textual; mantido para clientes antigos.
+        String term = query != null ? query : title;
+        if (term == null) {
+            throw new BadRequestException("Informe o texto de busca no parâmetro 'q'.");
+        }
+        Page<News> newsPage = newsService.search(term, pageable);
+        return new ResponseEntity<>(newsPage, HttpStatus.OK);
     }
 
     @Operation(
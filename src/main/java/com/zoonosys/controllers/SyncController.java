@@ -0,0 +1,60 @@
+package com.zoonosys.controllers;
+
+import com.zoonosys.dtos.SyncChangesDTO;
+import com.zoonosys.dtos.SyncCursor;
+import com.zoonosys.services.SyncService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/sync")
+@Tag(name = "Sincronização", description = "Feed incremental de animais, notícias e campanhas para clientes com cópia local.")
+public class SyncController {
+
+    private final SyncService syncService;
+
+    @Autowired
+    public SyncController(SyncService syncService) {
+        this.syncService = syncService;
+    }
+
+    @Operation(
+            summary = "Buscar alterações desde o último cursor",
+            description = "Retorna os registros criados, alterados e excluídos desde 'since'. Sem 'since', entrega todos os " +
+                    "registros (sincronização completa). Repita com 'nextCursor' enquanto 'hasMore' for verdadeiro. " +
+                    "Clientes sem sincronizar por mais tempo que a retenção dos tombstones (30 dias por padrão) devem refazer " +
+                    "a sincronização completa. Acesso público.",
+            tags = {"Sincronização", "Público"},
+            parameters = {
+                    @Parameter(name = "since", description = "Cursor opaco retornado em 'nextCursor'; vazio para a sincronização completa."),
+                    @Parameter(name = "limit", description = "Número máximo de alterações.", example = "500")
+            },
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Alterações encontradas.",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = SyncChangesDTO.class))),
+                    @ApiResponse(responseCode = "204", description = "Nada mudou desde o cursor; mantenha o mesmo cursor."),
+                    @ApiResponse(responseCode = "400", description = "Cursor inválido.")
+            }
+    )
+    @GetMapping
+    public ResponseEntity<SyncChangesDTO> sync(
+            @RequestParam(name = "since", required = false) String since,
+            @RequestParam(name = "limit", defaultValue = "500") int limit) {
+        return syncService.changesSince(SyncCursor.decode(since), limit)
+                .map(changes -> new ResponseEntity<>(changes, HttpStatus.OK))
+                .orElseGet(() -> new ResponseEntity<>(HttpStatus.NO_CONTENT));
+    }
+}
@@ -1,22 +1,37 @@
 package com.zoonosys.controllers;
 
+import com.zoonosys.dtos.CursorPageDTO;
+import com.zoonosys.dtos.IdCursor;
+import com.zoonosys.dtos.ImportReportDTO;
 import com.zoonosys.dtos.LoginUserDTO;
 import com.zoonosys.dtos.RecoveryJwtTokenDTO;
+import com.zoonosys.dtos.RefreshTokenRequestDTO;
 import com.zoonosys.dtos.RegisterUserDTO;
+import com.zoonosys.dtos.UpdateUserRoleDTO;
+import com.zoonosys.dtos.UserFilterDTO;
 import com.zoonosys.dtos.UserResponseDTO;
+import com.zoonosys.enums.ImportFormat;
+import com.zoonosys.services.UserImportService;
 import com.zoonosys.services.UserService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.InputStream;
 
 
 @Tag(name="Users", description = "Endpoints para gerenciamento de usuários.")
@@ -26,6 +41,9 @@ public class UserController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private UserImportService userImportService;
+
     @Operation(
             summary = "Faz a requisição de login de usuário",
             description = "Autentica o usuário através dos parâmetros de LoginUserDTO e gera o token Jwt. Caso bem executado, retorna o token de retorno para o usuário."
@@ -41,6 +59,50 @@ public class UserController {
         return new ResponseEntity<>(token, HttpStatus.OK);
     }
 
+    @Operation(
+            summary = "Renova o token de acesso",
+            description = "Troca um refresh token válido por um novo token JWT e um novo refresh token. O refresh token apresentado deixa de valer."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Token renovado com sucesso",
+                    content = @Content(schema = @Schema(implementation = RecoveryJwtTokenDTO.class))),
+            @ApiResponse(responseCode = "401", description = "Refresh token inválido, expirado ou reutilizado")
+    })
+    @PostMapping("/refresh")
+    public ResponseEntity<RecoveryJwtTokenDTO> refreshToken(@RequestBody @Valid RefreshTokenRequestDTO refreshTokenRequestDTO) {
+        RecoveryJwtTokenDTO token = userService.refreshToken(refreshTokenRequestDTO.refreshToken());
+        return new ResponseEntity<>(token, HttpStatus.OK);
+    }
+
+    @Operation(
+            summary = "Encerra a sessão atual",
+            description = "Revoga o token JWT enviado no cabeçalho Authorization até a sua expiração e a família do " +
+                    "refresh token enviado no corpo. Sem o refresh token no corpo, revoga todos os refresh tokens do usuário."
+    )
+    @ApiResponse(responseCode = "204", description = "Sessão encerrada com sucesso")
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(
+            @RequestHeader(HttpHeaders.AUTHORIZATION) String authorizationHeader,
+            @RequestBody(required = false) RefreshTokenRequestDTO refreshTokenRequestDTO) {
+        userService.logout(authorizationHeader.replace("Bearer ", ""),
+                refreshTokenRequestDTO == null ? null : refreshTokenRequestDTO.refreshToken());
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
+
+    @Operation(
+            summary = "Revoga todas as sessões de um usuário",
+            description = "Invalida todos os tokens emitidos para o usuário até o momento. Requer 'ROLE_ADMINISTRATOR'."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "204", description = "Sessões revogadas com sucesso"),
+            @ApiResponse(responseCode = "404", description = "Usuário não encontrado")
+    })
+    @PostMapping("/{id}/revoke-sessions")
+    public ResponseEntity<Void> revokeAllSessions(@PathVariable Long id) {
+        userService.revokeAllSessions(id);
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
+
     @Operation(
             summary = "Faz a requisição de registro de usuário",
             description = "Registra o usuário através dos parâmetros de RegisterUserDTO"
@@ -56,6 +118,30 @@ public class UserController {
         return new ResponseEntity<>(HttpStatus.CREATED);
     }
 
+    @Operation(
+            summary = "Importa usuários em lote (CSV ou NDJSON)",
+            description = "Cadastra os usuários do arquivo enviado no corpo da requisição, lido de forma incremental. " +
+                    "CSV (text/csv, separado por vírgula ou ponto e vírgula) com cabeçalho: email, password, role, name, cpf, " +
+                    "phone, sexo, secundaryPhone, secundaryEmail, address. NDJSON (application/x-ndjson): um objeto igual ao " +
+                    "do cadastro individual por linha. Sem 'role', o papel é ROLE_CUSTOMER. E-mails e CPFs já cadastrados " +
+                    "são listados no relatório e não impedem a gravação das demais linhas. Requer 'ROLE_ADMINISTRATOR'."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Importação concluída; veja os erros por linha no relatório",
+                    content = @Content(schema = @Schema(implementation = ImportReportDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Arquivo malformado, sem colunas obrigatórias ou acima do limite de linhas")
+    })
+    @PostMapping(value = "/import", consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<ImportReportDTO> importUsers(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) throws IOException {
+        ImportFormat format = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.APPLICATION_NDJSON)
+                ? ImportFormat.NDJSON
+                : ImportFormat.CSV;
+        ImportReportDTO report = userImportService.importUsers(body, format);
+        return new ResponseEntity<>(report, HttpStatus.OK);
+    }
+
     @Operation(
             summary = "Busca se a authenticação do usuário"
     )
@@ -83,12 +169,61 @@ public class UserController {
         return new ResponseEntity<>("Administrator authenticated successfully", HttpStatus.OK);
     }
 
+    @Operation(
+            summary = "Lista os usuários",
+            description = "Retorna os usuários paginados, com filtros opcionais por nome, prefixo do e-mail e papel. " +
+                    "Requer 'ROLE_ADMINISTRATOR'.",
+            parameters = {
+                    @Parameter(name = "name", description = "Parte do nome, sem diferenciar maiúsculas nem acentos.", example = "maria"),
+                    @Parameter(name = "email", description = "Início do e-mail.", example = "maria.s"),
+                    @Parameter(name = "role", description = "Papel (ROLE_CUSTOMER, ROLE_ADMINISTRATOR).", example = "ROLE_CUSTOMER"),
+                    @Parameter(name = "page", description = "Número da página (inicia em 0).", example = "0"),
+                    @Parameter(name = "size", description = "Quantidade de itens por página.", example = "20")
+            }
+    )
+    @ApiResponse(responseCode = "200", description = "Usuários retornados com sucesso")
     @GetMapping
-    public ResponseEntity<List<UserResponseDTO>> getAllUsers() {
-        List<UserResponseDTO> users = userService.findAllUsersDTO();
+    public ResponseEntity<Page<UserResponseDTO>> getAllUsers(UserFilterDTO filter, Pageable pageable) {
+        Page<UserResponseDTO> users = userService.findAll(filter, pageable);
         return new ResponseEntity<>(users, HttpStatus.OK);
     }
 
+    @Operation(
+            summary = "Lista os usuários",
+            description = "Com o parâmetro 'after' a paginação é por cursor, em ordem de ID: a resposta traz " +
+                    "'nextCursor' e não calcula o total. Aceita os mesmos filtros. Requer 'ROLE_ADMINISTRATOR'.",
+            parameters = {
+                    @Parameter(name = "name", description = "Parte do nome, sem diferenciar maiúsculas nem acentos.", example = "maria"),
+                    @Parameter(name = "email", description = "Início do e-mail.", example = "maria.s"),
+                    @Parameter(name = "role", description = "Papel (ROLE_CUSTOMER, ROLE_ADMINISTRATOR).", example = "ROLE_CUSTOMER"),
+                    @Parameter(name = "after", description = "Cursor opaco retornado em 'nextCursor'; vazio para a primeira página."),
+                    @Parameter(name = "size", description = "Quantidade de itens por página.", example = "20")
+            }
+    )
+    @ApiResponse(responseCode = "200", description = "Usuários retornados com sucesso")
+    @GetMapping(params = "after")
+    public ResponseEntity<CursorPageDTO<UserResponseDTO>> getAllUsersByCursor(
+            UserFilterDTO filter,
+            @RequestParam(name = "after") String after,
+            Pageable pageable) {
+        CursorPageDTO<UserResponseDTO> users = userService.findAll(filter, IdCursor.decode(after), pageable.getPageSize());
+        return new ResponseEntity<>(users, HttpStatus.OK);
+    }
+
+    @Operation(
+            summary = "Altera o papel de um usuário",
+            description = "Substitui o papel do usuário e invalida os tokens emitidos com o papel anterior. Requer 'ROLE_ADMINISTRATOR'."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Papel atualizado com sucesso"),
+            @ApiResponse(responseCode = "404", description = "Usuário não encontrado")
+    })
+    @PutMapping("/{id}/role")
+    public ResponseEntity<UserResponseDTO> updateUserRole(@PathVariable Long id, @RequestBody @Valid UpdateUserRoleDTO updateUserRoleDTO) {
+        UserResponseDTO user = userService.updateUserRole(id, updateUserRoleDTO.role());
+        return new ResponseEntity<>(user, HttpStatus.OK);
+    }
+
     @GetMapping("list/{id}")
     public ResponseEntity<UserResponseDTO> getUserById(@PathVariable Long id) {
         return userService.findUserDTOById(id)
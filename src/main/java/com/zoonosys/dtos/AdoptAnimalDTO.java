@@ -0,0 +1,9 @@
+package com.zoonosys.dtos;
+
+import jakarta.validation.constraints.NotNull;
+
+public record AdoptAnimalDTO(
+        @NotNull(message = "O ID do usuário adotante não pode ser nulo")
+        Long userId
+) {
+}
@@ -0,0 +1,47 @@
+package com.zoonosys.dtos;
+
+import com.zoonosys.enums.AnimalGender;
+import com.zoonosys.enums.AnimalSize;
+import com.zoonosys.enums.AnimalSpecies;
+import com.zoonosys.enums.ImageVariant;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.sql.Timestamp;
+import java.util.Map;
+
+/**
+ * Item da listagem administrativa de animais: os campos do animal mais o ID e o nome de quem cadastrou e de quem
+ * adotou, obtidos por junção na mesma consulta (sem carregar as entidades {@code User}).
+ */
+@Schema(description = "Resumo de um animal para a listagem administrativa.")
+public record AnimalAdminSummaryDTO(
+        Long id,
+        String name,
+        String breed,
+        String description,
+        Boolean isVaccinated,
+        Boolean isNeutered,
+        String imageUrl,
+        @Schema(description = "ID da imagem; as URLs por tamanho estão em 'images'.")
+        String imageId,
+        AnimalSpecies species,
+        AnimalSize size,
+        AnimalGender gender,
+        Timestamp createdAt,
+        Timestamp updatedAt,
+        @Schema(description = "ID do usuário que cadastrou o animal.")
+        Long registeredById,
+        @Schema(description = "Nome do usuário que cadastrou o animal.")
+        String registeredByName,
+        @Schema(description = "ID do adotante; ausente se o animal estiver disponível.")
+        Long adoptingUserId,
+        @Schema(description = "Nome do adotante; ausente se o animal estiver disponível.")
+        String adoptingUserName
+) {
+
+    @JsonProperty("images")
+    public Map<ImageVariant, String> images() {
+        return ImageVariant.urls(imageId);
+    }
+}
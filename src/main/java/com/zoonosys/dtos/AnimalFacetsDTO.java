@@ -0,0 +1,23 @@
+package com.zoonosys.dtos;
+
+import com.zoonosys.enums.AnimalGender;
+import com.zoonosys.enums.AnimalSize;
+import com.zoonosys.enums.AnimalSpecies;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.Map;
+
+/**
+ * Contagens dos animais disponíveis para adoção por atributo filtrável.
+ */
+public record AnimalFacetsDTO(
+        @Schema(description = "Total de animais disponíveis.", example = "59")
+        int total,
+        Map<AnimalSpecies, Integer> species,
+        Map<AnimalSize, Integer> size,
+        Map<AnimalGender, Integer> gender,
+        @Schema(description = "Animais vacinados; os demais (total - vaccinated) não são.", example = "40")
+        int vaccinated,
+        @Schema(description = "Animais castrados; os demais (total - neutered) não são.", example = "35")
+        int neutered
+) {}
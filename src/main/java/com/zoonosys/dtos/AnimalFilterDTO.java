@@ -0,0 +1,23 @@
+package com.zoonosys.dtos;
+
+import com.zoonosys.enums.AnimalGender;
+import com.zoonosys.enums.AnimalSize;
+import com.zoonosys.enums.AnimalSpecies;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Filtros opcionais da listagem de animais para adoção. Campos nulos não filtram.
+ * O porte usa o parâmetro {@code animalSize}, pois {@code size} já é o tamanho da página.
+ */
+public record AnimalFilterDTO(
+        @Schema(description = "Espécie do animal.", example = "CANINE")
+        AnimalSpecies species,
+        @Schema(description = "Porte do animal.", example = "MEDIUM")
+        AnimalSize animalSize,
+        @Schema(description = "Gênero do animal.", example = "FEMALE")
+        AnimalGender gender,
+        @Schema(description = "Somente animais vacinados (true) ou não vacinados (false).")
+        Boolean isVaccinated,
+        @Schema(description = "Somente animais castrados (true) ou não castrados (false).")
+        Boolean isNeutered
+) {}
@@ -0,0 +1,38 @@
+package com.zoonosys.dtos;
+
+import com.zoonosys.enums.AnimalGender;
+import com.zoonosys.enums.AnimalSize;
+import com.zoonosys.enums.AnimalSpecies;
+import com.zoonosys.enums.ImageVariant;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.sql.Timestamp;
+import java.util.Map;
+
+/**
+ * Item da listagem pública de animais. Contém apenas colunas da tabela {@code animals}, lidas em uma única consulta,
+ * sem dados de usuários.
+ */
+@Schema(description = "Resumo de um animal para a listagem pública.")
+public record AnimalSummaryDTO(
+        Long id,
+        String name,
+        String breed,
+        String description,
+        Boolean isVaccinated,
+        Boolean isNeutered,
+        String imageUrl,
+        @Schema(description = "ID da imagem; as URLs por tamanho estão em 'images'.")
+        String imageId,
+        AnimalSpecies species,
+        AnimalSize size,
+        AnimalGender gender,
+        Timestamp createdAt
+) {
+
+    @JsonProperty("images")
+    public Map<ImageVariant, String> images() {
+        return ImageVariant.urls(imageId);
+    }
+}
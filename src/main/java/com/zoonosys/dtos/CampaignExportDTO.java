@@ -0,0 +1,20 @@
+package com.zoonosys.dtos;
+
+import java.sql.Timestamp;
+
+/**
+ * Linha da exportação de campanhas: as colunas da tabela e o autor, sem carregar as entidades.
+ */
+public record CampaignExportDTO(
+        Long id,
+        String name,
+        String description,
+        Timestamp startDateTime,
+        Timestamp endDateTime,
+        String imageUrl,
+        String imageId,
+        Timestamp createdAt,
+        Timestamp updatedAt,
+        Long authorId,
+        String authorName
+) {}
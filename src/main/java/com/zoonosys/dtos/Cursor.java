@@ -0,0 +1,35 @@
+package com.zoonosys.dtos;
+
+import com.zoonosys.exceptions.BadRequestException;
+
+import java.sql.Timestamp;
+
+/**
+ * Posição opaca de uma paginação por cursor (keyset), ordenada por {@code (createdAt, id)} decrescente.
+ * Codificada em base64url como {@code "<epochMillis>:<id>"}.
+ *
+ * @param createdAt Data de criação do último item da página anterior.
+ * @param id ID do último item da página anterior (desempate).
+ */
+public record Cursor(Timestamp createdAt, Long id) {
+
+    public static Cursor of(Timestamp createdAt, Long id) {
+        return new Cursor(createdAt, id);
+    }
+
+    /**
+     * Decodifica o cursor recebido do cliente.
+     *
+     * @param value O cursor opaco; vazio ou nulo indica a primeira página.
+     * @return O cursor, ou {@code null} para a primeira página.
+     * @throws BadRequestException se o cursor for inválido.
+     */
+    public static Cursor decode(String value) {
+        long[] parts = CursorCodec.decode(value, 2, "Cursor de paginação inválido.");
+        return parts == null ? null : new Cursor(new Timestamp(parts[0]), parts[1]);
+    }
+
+    public String encode() {
+        return CursorCodec.encode(createdAt.getTime(), id);
+    }
+}
@@ -0,0 +1,61 @@
+package com.zoonosys.dtos;
+
+import com.zoonosys.exceptions.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Codificação comum dos cursores opacos ({@link Cursor}, {@link SyncCursor}, {@link IdCursor}): os campos numéricos
+ * separados por {@code ':'} e codificados em base64url sem preenchimento.
+ */
+final class CursorCodec {
+
+    private CursorCodec() {
+    }
+
+    /**
+     * Codifica os campos do cursor.
+     *
+     * @param parts Os campos, na ordem do formato.
+     * @return O cursor opaco, seguro para uso em URLs.
+     */
+    static String encode(long... parts) {
+        StringBuilder raw = new StringBuilder();
+        for (long part : parts) {
+            if (!raw.isEmpty()) {
+                raw.append(':');
+            }
+            raw.append(part);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica o cursor recebido do cliente.
+     *
+     * @param value O cursor opaco.
+     * @param parts A quantidade de campos esperada.
+     * @param error A mensagem da exceção para um cursor inválido.
+     * @return Os campos, ou {@code null} se o cursor for vazio ou nulo.
+     * @throws BadRequestException se o cursor não for base64url ou não tiver exatamente {@code parts} números.
+     */
+    static long[] decode(String value, int parts, String error) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            String[] fields = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8).split(":", -1);
+            if (fields.length != parts) {
+                throw new BadRequestException(error);
+            }
+            long[] decoded = new long[parts];
+            for (int i = 0; i < parts; i++) {
+                decoded[i] = Long.parseLong(fields[i]);
+            }
+            return decoded;
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(error);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.zoonosys.dtos;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Página de uma paginação por cursor. Não traz o total de itens: a consulta de contagem não é executada.
+ *
+ * @param content Os itens da página.
+ * @param nextCursor O cursor para a próxima página, ou {@code null} se esta for a última.
+ * @param size O tamanho de página solicitado.
+ */
+public record CursorPageDTO<T>(
+        List<T> content,
+        @Schema(description = "Cursor opaco da próxima página; ausente na última página.")
+        String nextCursor,
+        int size
+) {
+
+    /** Tamanho máximo de uma página por cursor. */
+    public static final int MAX_SIZE = 100;
+
+    /**
+     * Ajusta o tamanho de página solicitado ao intervalo {@code [1, MAX_SIZE]}.
+     */
+    public static int clampSize(int size) {
+        return Math.min(Math.max(size, 1), MAX_SIZE);
+    }
+
+    /**
+     * Monta a página a partir de uma consulta que buscou {@code size + 1} linhas: a linha excedente apenas
+     * indica que há uma próxima página e não é devolvida.
+     *
+     * @param rows As linhas retornadas, no máximo {@code size + 1}.
+     * @param size O tamanho de página.
+     * @param cursorOf Extrai o cursor de um item.
+     */
+    public static <T> CursorPageDTO<T> of(List<T> rows, int size, Function<T, Cursor> cursorOf) {
+        return ofEncoded(rows, size, row -> cursorOf.apply(row).encode());
+    }
+
+    /**
+     * Como {@link #of}, para cursores de outro formato (ex.: {@link IdCursor}).
+     *
+     * @param rows As linhas retornadas, no máximo {@code size + 1}.
+     * @param size O tamanho de página.
+     * @param encodedCursorOf Extrai o cursor já codificado de um item.
+     */
+    public static <T> CursorPageDTO<T> ofEncoded(List<T> rows, int size, Function<T, String> encodedCursorOf) {
+        if (rows.size() <= size) {
+            return new CursorPageDTO<>(rows, null, size);
+        }
+        List<T> content = rows.subList(0, size);
+        return new CursorPageDTO<>(content, encodedCursorOf.apply(content.get(size - 1)), size);
+    }
+}
@@ -0,0 +1,32 @@
+package com.zoonosys.dtos;
+
+import com.zoonosys.exceptions.BadRequestException;
+
+/**
+ * Posição opaca de uma paginação por cursor ordenada apenas por {@code id} crescente, para recursos sem data de
+ * criação. Codificada em base64url como {@code "<id>"}.
+ *
+ * @param id ID do último item da página anterior.
+ */
+public record IdCursor(Long id) {
+
+    public static IdCursor of(Long id) {
+        return new IdCursor(id);
+    }
+
+    /**
+     * Decodifica o cursor recebido do cliente.
+     *
+     * @param value O cursor opaco; vazio ou nulo indica a primeira página.
+     * @return O cursor, ou {@code null} para a primeira página.
+     * @throws BadRequestException se o cursor for inválido.
+     */
+    public static IdCursor decode(String value) {
+        long[] parts = CursorCodec.decode(value, 1, "Cursor de paginação inválido.");
+        return parts == null ? null : new IdCursor(parts[0]);
+    }
+
+    public String encode() {
+        return CursorCodec.encode(id);
+    }
+}
@@ -0,0 +1,24 @@
+package com.zoonosys.dtos;
+
+import com.zoonosys.enums.ImageVariant;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.Map;
+
+/**
+ * Resultado do envio de uma imagem.
+ *
+ * @param imageId O ID da imagem (SHA-256 do conteúdo), a informar em {@code imageId} de animais, notícias e campanhas.
+ * @param images As URLs de cada tamanho, relativas à raiz da API.
+ */
+@Schema(description = "Imagem armazenada.")
+public record ImageUploadDTO(
+        @Schema(description = "SHA-256 do conteúdo; envios idênticos retornam o mesmo ID.")
+        String imageId,
+        Map<ImageVariant, String> images
+) {
+
+    public static ImageUploadDTO of(String imageId) {
+        return new ImageUploadDTO(imageId, ImageVariant.urls(imageId));
+    }
+}
@@ -0,0 +1,22 @@
+package com.zoonosys.dtos;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * Resultado de uma importação em lote.
+ *
+ * @param rows Registros lidos.
+ * @param imported Registros gravados.
+ * @param errors Registros recusados, com a linha e o motivo.
+ * @param errorsTruncated Se houve mais erros do que os listados.
+ */
+@Schema(description = "Relatório de importação em lote.")
+public record ImportReportDTO(
+        long rows,
+        long imported,
+        List<ImportRowErrorDTO> errors,
+        @Schema(description = "Verdadeiro se a lista de erros foi limitada.")
+        boolean errorsTruncated
+) {}
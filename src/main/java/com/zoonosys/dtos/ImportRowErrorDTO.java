@@ -0,0 +1,9 @@
+package com.zoonosys.dtos;
+
+/**
+ * Linha recusada em uma importação.
+ *
+ * @param line A linha do arquivo em que o registro começa (a partir de 1, contando o cabeçalho do CSV).
+ * @param message O motivo da recusa.
+ */
+public record ImportRowErrorDTO(long line, String message) {}
@@ -0,0 +1,18 @@
+package com.zoonosys.dtos;
+
+import java.sql.Timestamp;
+
+/**
+ * Linha da exportação de notícias: as colunas da tabela e o autor, sem carregar as entidades.
+ */
+public record NewsExportDTO(
+        Long id,
+        String title,
+        String content,
+        String imageUrl,
+        String imageId,
+        Timestamp createdAt,
+        Timestamp updatedAt,
+        Long authorId,
+        String authorName
+) {}
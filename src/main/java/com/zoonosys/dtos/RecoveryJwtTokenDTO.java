@@ -1,6 +1,7 @@
 package com.zoonosys.dtos;
 
 public record RecoveryJwtTokenDTO(
-        String token
+        String token,
+        String refreshToken
 ) {
 }
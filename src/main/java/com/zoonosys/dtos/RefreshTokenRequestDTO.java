@@ -0,0 +1,9 @@
+package com.zoonosys.dtos;
+
+import jakarta.validation.constraints.NotBlank;
+
+public record RefreshTokenRequestDTO(
+        @NotBlank(message = "O refresh token é obrigatório.")
+        String refreshToken
+) {
+}
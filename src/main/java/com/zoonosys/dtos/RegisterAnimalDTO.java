@@ -37,6 +37,9 @@ public record RegisterAnimalDTO(
 
     Optional<String> imageUrl,
 
+    @Schema(description = "ID de uma imagem enviada em /images. Campo opcional.")
+    Optional<String> imageId,
+
     @Schema(description = "Espécie do animal (CANINE ou FELINE). Campo obrigatório.", example = "CANINE")
     @NotNull(message = "A espécie do animal não pode ser nula")
     AnimalSpecies species,
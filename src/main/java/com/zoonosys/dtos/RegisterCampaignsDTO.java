@@ -25,5 +25,8 @@ public record RegisterCampaignsDTO(
 
         Optional<Timestamp> endDateTime,
 
-        Optional<String> imageUrl
+        Optional<String> imageUrl,
+
+        @Schema(description = "ID de uma imagem enviada em /images. Campo opcional.")
+        Optional<String> imageId
 ) {}
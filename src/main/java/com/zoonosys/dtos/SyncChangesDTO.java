@@ -0,0 +1,32 @@
+package com.zoonosys.dtos;
+
+import com.zoonosys.models.Campaigns;
+import com.zoonosys.models.News;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * Alterações desde o cursor informado. Registros criados ou alterados vêm completos; excluídos vêm apenas pelo ID.
+ * Animais adotados deixam a listagem pública e por isso aparecem entre os excluídos.
+ *
+ * @param animals Animais disponíveis criados ou alterados.
+ * @param news Notícias criadas ou alteradas.
+ * @param campaigns Campanhas criadas ou alteradas.
+ * @param deletedAnimals IDs de animais excluídos ou adotados.
+ * @param deletedNews IDs de notícias excluídas.
+ * @param deletedCampaigns IDs de campanhas excluídas.
+ * @param nextCursor Cursor a enviar na próxima sincronização.
+ * @param hasMore Se há mais alterações a buscar imediatamente com {@code nextCursor}.
+ */
+public record SyncChangesDTO(
+        List<AnimalSummaryDTO> animals,
+        List<News> news,
+        List<Campaigns> campaigns,
+        List<Long> deletedAnimals,
+        List<Long> deletedNews,
+        List<Long> deletedCampaigns,
+        @Schema(description = "Cursor opaco a enviar em 'since' na próxima sincronização.")
+        String nextCursor,
+        boolean hasMore
+) {}
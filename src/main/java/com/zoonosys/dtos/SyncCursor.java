@@ -0,0 +1,32 @@
+package com.zoonosys.dtos;
+
+import com.zoonosys.exceptions.BadRequestException;
+
+/**
+ * Posição opaca no feed de sincronização, ordenado por {@code (changeXid, changeSeq)} crescente.
+ * Codificada em base64url como {@code "<xid>:<seq>"}.
+ *
+ * @param changeXid ID da transação da última alteração entregue.
+ * @param changeSeq Número de sequência da última alteração entregue (desempate dentro da transação).
+ */
+public record SyncCursor(long changeXid, long changeSeq) {
+
+    /** Início do feed: a primeira sincronização entrega todos os registros. */
+    public static final SyncCursor START = new SyncCursor(0, 0);
+
+    /**
+     * Decodifica o cursor recebido do cliente.
+     *
+     * @param value O cursor opaco; vazio ou nulo indica uma sincronização completa.
+     * @return O cursor, ou {@link #START}.
+     * @throws BadRequestException se o cursor for inválido.
+     */
+    public static SyncCursor decode(String value) {
+        long[] parts = CursorCodec.decode(value, 2, "Cursor de sincronização inválido.");
+        return parts == null ? START : new SyncCursor(parts[0], parts[1]);
+    }
+
+    public String encode() {
+        return CursorCodec.encode(changeXid, changeSeq);
+    }
+}
@@ -34,6 +34,9 @@ public record UpdateAnimalDTO(
 
         Optional<String> imageUrl,
 
+        @Schema(description = "ID de uma imagem enviada em /images. Campo opcional.")
+        Optional<String> imageId,
+
         @Schema(description = "Nova espécie do animal (CANINE ou FELINE). Campo obrigatório.", example = "CANINE")
         @NotBlank(message = "A espécie do animal não pode ser nula")
         AnimalSpecies species,
@@ -27,5 +27,8 @@ public record UpdateCampaignsDTO(
         @NotBlank(message = "O horário e data de início não pode estar vazio")
         Optional<Timestamp> endDateTime,
 
-        Optional<String> imageUrl
+        Optional<String> imageUrl,
+
+        @Schema(description = "ID de uma imagem enviada em /images. Campo opcional.")
+        Optional<String> imageId
 ) {}
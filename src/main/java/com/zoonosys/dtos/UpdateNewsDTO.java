@@ -19,5 +19,8 @@ public record UpdateNewsDTO(
         @Size(min = 10, message = "O conteúdo deve ter pelo menos 10 caracteres")
         String content,
 
-        Optional<String> imageUrl
+        Optional<String> imageUrl,
+
+        @Schema(description = "ID de uma imagem enviada em /images. Campo opcional.")
+        Optional<String> imageId
 ) {}
@@ -0,0 +1,10 @@
+package com.zoonosys.dtos;
+
+import com.zoonosys.enums.RoleName;
+import jakarta.validation.constraints.NotNull;
+
+public record UpdateUserRoleDTO(
+        @NotNull(message = "O papel do usuário não pode ser nulo")
+        RoleName role
+) {
+}
@@ -0,0 +1,16 @@
+package com.zoonosys.dtos;
+
+import com.zoonosys.enums.RoleName;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Filtros opcionais da listagem administrativa de usuários. Campos nulos ou vazios não filtram.
+ */
+public record UserFilterDTO(
+        @Schema(description = "Parte do nome, sem diferenciar maiúsculas nem acentos.", example = "maria")
+        String name,
+        @Schema(description = "Início do e-mail, sem diferenciar maiúsculas.", example = "maria.s")
+        String email,
+        @Schema(description = "Papel do usuário.", example = "ROLE_CUSTOMER")
+        RoleName role
+) {}
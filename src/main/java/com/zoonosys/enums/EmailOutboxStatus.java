@@ -0,0 +1,8 @@
+package com.zoonosys.enums;
+
+public enum EmailOutboxStatus {
+    PENDING,
+    SENDING,
+    SENT,
+    DEAD
+}
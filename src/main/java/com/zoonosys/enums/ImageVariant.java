@@ -0,0 +1,71 @@
+package com.zoonosys.enums;
+
+import com.zoonosys.exceptions.BadRequestException;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Tamanhos em que uma imagem é servida. As miniaturas são JPEG com a largura indicada (sem ampliar imagens menores);
+ * {@link #ORIGINAL} é o arquivo enviado, sem alterações.
+ */
+public enum ImageVariant {
+    SMALL(160),
+    MEDIUM(480),
+    LARGE(1080),
+    ORIGINAL(0);
+
+    private final int width;
+
+    ImageVariant(int width) {
+        this.width = width;
+    }
+
+    public int width() {
+        return width;
+    }
+
+    public boolean isThumbnail() {
+        return this != ORIGINAL;
+    }
+
+    /** Nome do arquivo da miniatura no diretório da imagem. */
+    public String fileName() {
+        return "w" + width + ".jpg";
+    }
+
+    public String pathSegment() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Converte o segmento da URL ({@code small}, {@code medium}, {@code large}, {@code original}).
+     *
+     * @throws BadRequestException se o tamanho não existir.
+     */
+    public static ImageVariant fromPathSegment(String value) {
+        try {
+            return valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Tamanho de imagem inválido: " + value);
+        }
+    }
+
+    /**
+     * URLs de cada tamanho de uma imagem, relativas à raiz da API (ex.: {@code images/<id>/small}).
+     *
+     * @param imageId O ID (hash) da imagem, ou {@code null}.
+     * @return As URLs por tamanho, ou {@code null} se não houver imagem.
+     */
+    public static Map<ImageVariant, String> urls(String imageId) {
+        if (imageId == null) {
+            return null;
+        }
+        Map<ImageVariant, String> urls = new EnumMap<>(ImageVariant.class);
+        for (ImageVariant variant : values()) {
+            urls.put(variant, "images/" + imageId + "/" + variant.pathSegment());
+        }
+        return urls;
+    }
+}
@@ -0,0 +1,6 @@
+package com.zoonosys.enums;
+
+public enum ImportFormat {
+    CSV,
+    NDJSON
+}
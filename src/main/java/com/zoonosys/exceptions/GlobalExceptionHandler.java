@@ -1,10 +1,12 @@
 package com.zoonosys.exceptions;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -62,6 +64,59 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST);
     }
 
+    /**
+     * Trata a exceção UnauthorizedException, mapeando-a para o código de status HTTP 401 (Unauthorized).
+     * Lançada quando uma credencial apresentada (ex: refresh token) é inválida, expirada ou foi revogada.
+     *
+     * @param ex A exceção UnauthorizedException lançada.
+     * @return Uma ResponseEntity contendo a mensagem de erro e o status HTTP 401.
+     */
+    @ExceptionHandler(UnauthorizedException.class)
+    public ResponseEntity<String> handleUnauthorizedException(UnauthorizedException ex){
+        return new ResponseEntity<>(ex.getMessage(), HttpStatus.UNAUTHORIZED);
+    }
+
+    /**
+     * Trata a exceção TooManyRequestsException, mapeando-a para o código de status HTTP 429 (Too Many Requests).
+     * Lançada quando um recurso limitado (ex: fila de login) rejeita a requisição por excesso de carga.
+     *
+     * @param ex A exceção TooManyRequestsException lançada.
+     * @return Uma ResponseEntity contendo a mensagem de erro, o cabeçalho Retry-After e o status HTTP 429.
+     */
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<String> handleTooManyRequestsException(TooManyRequestsException ex){
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ex.getMessage());
+    }
+
+    /**
+     * Trata a exceção ServiceUnavailableException, mapeando-a para o código de status HTTP 503 (Service Unavailable).
+     * Lançada quando a requisição aguardou além do tempo limite por um recurso sobrecarregado.
+     *
+     * @param ex A exceção ServiceUnavailableException lançada.
+     * @return Uma ResponseEntity contendo a mensagem de erro, o cabeçalho Retry-After e o status HTTP 503.
+     */
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<String> handleServiceUnavailableException(ServiceUnavailableException ex){
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .body(ex.getMessage());
+    }
+
+    /**
+     * Trata a exceção MaxUploadSizeExceededException, mapeando-a para o código de status HTTP 413 (Payload Too Large).
+     * Lançada pelo Spring quando um envio multipart excede {@code spring.servlet.multipart.max-file-size}
+     * ou {@code max-request-size}.
+     *
+     * @param ex A exceção MaxUploadSizeExceededException lançada.
+     * @return Uma ResponseEntity contendo a mensagem de erro e o status HTTP 413.
+     */
+    @ExceptionHandler(MaxUploadSizeExceededException.class)
+    public ResponseEntity<String> handleMaxUploadSizeExceededException(MaxUploadSizeExceededException ex){
+        return new ResponseEntity<>("Arquivo excede o tamanho máximo permitido para envio.", HttpStatus.PAYLOAD_TOO_LARGE);
+    }
+
     /**
      * Trata todas as exceções RuntimeException não capturadas pelos handlers mais específicos,
      * atuando como uma "última camada de segurança". Mapeia para o código de status HTTP 500
@@ -0,0 +1,11 @@
+package com.zoonosys.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+public class TooManyRequestsException extends RuntimeException{
+    public TooManyRequestsException(String message){
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.zoonosys.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.UNAUTHORIZED)
+public class UnauthorizedException extends RuntimeException{
+    public UnauthorizedException(String message){
+        super(message);
+    }
+}
@@ -3,11 +3,15 @@ package com.zoonosys.models;
 import com.zoonosys.enums.AnimalGender;
 import com.zoonosys.enums.AnimalSize;
 import com.zoonosys.enums.AnimalSpecies;
+import com.zoonosys.enums.ImageVariant;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.*;
 import lombok.*;
 
 import java.sql.Timestamp;
+import java.util.Map;
 
 @Getter
 @Setter
@@ -20,7 +24,9 @@ import java.sql.Timestamp;
 public class Animal {
     @Schema(description = "ID único de animal.", example = "11")
     @Id
-    @GeneratedValue(strategy= GenerationType.IDENTITY)
+    // Sequência com alocação em bloco (em vez de IDENTITY) para que os INSERTs possam ser agrupados em lotes JDBC.
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "animals_seq")
+    @SequenceGenerator(name = "animals_seq", sequenceName = "animals_seq", allocationSize = 50)
     private Long id;
 
     @Schema(description = "Nome do animal.", example = "Pitoco")
@@ -45,12 +51,18 @@ public class Animal {
     @Column
     private String imageUrl;
 
+    @Schema(description = "ID da imagem enviada em /images (SHA-256 do conteúdo).")
+    @Column(length = 64)
+    private String imageId;
+
     @Column(nullable = false)
     private Timestamp createdAt;
 
     @Column(name = "updated_at")
     private Timestamp updatedAt;
 
+    // Proxy LAZY: sem open-in-view não pode ser serializado fora da transação (ver AnimalAdminSummaryDTO).
+    @JsonIgnore
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "id_adopting_user", nullable = true)
     @Schema(description = "Usuário que adotou. NULL se disponível para adoção.")
@@ -74,4 +86,10 @@ public class Animal {
     @ManyToOne
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
+
+    @Schema(description = "URLs da imagem por tamanho, relativas à raiz da API; ausente sem imagem.")
+    @JsonProperty("images")
+    public Map<ImageVariant, String> getImages() {
+        return ImageVariant.urls(imageId);
+    }
 }
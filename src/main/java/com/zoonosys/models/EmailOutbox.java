@@ -0,0 +1,62 @@
+package com.zoonosys.models;
+
+import com.zoonosys.enums.EmailOutboxStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * Mensagem de e-mail pendente de envio (padrão outbox). É gravada na mesma transação da operação de negócio
+ * e enviada depois, em lote, pelo {@code EmailOutboxDispatcher}.
+ */
+@Entity
+@Table(name = "tb_email_outbox", indexes = {
+        @Index(name = "idx_email_outbox_status_next_attempt", columnList = "status, next_attempt_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmailOutbox {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** Nome do template Thymeleaf usado para renderizar a mensagem. */
+    @Column(nullable = false, length = 100)
+    private String template;
+
+    @Column(nullable = false)
+    private String recipient;
+
+    /** Variáveis do template serializadas em JSON; esvaziadas quando a mensagem é enviada ou descartada. */
+    @Column(nullable = false, columnDefinition = "text")
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private EmailOutboxStatus status = EmailOutboxStatus.PENDING;
+
+    @Column(nullable = false)
+    private Integer attempts = 0;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private Instant nextAttemptAt = Instant.now();
+
+    /** Fim da reserva de um nó sobre a mensagem; após esse instante outra instância pode reivindicá-la. */
+    @Column(name = "locked_until")
+    private Instant lockedUntil;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt = Instant.now();
+
+    @Column(name = "sent_at")
+    private Instant sentAt;
+}
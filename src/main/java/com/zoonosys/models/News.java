@@ -1,10 +1,13 @@
 package com.zoonosys.models;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.zoonosys.enums.ImageVariant;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.*;
 import lombok.*;
 
 import java.sql.Timestamp;
+import java.util.Map;
 
 @Getter
 @Setter
@@ -30,6 +33,10 @@ public class News {
     @Column
     private String imageUrl;
 
+    @Schema(description = "ID da imagem enviada em /images (SHA-256 do conteúdo).")
+    @Column(length = 64)
+    private String imageId;
+
     @Column(nullable = false)
     private Timestamp createdAt;
 
@@ -40,4 +47,9 @@ public class News {
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
+    @Schema(description = "URLs da imagem por tamanho, relativas à raiz da API; ausente sem imagem.")
+    @JsonProperty("images")
+    public Map<ImageVariant, String> getImages() {
+        return ImageVariant.urls(imageId);
+    }
 }
@@ -9,7 +9,9 @@ import lombok.Setter;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "tb_password_reset_token")
+@Table(name = "tb_password_reset_token", indexes = {
+        @Index(name = "idx_password_reset_token_expiry_date", columnList = "expiry_date")
+})
 @Getter
 @Setter
 @NoArgsConstructor
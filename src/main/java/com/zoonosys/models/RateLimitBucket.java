@@ -0,0 +1,28 @@
+package com.zoonosys.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Bucket de rate limiting compartilhado entre nós (usado quando {@code api.rate-limit.store=jdbc}).
+ * A tabela é escrita apenas por SQL nativo em {@code JdbcRateLimitStore}; a entidade existe para que o schema seja gerado.
+ */
+@Entity
+@Table(name = "tb_rate_limit")
+@Getter
+@Setter
+@NoArgsConstructor
+public class RateLimitBucket {
+    @Id
+    @Column(name = "bucket_key", length = 320)
+    private String bucketKey;
+
+    /** Tempo teórico de chegada (epoch em milissegundos) do algoritmo GCRA. */
+    @Column(nullable = false)
+    private Long tat;
+}
@@ -0,0 +1,38 @@
+package com.zoonosys.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * Entrada da lista de revogação de tokens JWT.
+ * A chave é {@code jti:<id do token>} para um logout, ou {@code user:<e-mail>} para revogar
+ * todas as sessões do usuário emitidas até o segundo de {@code revokedAt}, inclusive.
+ */
+@Entity
+@Table(name = "tb_revoked_token", indexes = {
+        @Index(name = "idx_revoked_token_expires_at", columnList = "expires_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevokedToken {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "revocation_key", nullable = false, unique = true)
+    private String revocationKey;
+
+    @Column(name = "revoked_at", nullable = false)
+    private Instant revokedAt;
+
+    /** Momento a partir do qual nenhum token afetado pode mais ser válido; a entrada pode então ser removida. */
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+}
@@ -1,5 +1,6 @@
 package com.zoonosys.models;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -14,18 +15,22 @@ import java.util.List;
 @Table(name = "users")
 public class User{
     @Id
-    @GeneratedValue(strategy=GenerationType.IDENTITY)
+    // Sequência com alocação em bloco (em vez de IDENTITY) para que os INSERTs da importação sejam agrupados em lotes JDBC.
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, unique = true)
     private String email;
 
+    @JsonIgnore
     @Column(nullable = false)
     private String password;
 
     @Column(nullable = false)
     private String name;
 
+    @JsonIgnore
     @Column(nullable = false, unique = true)
     private String cpf;
 
@@ -50,4 +55,12 @@ public class User{
         inverseJoinColumns = @JoinColumn(name = "role_id")
     )
     private List<Role> roles;
+
+    /**
+     * Versão dos tokens emitidos para o usuário. É incrementada quando papéis ou senha mudam,
+     * invalidando tokens em modo "claims" que carregam uma versão anterior.
+     */
+    @Builder.Default
+    @Column(name = "token_version", nullable = false, columnDefinition = "integer default 0")
+    private Integer tokenVersion = 0;
 }
@@ -1,26 +1,121 @@
 package com.zoonosys.repositories;
 
+import com.zoonosys.dtos.AnimalAdminSummaryDTO;
+import com.zoonosys.enums.AnimalGender;
+import com.zoonosys.enums.AnimalSize;
+import com.zoonosys.enums.AnimalSpecies;
 import com.zoonosys.models.Animal;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface AnimalRepository extends JpaRepository<Animal, Long> {
+public interface AnimalRepository extends JpaRepository<Animal, Long>, JpaSpecificationExecutor<Animal>, AnimalRepositoryCustom {
     List<Animal> findById(long id);
 
-    List<Animal> findByNameContainingIgnoreCase(String name);
+    /**
+     * Define o limiar de similaridade do operador {@code %} do pg_trgm para a transação corrente.
+     *
+     * @param threshold O limiar, entre 0 e 1.
+     */
+    @Query(value = "SELECT set_config('pg_trgm.similarity_threshold', :threshold, true)", nativeQuery = true)
+    String setSimilarityThreshold(@Param("threshold") String threshold);
+
+    /**
+     * Busca aproximada por nome ou raça, tolerante a acentos e erros de digitação, usando os índices
+     * trigram sobre {@code f_unaccent(lower(...))} (ver db/schema.sql). Os resultados são ordenados pela maior
+     * similaridade entre nome e raça. O limiar é o definido por {@link #setSimilarityThreshold} na mesma transação.
+     *
+     * @param term O texto de busca.
+     * @param limit O número máximo de resultados.
+     * @return Os animais mais semelhantes.
+     */
+    @Query(value = """
+            SELECT a.* FROM animals a
+            WHERE f_unaccent(lower(a.name)) % f_unaccent(lower(:term))
+               OR f_unaccent(lower(a.breed)) % f_unaccent(lower(:term))
+            ORDER BY GREATEST(
+                        similarity(f_unaccent(lower(a.name)), f_unaccent(lower(:term))),
+                        similarity(f_unaccent(lower(a.breed)), f_unaccent(lower(:term)))) DESC,
+                     a.id DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Animal> searchByNameOrBreed(@Param("term") String term, @Param("limit") int limit);
+
+    /**
+     * Projeção com apenas nome e raça.
+     */
+    interface NameAndBreed {
+        String getName();
+
+        String getBreed();
+    }
+
+    /**
+     * Nomes e raças dos animais disponíveis para adoção, para o índice de sugestões.
+     */
+    @Query("SELECT a.name AS name, a.breed AS breed FROM Animals a WHERE a.adoptingUser IS NULL")
+    List<NameAndBreed> findAvailableNamesAndBreeds();
+
+    /**
+     * Quantidade de animais disponíveis por combinação de atributos filtráveis.
+     */
+    interface FacetCount {
+        AnimalSpecies getSpecies();
+
+        AnimalSize getSize();
+
+        AnimalGender getGender();
+
+        Boolean getIsVaccinated();
+
+        Boolean getIsNeutered();
+
+        long getTotal();
+    }
+
+    @Query("""
+            SELECT a.species AS species, a.size AS size, a.gender AS gender,
+                   a.isVaccinated AS isVaccinated, a.isNeutered AS isNeutered, COUNT(a) AS total
+            FROM Animals a
+            WHERE a.adoptingUser IS NULL
+            GROUP BY a.species, a.size, a.gender, a.isVaccinated, a.isNeutered
+            """)
+    List<FacetCount> countAvailableByFacets();
+
+    /**
+     * Busca o animal bloqueando a linha ({@code SELECT ... FOR UPDATE}) até o fim da transação, para que operações
+     * concorrentes sobre o mesmo animal (ex.: duas adoções) sejam serializadas.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Animals a WHERE a.id = :id")
+    Optional<Animal> findByIdForUpdate(@Param("id") Long id);
 
     /**
-     * Busca animais disponíveis para adoção, excluindo aqueles que estão adotados
-     * e aqueles que possuem um tratamento ativo.
-     * @param pageable Parâmetros de paginação.
-     * @return Página de animais disponíveis.
+     * Todos os registros para exportação, em ordem de ID, como fluxo somente-leitura: as linhas são projetadas
+     * direto em DTOs (nada entra no contexto de persistência) e lidas do banco em blocos pelo cursor do driver.
+     * Deve ser consumido dentro de uma transação e fechado ao final.
      */
-    @Query("SELECT a FROM Animals a WHERE a.adoptingUser IS NULL")
-    Page<Animal> findAvailableForAdoption(Pageable pageable);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+            SELECT new com.zoonosys.dtos.AnimalAdminSummaryDTO(
+                a.id, a.name, a.breed, a.description, a.isVaccinated, a.isNeutered, a.imageUrl, a.imageId,
+                a.species, a.size, a.gender, a.createdAt, a.updatedAt, u.id, u.name, adopter.id, adopter.name)
+            FROM Animals a
+            JOIN a.user u
+            LEFT JOIN a.adoptingUser adopter
+            ORDER BY a.id
+            """)
+    Stream<AnimalAdminSummaryDTO> streamAllForExport();
 }
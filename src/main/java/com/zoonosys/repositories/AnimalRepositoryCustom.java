@@ -0,0 +1,36 @@
+package com.zoonosys.repositories;
+
+import com.zoonosys.dtos.AnimalAdminSummaryDTO;
+import com.zoonosys.dtos.AnimalSummaryDTO;
+import com.zoonosys.models.Animal;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Consultas de {@link Animal} que o Spring Data não deriva.
+ */
+public interface AnimalRepositoryCustom {
+
+    /**
+     * Busca o conteúdo da página (com offset e ordenação) já projetado para a listagem pública, selecionando apenas
+     * as colunas de {@link AnimalSummaryDTO} e sem a consulta de contagem que {@code findAll(Specification, Pageable)}
+     * sempre executa.
+     *
+     * @param spec Os critérios da consulta, ou {@code null} para todos os animais.
+     * @param pageable A página e a ordenação.
+     * @return As linhas da página.
+     */
+    List<AnimalSummaryDTO> findSummaries(Specification<Animal> spec, Pageable pageable);
+
+    /**
+     * Como {@link #findSummaries}, para a listagem administrativa: inclui ID e nome de quem cadastrou e do adotante,
+     * obtidos por junção na mesma consulta.
+     *
+     * @param spec Os critérios da consulta, ou {@code null} para todos os animais.
+     * @param pageable A página e a ordenação.
+     * @return As linhas da página.
+     */
+    List<AnimalAdminSummaryDTO> findAdminSummaries(Specification<Animal> spec, Pageable pageable);
+}
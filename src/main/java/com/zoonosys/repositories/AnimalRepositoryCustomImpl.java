@@ -0,0 +1,95 @@
+package com.zoonosys.repositories;
+
+import com.zoonosys.dtos.AnimalAdminSummaryDTO;
+import com.zoonosys.dtos.AnimalSummaryDTO;
+import com.zoonosys.models.Animal;
+import com.zoonosys.models.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.List;
+
+public class AnimalRepositoryCustomImpl implements AnimalRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<AnimalSummaryDTO> findSummaries(Specification<Animal> spec, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<AnimalSummaryDTO> query = cb.createQuery(AnimalSummaryDTO.class);
+        Root<Animal> root = query.from(Animal.class);
+
+        query.select(cb.construct(AnimalSummaryDTO.class,
+                root.get("id"),
+                root.get("name"),
+                root.get("breed"),
+                root.get("description"),
+                root.get("isVaccinated"),
+                root.get("isNeutered"),
+                root.get("imageUrl"),
+                root.get("imageId"),
+                root.get("species"),
+                root.get("size"),
+                root.get("gender"),
+                root.get("createdAt")));
+        return page(query, root, cb, spec, pageable);
+    }
+
+    @Override
+    public List<AnimalAdminSummaryDTO> findAdminSummaries(Specification<Animal> spec, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<AnimalAdminSummaryDTO> query = cb.createQuery(AnimalAdminSummaryDTO.class);
+        Root<Animal> root = query.from(Animal.class);
+        Join<Animal, User> registeredBy = root.join("user", JoinType.INNER);
+        Join<Animal, User> adoptingUser = root.join("adoptingUser", JoinType.LEFT);
+
+        query.select(cb.construct(AnimalAdminSummaryDTO.class,
+                root.get("id"),
+                root.get("name"),
+                root.get("breed"),
+                root.get("description"),
+                root.get("isVaccinated"),
+                root.get("isNeutered"),
+                root.get("imageUrl"),
+                root.get("imageId"),
+                root.get("species"),
+                root.get("size"),
+                root.get("gender"),
+                root.get("createdAt"),
+                root.get("updatedAt"),
+                registeredBy.get("id"),
+                registeredBy.get("name"),
+                adoptingUser.get("id"),
+                adoptingUser.get("name")));
+        return page(query, root, cb, spec, pageable);
+    }
+
+    private <T> List<T> page(CriteriaQuery<T> query, Root<Animal> root, CriteriaBuilder cb,
+                             Specification<Animal> spec, Pageable pageable) {
+        Predicate predicate = spec == null ? null : spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+        }
+
+        TypedQuery<T> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        return typedQuery.getResultList();
+    }
+}
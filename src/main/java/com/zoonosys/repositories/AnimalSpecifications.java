@@ -0,0 +1,82 @@
+package com.zoonosys.repositories;
+
+import com.zoonosys.dtos.AnimalFilterDTO;
+import com.zoonosys.dtos.Cursor;
+import com.zoonosys.models.Animal;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Critérios de consulta de {@link Animal} combináveis entre si.
+ */
+public final class AnimalSpecifications {
+
+    /** Ordenação usada pela paginação por cursor; coincide com os índices {@code (created_at DESC, id DESC)}. */
+    public static final Sort KEYSET_SORT = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+
+    private AnimalSpecifications() {
+    }
+
+    /**
+     * Animais ainda não adotados.
+     */
+    public static Specification<Animal> availableForAdoption() {
+        return (root, query, cb) -> cb.isNull(root.get("adoptingUser"));
+    }
+
+    /**
+     * Animais com os IDs informados.
+     */
+    public static Specification<Animal> withIds(Collection<Long> ids) {
+        return (root, query, cb) -> root.get("id").in(ids);
+    }
+
+    /**
+     * Aplica os filtros informados; campos nulos são ignorados.
+     */
+    public static Specification<Animal> matching(AnimalFilterDTO filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (filter == null) {
+                return cb.and();
+            }
+            if (filter.species() != null) {
+                predicates.add(cb.equal(root.get("species"), filter.species()));
+            }
+            if (filter.animalSize() != null) {
+                predicates.add(cb.equal(root.get("size"), filter.animalSize()));
+            }
+            if (filter.gender() != null) {
+                predicates.add(cb.equal(root.get("gender"), filter.gender()));
+            }
+            if (filter.isVaccinated() != null) {
+                predicates.add(cb.equal(root.get("isVaccinated"), filter.isVaccinated()));
+            }
+            if (filter.isNeutered() != null) {
+                predicates.add(cb.equal(root.get("isNeutered"), filter.isNeutered()));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Itens posteriores ao cursor na ordem {@link #KEYSET_SORT}: {@code (createdAt, id) < (cursor.createdAt, cursor.id)}.
+     */
+    public static Specification<Animal> after(Cursor cursor) {
+        return (root, query, cb) -> {
+            if (cursor == null) {
+                return cb.and();
+            }
+            return cb.or(
+                    cb.lessThan(root.get("createdAt"), cursor.createdAt()),
+                    cb.and(
+                            cb.equal(root.get("createdAt"), cursor.createdAt()),
+                            cb.lessThan(root.get("id"), cursor.id())));
+        };
+    }
+}
@@ -1,14 +1,77 @@
 package com.zoonosys.repositories;
 
+import com.zoonosys.dtos.CampaignExportDTO;
 import com.zoonosys.models.Campaigns;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.sql.Timestamp;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface CampaignsRepository extends JpaRepository<Campaigns,Long> {
     List<Campaigns> findByUserId(long userId);
 
-    List<Campaigns> findByNameContainingIgnoreCase(String name);
+    /**
+     * Busca textual (português) sobre a coluna gerada {@code search_vector}, indexada com GIN (ver db/schema.sql).
+     * Aceita a sintaxe de {@code websearch_to_tsquery}: palavras, "frases entre aspas", OR e -exclusão.
+     * Resultados ordenados por relevância ({@code ts_rank}).
+     *
+     * @param query O texto de busca.
+     * @param pageable A página; a ordenação é sempre por relevância.
+     * @return A página de resultados.
+     */
+    @Query(value = """
+            SELECT c.* FROM campaigns c, websearch_to_tsquery('portuguese', :query) q
+            WHERE c.search_vector @@ q
+            ORDER BY ts_rank(c.search_vector, q) DESC, c.id DESC
+            """,
+            countQuery = """
+            SELECT count(*) FROM campaigns c
+            WHERE c.search_vector @@ websearch_to_tsquery('portuguese', :query)
+            """,
+            nativeQuery = true)
+    Page<Campaigns> search(@Param("query") String query, Pageable pageable);
+
+    /**
+     * Conteúdo da página sem a consulta de contagem (o total é obtido por {@code count()}).
+     */
+    List<Campaigns> findAllBy(Pageable pageable);
+
+    /**
+     * Primeira página da paginação por cursor, das mais recentes para as mais antigas.
+     */
+    @Query("SELECT c FROM Campaigns c ORDER BY c.createdAt DESC, c.id DESC")
+    List<Campaigns> findFirstPage(Limit limit);
+
+    /**
+     * Página seguinte ao cursor {@code (createdAt, id)}, na mesma ordem de {@link #findFirstPage}.
+     */
+    @Query("""
+            SELECT c FROM Campaigns c
+            WHERE c.createdAt < :createdAt OR (c.createdAt = :createdAt AND c.id < :id)
+            ORDER BY c.createdAt DESC, c.id DESC
+            """)
+    List<Campaigns> findPageAfter(@Param("createdAt") Timestamp createdAt, @Param("id") Long id, Limit limit);
+
+    /** Todas as campanhas com o autor, em ordem de ID, para exportação. Ver {@link AnimalRepository#streamAllForExport()}. */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+            SELECT new com.zoonosys.dtos.CampaignExportDTO(
+                c.id, c.name, c.description, c.startDateTime, c.endDateTime, c.imageUrl, c.imageId,
+                c.createdAt, c.updatedAt, u.id, u.name)
+            FROM Campaigns c
+            JOIN c.user u
+            ORDER BY c.id
+            """)
+    Stream<CampaignExportDTO> streamAllForExport();
 }
@@ -0,0 +1,36 @@
+package com.zoonosys.repositories;
+
+import com.zoonosys.models.EmailOutbox;
+import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+
+    /**
+     * Seleciona e bloqueia um lote de mensagens prontas para envio (pendentes, ou com reserva expirada).
+     * {@code SKIP LOCKED} faz com que várias instâncias drenem a fila em paralelo sem disputar as mesmas linhas.
+     * Deve ser chamado dentro de uma transação.
+     */
+    @Query(value = """
+            SELECT * FROM tb_email_outbox
+            WHERE (status = 'PENDING' AND next_attempt_at <= :now)
+               OR (status = 'SENDING' AND locked_until <= :now)
+            ORDER BY next_attempt_at
+            LIMIT :batchSize
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<EmailOutbox> lockNextBatch(@Param("now") Instant now, @Param("batchSize") int batchSize);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM EmailOutbox e WHERE e.status = com.zoonosys.enums.EmailOutboxStatus.SENT AND e.sentAt <= :before")
+    int deleteSentBefore(@Param("before") Instant before);
+}
@@ -1,14 +1,76 @@
 package com.zoonosys.repositories;
 
+import com.zoonosys.dtos.NewsExportDTO;
 import com.zoonosys.models.News;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.sql.Timestamp;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface NewsRepository extends JpaRepository<News, Long> {
     List<News> findByUserId(long userId);
 
-    List<News> findByTitleContainingIgnoreCase(String title);
+    /**
+     * Busca textual (português) sobre a coluna gerada {@code search_vector}, indexada com GIN (ver db/schema.sql).
+     * Aceita a sintaxe de {@code websearch_to_tsquery}: palavras, "frases entre aspas", OR e -exclusão.
+     * Resultados ordenados por relevância ({@code ts_rank}).
+     *
+     * @param query O texto de busca.
+     * @param pageable A página; a ordenação é sempre por relevância.
+     * @return A página de resultados.
+     */
+    @Query(value = """
+            SELECT n.* FROM news n, websearch_to_tsquery('portuguese', :query) q
+            WHERE n.search_vector @@ q
+            ORDER BY ts_rank(n.search_vector, q) DESC, n.id DESC
+            """,
+            countQuery = """
+            SELECT count(*) FROM news n
+            WHERE n.search_vector @@ websearch_to_tsquery('portuguese', :query)
+            """,
+            nativeQuery = true)
+    Page<News> search(@Param("query") String query, Pageable pageable);
+
+    /**
+     * Conteúdo da página sem a consulta de contagem (o total é obtido por {@code count()}).
+     */
+    List<News> findAllBy(Pageable pageable);
+
+    /**
+     * Primeira página da paginação por cursor, das mais recentes para as mais antigas.
+     */
+    @Query("SELECT n FROM News n ORDER BY n.createdAt DESC, n.id DESC")
+    List<News> findFirstPage(Limit limit);
+
+    /**
+     * Página seguinte ao cursor {@code (createdAt, id)}, na mesma ordem de {@link #findFirstPage}.
+     */
+    @Query("""
+            SELECT n FROM News n
+            WHERE n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id)
+            ORDER BY n.createdAt DESC, n.id DESC
+            """)
+    List<News> findPageAfter(@Param("createdAt") Timestamp createdAt, @Param("id") Long id, Limit limit);
+
+    /** Todas as notícias com o autor, em ordem de ID, para exportação. Ver {@link AnimalRepository#streamAllForExport()}. */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+            SELECT new com.zoonosys.dtos.NewsExportDTO(
+                n.id, n.title, n.content, n.imageUrl, n.imageId, n.createdAt, n.updatedAt, u.id, u.name)
+            FROM News n
+            JOIN n.user u
+            ORDER BY n.id
+            """)
+    Stream<NewsExportDTO> streamAllForExport();
 }
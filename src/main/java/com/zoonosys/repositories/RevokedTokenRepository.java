@@ -0,0 +1,28 @@
+package com.zoonosys.repositories;
+
+import com.zoonosys.models.RevokedToken;
+import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, Long> {
+    Optional<RevokedToken> findByRevocationKey(String revocationKey);
+
+    boolean existsByRevocationKey(String revocationKey);
+
+    @Query("SELECT r.revocationKey FROM RevokedToken r WHERE r.expiresAt > :now")
+    List<String> findActiveKeys(@Param("now") Instant now);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM RevokedToken r WHERE r.expiresAt <= :now")
+    int deleteExpired(@Param("now") Instant now);
+}
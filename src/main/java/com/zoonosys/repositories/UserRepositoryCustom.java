@@ -0,0 +1,24 @@
+package com.zoonosys.repositories;
+
+import com.zoonosys.dtos.UserResponseDTO;
+import com.zoonosys.models.User;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Consultas de {@link User} que o Spring Data não deriva.
+ */
+public interface UserRepositoryCustom {
+
+    /**
+     * Busca o conteúdo da página (com offset e ordenação) já projetado em {@link UserResponseDTO}, selecionando apenas
+     * essas colunas: os papéis (coleção EAGER da entidade) não são carregados.
+     *
+     * @param spec Os critérios da consulta, ou {@code null} para todos os usuários.
+     * @param pageable A página e a ordenação.
+     * @return As linhas da página.
+     */
+    List<UserResponseDTO> findResponses(Specification<User> spec, Pageable pageable);
+}
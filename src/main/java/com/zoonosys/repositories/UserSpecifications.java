@@ -0,0 +1,74 @@
+package com.zoonosys.repositories;
+
+import com.zoonosys.dtos.IdCursor;
+import com.zoonosys.dtos.UserFilterDTO;
+import com.zoonosys.models.Role;
+import com.zoonosys.models.User;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Critérios de consulta de {@link User} combináveis entre si.
+ */
+public final class UserSpecifications {
+
+    /** Ordenação usada pela paginação por cursor e pela listagem sem ordenação explícita. */
+    public static final Sort KEYSET_SORT = Sort.by(Sort.Order.asc("id"));
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private UserSpecifications() {
+    }
+
+    /**
+     * Aplica os filtros informados; campos nulos ou vazios são ignorados. O nome é buscado por trecho, sem
+     * diferenciar maiúsculas nem acentos (índice trigram em {@code f_unaccent(lower(name))}); o e-mail, por prefixo
+     * (índice em {@code lower(email)}). Ver db/schema.sql.
+     */
+    public static Specification<User> matching(UserFilterDTO filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (filter == null) {
+                return cb.and();
+            }
+            if (filter.name() != null && !filter.name().isBlank()) {
+                String pattern = "%" + escapeLike(filter.name().strip().toLowerCase(Locale.ROOT)) + "%";
+                predicates.add(cb.like(unaccent(cb, cb.lower(root.get("name"))),
+                        unaccent(cb, cb.literal(pattern)), LIKE_ESCAPE));
+            }
+            if (filter.email() != null && !filter.email().isBlank()) {
+                String pattern = escapeLike(filter.email().strip().toLowerCase(Locale.ROOT)) + "%";
+                predicates.add(cb.like(cb.lower(root.get("email")), pattern, LIKE_ESCAPE));
+            }
+            if (filter.role() != null) {
+                // Cada usuário tem no máximo uma linha por papel em user_roles; a junção não duplica resultados.
+                Join<User, Role> roles = root.join("roles");
+                predicates.add(cb.equal(roles.get("name"), filter.role()));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Itens posteriores ao cursor na ordem {@link #KEYSET_SORT}: {@code id > cursor.id}.
+     */
+    public static Specification<User> after(IdCursor cursor) {
+        return (root, query, cb) -> cursor == null ? cb.and() : cb.greaterThan(root.get("id"), cursor.id());
+    }
+
+    private static Expression<String> unaccent(CriteriaBuilder cb, Expression<String> value) {
+        return cb.function("f_unaccent", String.class, value);
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -1,59 +1,230 @@
 package com.zoonosys.security.authentication;
 
+import com.zoonosys.enums.RoleName;
+import com.zoonosys.models.Role;
+import com.zoonosys.models.User;
 import com.zoonosys.security.userdetails.UserDetailsImpl;
 
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTCreator;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTCreationException;
 import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
 
 @Service
 public class JwtTokenService {
 
-    @Value("api.security.token.secret-key")
-    private String secretKey;
+    static final String CLAIM_USER_ID = "uid";
+    static final String CLAIM_NAME = "name";
+    static final String CLAIM_ROLES = "roles";
+    static final String CLAIM_VERSION = "ver";
 
-    @Value("api.security.token.issuer")
-    private String issuer;
+    private final String issuer;
+
+    private final Duration accessTokenTtl;
+
+    /**
+     * Quando ativo, os papéis, o ID e o nome do usuário são assinados no token,
+     * permitindo que o filtro monte o principal sem consultar o banco.
+     */
+    private final boolean claimsMode;
+
+    /** Algoritmo e verificador são imutáveis e thread-safe, construídos uma única vez. */
+    private final Algorithm algorithm;
+
+    private final JWTVerifier verifier;
+
+    /**
+     * Tokens já verificados, indexados pelo SHA-256 do token. Cada entrada expira junto com o próprio token
+     * (limitada a {@code maxCacheTtl}), de modo que requisições repetidas com o mesmo bearer evitam HMAC e parsing.
+     */
+    private final Cache<String, DecodedJWT> verifiedTokens;
+
+    public JwtTokenService(
+            @Value("${api.security.token.secret-key}") String secretKey,
+            @Value("${api.security.token.issuer}") String issuer,
+            @Value("${api.security.token.access-ttl:4h}") Duration accessTokenTtl,
+            @Value("${api.security.token.claims-mode:false}") boolean claimsMode,
+            @Value("${api.security.token.verified-cache.max-size:10000}") long maxCacheSize,
+            @Value("${api.security.token.verified-cache.max-ttl:15m}") Duration maxCacheTtl,
+            MeterRegistry meterRegistry) {
+        this.issuer = issuer;
+        this.accessTokenTtl = accessTokenTtl;
+        this.claimsMode = claimsMode;
+        this.algorithm = Algorithm.HMAC256(secretKey);
+        this.verifier = JWT.require(algorithm)
+                .withIssuer(issuer)
+                .build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(maxCacheSize)
+                .expireAfter(new TokenExpiry(maxCacheTtl))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "verified-tokens");
+    }
 
     public String generateToken(UserDetailsImpl user) {
         try {
-            Algorithm algorithm = Algorithm.HMAC256(secretKey);
-            return JWT.create()
+            JWTCreator.Builder builder = JWT.create()
                     .withIssuer(issuer)
                     .withIssuedAt(creationDate())
                     .withExpiresAt(expirationDate())
                     .withSubject(user.getUsername())
-                    .sign(algorithm);
+                    .withJWTId(UUID.randomUUID().toString());
+            if (claimsMode) {
+                withUserClaims(builder, user.getUser());
+            }
+            return builder.sign(algorithm);
         } catch (JWTCreationException exception){
             throw new JWTCreationException("Erro ao gerar token.", exception);
         }
     }
 
     public String getSubjectFromToken(String token) {
+        return verifyToken(token).getSubject();
+    }
+
+    /**
+     * Verifica assinatura, emissor e expiração do token.
+     *
+     * @param token O token JWT recebido no cabeçalho Authorization.
+     * @return O token decodificado e verificado.
+     * @throws JWTVerificationException se o token for inválido ou estiver expirado.
+     */
+    public DecodedJWT verifyToken(String token) {
+        String digest = digest(token);
+        DecodedJWT cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null && cached.getExpiresAtAsInstant().isAfter(Instant.now())) {
+            return cached;
+        }
         try {
-            Algorithm algorithm = Algorithm.HMAC256(secretKey);
-            return JWT.require(algorithm)
-                    .withIssuer(issuer)
-                    .build()
-                    .verify(token)
-                    .getSubject();
+            DecodedJWT verified = verifier.verify(token);
+            verifiedTokens.put(digest, verified);
+            return verified;
         } catch (JWTVerificationException exception){
             throw new JWTVerificationException("Token inválido ou expirado.");
         }
     }
 
+    /**
+     * Tempo de vida dos tokens de acesso; também define por quanto tempo uma revogação precisa ser mantida.
+     */
+    public Duration getAccessTokenTtl() {
+        return accessTokenTtl;
+    }
+
+    public boolean isClaimsMode() {
+        return claimsMode;
+    }
+
+    /**
+     * Indica se o token foi emitido em modo "claims" (carrega ID, papéis e versão do usuário).
+     */
+    public boolean hasUserClaims(DecodedJWT jwt) {
+        return !jwt.getClaim(CLAIM_USER_ID).isMissing() && !jwt.getClaim(CLAIM_VERSION).isMissing();
+    }
+
+    public Long getUserId(DecodedJWT jwt) {
+        return jwt.getClaim(CLAIM_USER_ID).asLong();
+    }
+
+    public int getTokenVersion(DecodedJWT jwt) {
+        return jwt.getClaim(CLAIM_VERSION).asInt();
+    }
+
+    /**
+     * Monta o principal a partir das claims verificadas, sem acesso ao banco.
+     * O {@link User} resultante é transitório e contém apenas ID, e-mail, nome e papéis.
+     *
+     * @param jwt O token já verificado.
+     * @return O principal autenticado.
+     */
+    public UserDetailsImpl toPrincipal(DecodedJWT jwt) {
+        List<Role> roles = jwt.getClaim(CLAIM_ROLES).asList(String.class).stream()
+                .map(role -> Role.builder().name(RoleName.valueOf(role)).build())
+                .toList();
+
+        User user = User.builder()
+                .id(getUserId(jwt))
+                .email(jwt.getSubject())
+                .name(jwt.getClaim(CLAIM_NAME).asString())
+                .roles(roles)
+                .tokenVersion(getTokenVersion(jwt))
+                .build();
+        return new UserDetailsImpl(user);
+    }
+
+    private void withUserClaims(JWTCreator.Builder builder, User user) {
+        List<String> roles = user.getRoles().stream()
+                .map(role -> role.getName().name())
+                .toList();
+        builder.withClaim(CLAIM_USER_ID, user.getId())
+                .withClaim(CLAIM_NAME, user.getName())
+                .withClaim(CLAIM_ROLES, roles)
+                .withClaim(CLAIM_VERSION, user.getTokenVersion());
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("SHA-256 indisponível.", exception);
+        }
+    }
+
     private Instant creationDate() {
         return ZonedDateTime.now(ZoneId.of("America/Sao_Paulo")).toInstant();
     }
 
     private Instant expirationDate() {
-        return ZonedDateTime.now(ZoneId.of("America/Sao_Paulo")).plusHours(4).toInstant();
+        return ZonedDateTime.now(ZoneId.of("America/Sao_Paulo")).plus(accessTokenTtl).toInstant();
+    }
+
+    /**
+     * Expira cada token verificado no instante do seu {@code exp}, limitado a {@code maxTtl}.
+     */
+    private static final class TokenExpiry implements Expiry<String, DecodedJWT> {
+        private final long maxTtlNanos;
+
+        private TokenExpiry(Duration maxTtl) {
+            this.maxTtlNanos = maxTtl.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(String key, DecodedJWT jwt, long currentTime) {
+            long remaining = Duration.between(Instant.now(), jwt.getExpiresAtAsInstant()).toNanos();
+            return Math.max(0, Math.min(remaining, maxTtlNanos));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, DecodedJWT jwt, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, jwt, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, DecodedJWT jwt, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
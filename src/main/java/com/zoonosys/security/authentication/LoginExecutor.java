@@ -0,0 +1,113 @@
+package com.zoonosys.security.authentication;
+
+import com.zoonosys.exceptions.ServiceUnavailableException;
+import com.zoonosys.exceptions.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bulkhead de CPU para o login: o hash de senha (BCrypt) roda em um pool dedicado e limitado,
+ * e não nas threads do Tomcat. Excesso de carga é rejeitado com 429 (fila cheia) ou 503 (tempo de espera esgotado),
+ * preservando CPU para as leituras públicas.
+ */
+@Component
+public class LoginExecutor {
+    private static final Logger logger = LoggerFactory.getLogger(LoginExecutor.class);
+
+    private final ThreadPoolExecutor executor;
+
+    private final Duration timeout;
+
+    private final Timer hashTimer;
+
+    private final Counter rejected;
+
+    private final Counter timedOut;
+
+    public LoginExecutor(
+            @Value("${api.security.login.threads:0}") int threads,
+            @Value("${api.security.login.queue-capacity:64}") int queueCapacity,
+            @Value("${api.security.login.timeout:5s}") Duration timeout,
+            MeterRegistry meterRegistry) {
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "login-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.timeout = timeout;
+
+        this.hashTimer = Timer.builder("login.hash.duration")
+                .description("Tempo de autenticação (hash de senha) no pool de login")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.rejected = Counter.builder("login.rejected").tag("reason", "queue-full").register(meterRegistry);
+        this.timedOut = Counter.builder("login.rejected").tag("reason", "timeout").register(meterRegistry);
+        Gauge.builder("login.queue.depth", executor, e -> e.getQueue().size()).register(meterRegistry);
+        Gauge.builder("login.active", executor, ThreadPoolExecutor::getActiveCount).register(meterRegistry);
+    }
+
+    /**
+     * Executa a tarefa de autenticação no pool de login, aguardando no máximo o tempo configurado.
+     *
+     * @param task A tarefa (normalmente {@code authenticationManager.authenticate}).
+     * @return O resultado da tarefa.
+     * @throws TooManyRequestsException se a fila de login estiver cheia.
+     * @throws ServiceUnavailableException se o tempo de espera for excedido.
+     */
+    public <T> T execute(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(() -> hashTimer.recordCallable(task));
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new TooManyRequestsException("Muitas tentativas de login simultâneas. Tente novamente em instantes.");
+        }
+
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            timedOut.increment();
+            throw new ServiceUnavailableException("Serviço de login sobrecarregado. Tente novamente em instantes.");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Login interrompido.");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        logger.info("Encerrando pool de login.");
+        executor.shutdown();
+    }
+}
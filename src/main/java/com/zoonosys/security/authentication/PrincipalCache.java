@@ -0,0 +1,63 @@
+package com.zoonosys.security.authentication;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.zoonosys.security.userdetails.UserDetailsImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Cache limitado (tamanho máximo + TTL) dos principals já resolvidos, indexado pelo subject do JWT.
+ * Evita a consulta {@code findByEmail} (com o JOIN EAGER em {@code user_roles}) a cada requisição autenticada.
+ * As métricas de hit/miss/eviction são publicadas em {@code /actuator/metrics/cache.*} com {@code cache=principals}.
+ */
+@Component
+public class PrincipalCache {
+
+    private final Cache<String, UserDetailsImpl> cache;
+
+    public PrincipalCache(
+            @Value("${api.security.principal-cache.max-size:10000}") long maxSize,
+            @Value("${api.security.principal-cache.ttl:5m}") Duration ttl,
+            MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "principals");
+    }
+
+    /**
+     * Retorna o principal em cache ou o carrega através do {@code loader}.
+     * Resultados nulos (usuário inexistente) não são armazenados.
+     *
+     * @param subject O subject (e-mail) extraído do token.
+     * @param loader Função que carrega o principal do banco em caso de miss.
+     * @return O principal, ou vazio se o usuário não existir.
+     */
+    public Optional<UserDetailsImpl> get(String subject, Function<String, UserDetailsImpl> loader) {
+        return Optional.ofNullable(cache.get(subject, loader));
+    }
+
+    /**
+     * Remove o principal do usuário do cache. Deve ser chamado sempre que usuário, senha ou papéis mudarem.
+     *
+     * @param subject O e-mail do usuário.
+     */
+    public void invalidate(String subject) {
+        if (subject != null) {
+            cache.invalidate(subject);
+        }
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+}
@@ -0,0 +1,151 @@
+package com.zoonosys.security.authentication;
+
+import com.zoonosys.exceptions.UnauthorizedException;
+import com.zoonosys.models.RefreshToken;
+import com.zoonosys.models.User;
+import com.zoonosys.repositories.RefreshTokenRepository;
+import jakarta.transaction.Transactional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Emissão e rotação de refresh tokens opacos. A renovação de um access token custa uma busca indexada
+ * pelo hash do refresh token, em vez de um novo hash BCrypt da senha.
+ */
+@Service
+public class RefreshTokenService {
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    private final Duration ttl;
+
+    public RefreshTokenService(
+            RefreshTokenRepository refreshTokenRepository,
+            @Value("${api.security.refresh-token.ttl:30d}") Duration ttl) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.ttl = ttl;
+    }
+
+    /**
+     * Resultado de uma rotação: o usuário dono do token e o novo refresh token (valor em claro).
+     */
+    public record Rotation(User user, String refreshToken) {}
+
+    /**
+     * Emite um refresh token iniciando uma nova família (login).
+     *
+     * @param user O usuário autenticado.
+     * @return O valor do refresh token a ser entregue ao cliente.
+     */
+    public String issue(User user) {
+        return issue(user, UUID.randomUUID().toString());
+    }
+
+    /**
+     * Consome o refresh token e emite o próximo da mesma família.
+     * Se o token já tiver sido usado ou revogado, toda a família é revogada (detecção de reuso).
+     *
+     * @param rawToken O refresh token apresentado pelo cliente.
+     * @return O usuário e o novo refresh token.
+     * @throws UnauthorizedException se o token for desconhecido, expirado, revogado ou reutilizado.
+     */
+    @Transactional(dontRollbackOn = UnauthorizedException.class)
+    public Rotation rotate(String rawToken) {
+        RefreshToken token = refreshTokenRepository.findByTokenHashWithUser(hash(rawToken))
+                .orElseThrow(() -> new UnauthorizedException("Refresh token inválido."));
+
+        if (token.getUsedAt() != null || token.getRevoked()) {
+            throw reuseDetected(token);
+        }
+        if (token.isExpired()) {
+            throw new UnauthorizedException("Refresh token expirado.");
+        }
+
+        // Consumo condicional: de duas rotações simultâneas do mesmo token, só uma marca a linha; a outra é
+        // tratada como reuso, sem bifurcar a família.
+        if (refreshTokenRepository.markUsed(token.getId(), Instant.now()) == 0) {
+            throw reuseDetected(token);
+        }
+
+        String next = issue(token.getUser(), token.getFamilyId());
+        return new Rotation(token.getUser(), next);
+    }
+
+    /**
+     * Revoga a família do refresh token apresentado (logout). Tokens desconhecidos são ignorados.
+     *
+     * @param rawToken O refresh token da sessão encerrada.
+     */
+    @Transactional
+    public void revokeFamilyOf(String rawToken) {
+        refreshTokenRepository.findFamilyIdByTokenHash(hash(rawToken))
+                .ifPresent(refreshTokenRepository::revokeFamily);
+    }
+
+    /**
+     * Revoga todos os refresh tokens do usuário (troca de senha, revogação de sessões).
+     *
+     * @param userId O ID do usuário.
+     */
+    @Transactional
+    public void revokeAllForUser(Long userId) {
+        refreshTokenRepository.revokeAllByUserId(userId);
+    }
+
+    @Scheduled(fixedDelayString = "${api.security.refresh-token.prune-interval-ms:3600000}")
+    public void pruneExpired() {
+        int removed = refreshTokenRepository.deleteExpired(Instant.now());
+        if (removed > 0) {
+            logger.info("{} refresh tokens expirados removidos.", removed);
+        }
+    }
+
+    private UnauthorizedException reuseDetected(RefreshToken token) {
+        refreshTokenRepository.revokeFamily(token.getFamilyId());
+        logger.warn("Reuso de refresh token detectado para o usuário {}; família {} revogada.",
+                token.getUser().getEmail(), token.getFamilyId());
+        return new UnauthorizedException("Refresh token inválido.");
+    }
+
+    private String issue(User user, String familyId) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        RefreshToken token = new RefreshToken();
+        token.setTokenHash(hash(rawToken));
+        token.setFamilyId(familyId);
+        token.setUser(user);
+        token.setExpiresAt(Instant.now().plus(ttl));
+        refreshTokenRepository.save(token);
+
+        return rawToken;
+    }
+
+    private static String hash(String rawToken) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(rawToken.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("SHA-256 indisponível.", exception);
+        }
+    }
+}
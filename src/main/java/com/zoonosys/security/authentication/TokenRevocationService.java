@@ -0,0 +1,136 @@
+package com.zoonosys.security.authentication;
+
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.zoonosys.models.RevokedToken;
+import com.zoonosys.repositories.RevokedTokenRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Lista de revogação de tokens persistida em {@code tb_revoked_token}, com um filtro de Bloom em memória
+ * como caminho rápido: no caso comum (token não revogado) a verificação custa uma sonda no filtro, sem I/O.
+ * O banco só é consultado quando o filtro indica uma possível revogação.
+ * O filtro é reconstruído periodicamente a partir da tabela, o que também propaga revogações feitas em outros nós.
+ */
+@Service
+public class TokenRevocationService {
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    private static final String TOKEN_KEY_PREFIX = "jti:";
+    private static final String USER_KEY_PREFIX = "user:";
+
+    private final RevokedTokenRepository revokedTokenRepository;
+
+    private final JwtTokenService jwtTokenService;
+
+    private final double falsePositiveRate;
+
+    private volatile BloomFilter filter;
+
+    public TokenRevocationService(
+            RevokedTokenRepository revokedTokenRepository,
+            JwtTokenService jwtTokenService,
+            @Value("${api.security.revocation.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.jwtTokenService = jwtTokenService;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filter = BloomFilter.create(1024, falsePositiveRate);
+    }
+
+    /**
+     * Verifica se o token foi revogado individualmente (logout) ou por uma revogação de todas as sessões do usuário.
+     *
+     * @param jwt O token já verificado.
+     * @return {@code true} se o token não deve mais ser aceito.
+     */
+    public boolean isRevoked(DecodedJWT jwt) {
+        BloomFilter current = filter;
+
+        if (jwt.getId() != null) {
+            String tokenKey = TOKEN_KEY_PREFIX + jwt.getId();
+            if (current.mightContain(tokenKey) && revokedTokenRepository.existsByRevocationKey(tokenKey)) {
+                return true;
+            }
+        }
+
+        String userKey = USER_KEY_PREFIX + jwt.getSubject();
+        if (current.mightContain(userKey)) {
+            Instant issuedAt = jwt.getIssuedAtAsInstant();
+            return revokedTokenRepository.findByRevocationKey(userKey)
+                    .map(revoked -> issuedAt == null
+                            || !issuedAt.isAfter(revoked.getRevokedAt().truncatedTo(ChronoUnit.SECONDS)))
+                    .orElse(false);
+        }
+        return false;
+    }
+
+    /**
+     * Revoga um único token (logout) até a sua expiração.
+     *
+     * @param jwt O token verificado a ser revogado.
+     */
+    public void revokeToken(DecodedJWT jwt) {
+        if (jwt.getId() == null) {
+            logger.warn("Token sem jti não pode ser revogado individualmente (subject: {}).", jwt.getSubject());
+            return;
+        }
+        save(TOKEN_KEY_PREFIX + jwt.getId(), jwt.getExpiresAtAsInstant());
+    }
+
+    /**
+     * Revoga todas as sessões do usuário emitidas até agora. O {@code iat} do JWT tem precisão de segundos, então a
+     * comparação é feita ao segundo e inclui o próprio segundo da revogação: um token emitido nesse segundo, antes ou
+     * depois da revogação, é recusado (o usuário apenas precisa entrar de novo).
+     *
+     * @param email O e-mail (subject) do usuário.
+     */
+    public void revokeAllForUser(String email) {
+        save(USER_KEY_PREFIX + email, Instant.now().plus(jwtTokenService.getAccessTokenTtl()));
+    }
+
+    private void save(String key, Instant expiresAt) {
+        RevokedToken revoked = revokedTokenRepository.findByRevocationKey(key).orElseGet(RevokedToken::new);
+        revoked.setRevocationKey(key);
+        revoked.setRevokedAt(Instant.now().truncatedTo(ChronoUnit.SECONDS));
+        revoked.setExpiresAt(expiresAt);
+        revokedTokenRepository.save(revoked);
+
+        // Sincronizado com rebuild(): a chave entra no filtro vigente ou é lida do banco pela reconstrução.
+        synchronized (this) {
+            filter.put(key);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        rebuild();
+    }
+
+    /**
+     * Remove entradas expiradas e reconstrói o filtro de Bloom a partir das revogações ainda ativas.
+     */
+    @Scheduled(fixedDelayString = "${api.security.revocation.refresh-interval-ms:60000}",
+            initialDelayString = "${api.security.revocation.refresh-interval-ms:60000}")
+    public synchronized void rebuild() {
+        Instant now = Instant.now();
+        int pruned = revokedTokenRepository.deleteExpired(now);
+
+        List<String> keys = revokedTokenRepository.findActiveKeys(now);
+        BloomFilter rebuilt = BloomFilter.create(Math.max(1024, keys.size() * 2), falsePositiveRate);
+        keys.forEach(rebuilt::put);
+        this.filter = rebuilt;
+
+        if (pruned > 0) {
+            logger.info("Lista de revogação: {} entradas expiradas removidas, {} ativas.", pruned, keys.size());
+        }
+    }
+}
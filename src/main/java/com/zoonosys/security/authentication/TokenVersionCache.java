@@ -0,0 +1,55 @@
+package com.zoonosys.security.authentication;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.zoonosys.repositories.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Cache de curta duração da versão de token de cada usuário, usado no modo "claims".
+ * Uma mudança de papel ou senha passa a valer em no máximo {@code version-check-ttl}
+ * em outros nós, e imediatamente no nó que realizou a alteração.
+ */
+@Component
+public class TokenVersionCache {
+
+    private final Cache<Long, Integer> cache;
+
+    private final UserRepository userRepository;
+
+    public TokenVersionCache(
+            UserRepository userRepository,
+            @Value("${api.security.token.version-check-ttl:30s}") Duration ttl,
+            MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(50_000)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "token-versions");
+    }
+
+    /**
+     * Verifica se a versão carregada no token ainda é a versão atual do usuário.
+     *
+     * @param userId O ID do usuário (claim {@code uid}).
+     * @param version A versão carregada no token (claim {@code ver}).
+     * @return {@code true} se o token ainda é válido para o usuário.
+     */
+    public boolean isCurrent(Long userId, int version) {
+        Integer current = cache.get(userId, id -> userRepository.findTokenVersionById(id).orElse(null));
+        return current != null && current == version;
+    }
+
+    public void invalidate(Long userId) {
+        if (userId != null) {
+            cache.invalidate(userId);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.zoonosys.security.authentication;
 
+import com.auth0.jwt.interfaces.DecodedJWT;
 import com.zoonosys.repositories.UserRepository;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -12,9 +13,9 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 import com.zoonosys.security.userdetails.UserDetailsImpl;
-import com.zoonosys.models.User;
 
 import java.io.IOException;
+import java.util.Optional;
 
 @Component
 public class UserAuthenticationFilter extends OncePerRequestFilter {
@@ -25,21 +26,52 @@ public class UserAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private TokenVersionCache tokenVersionCache;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         String token = recoveryToken(request);
 
         if (token != null){
-            String subject = jwtTokenService.getSubjectFromToken(token);
-            User user = userRepository.findByEmail(subject).get();
-            UserDetailsImpl userDetails = new UserDetailsImpl(user);
-
-            Authentication authentication = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-            SecurityContextHolder.getContext().setAuthentication(authentication);
+            DecodedJWT jwt = jwtTokenService.verifyToken(token);
+            resolvePrincipal(jwt).ifPresent(userDetails -> {
+                Authentication authentication = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+            });
         }
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Tokens revogados não autenticam. Em modo "claims", o principal é montado a partir do token verificado
+     * e apenas a versão do token é conferida (em cache). Tokens sem claims de usuário seguem pelo cache de principals.
+     */
+    private Optional<UserDetailsImpl> resolvePrincipal(DecodedJWT jwt) {
+        if (tokenRevocationService.isRevoked(jwt)) {
+            return Optional.empty();
+        }
+        if (jwtTokenService.isClaimsMode() && jwtTokenService.hasUserClaims(jwt)) {
+            if (!tokenVersionCache.isCurrent(jwtTokenService.getUserId(jwt), jwtTokenService.getTokenVersion(jwt))) {
+                return Optional.empty();
+            }
+            return Optional.of(jwtTokenService.toPrincipal(jwt));
+        }
+        return principalCache.get(jwt.getSubject(), this::loadPrincipal);
+    }
+
+    private UserDetailsImpl loadPrincipal(String subject) {
+        return userRepository.findByEmail(subject)
+                .map(UserDetailsImpl::new)
+                .orElse(null);
+    }
+
     private String recoveryToken(HttpServletRequest request) {
         String authorizationHeader = request.getHeader("Authorization");
         if (authorizationHeader != null) {
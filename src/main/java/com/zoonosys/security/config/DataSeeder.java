@@ -3,6 +3,7 @@ package com.zoonosys.security.config;
 import com.zoonosys.enums.RoleName;
 import com.zoonosys.models.Role;
 import com.zoonosys.repositories.RoleRepository;
+import com.zoonosys.services.RoleRegistry;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -11,7 +12,7 @@ import org.springframework.context.annotation.Configuration;
 public class DataSeeder {
 
     @Bean
-    CommandLineRunner seedRoles(RoleRepository roleRepository) {
+    CommandLineRunner seedRoles(RoleRepository roleRepository, RoleRegistry roleRegistry) {
         return args -> {
             if(roleRepository.findByName(RoleName.ROLE_CUSTOMER)==null){
                 roleRepository.save(Role.builder().name(RoleName.ROLE_CUSTOMER).build());
@@ -19,6 +20,7 @@ public class DataSeeder {
             if(roleRepository.findByName(RoleName.ROLE_ADMINISTRATOR)==null){
                 roleRepository.save(Role.builder().name(RoleName.ROLE_ADMINISTRATOR).build());
             }
+            roleRegistry.reload();
        };
     }
 }
@@ -2,6 +2,8 @@ package com.zoonosys.security.config;
 
 import io.github.cdimascio.dotenv.Dotenv;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -13,16 +15,18 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import com.zoonosys.security.authentication.UserAuthenticationFilter;
+import com.zoonosys.security.ratelimit.RateLimitProperties;
 
+import java.time.Duration;
 import java.util.Properties;
 
 @Configuration
 @EnableWebSecurity
+@EnableConfigurationProperties(RateLimitProperties.class)
 public class SecurityConfig {
 
     @Autowired
@@ -30,9 +34,14 @@ public class SecurityConfig {
 
     public static final String [] ENDPOINTS_WITH_AUTHENTICATION_NOT_REQUIRED = {
             "/users/login",
+            "/users/refresh",
             "/users/register",
             "/news/{id}",
             "/animals/adocao",
+            "/animals/suggest",
+            "/animals/adocao/facets",
+            "/sync",
+            "/images/{id}/{variant}",
             "/animals/{id}",
             "/campaigns/{id}",
             "/auth/reset-password/request",
@@ -53,13 +62,19 @@ public class SecurityConfig {
     public static final String [] ENDPOINTS_ADMIN_POST = {
             "/news/register",
             "/campaigns/register",
-            "/animals/register"
+            "/animals/register",
+            "/animals/import",
+            "/users/import",
+            "/users/{id}/revoke-sessions",
+            "/images"
     };
 
     public static final String [] ENDPOINTS_ADMIN_PUT = {
             "/news/{id}",
             "/campaigns/{id}",
-            "animals/{id}"
+            "animals/{id}",
+            "/users/{id}/role",
+            "/animals/{id}/adoption"
     };
 
     public static final String [] ENDPOINTS_ADMIN_GET = {
@@ -67,7 +82,9 @@ public class SecurityConfig {
             "/users/{id}",
             "/users",
             "/animals",
-            "/animals/search"
+            "/animals/search",
+            "/export/{resource}",
+            "/actuator/**"
     };
 
     public static final String [] ENDPOINTS_ADMIN_DELETE = {
@@ -118,8 +135,8 @@ public class SecurityConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${api.security.password.bcrypt-strength:10}") int strength) {
+        return new AdaptiveBCryptPasswordEncoder(strength);
     }
 
     @Bean
@@ -144,7 +161,11 @@ public class SecurityConfig {
     }
 
     @Bean
-    public JavaMailSender getJavaMailSender() {
+    public JavaMailSender getJavaMailSender(
+            @Value("${app.mail.smtp.connect-timeout:5s}") Duration connectTimeout,
+            @Value("${app.mail.smtp.read-timeout:10s}") Duration readTimeout,
+            @Value("${app.mail.smtp.write-timeout:10s}") Duration writeTimeout,
+            @Value("${app.mail.smtp.debug:false}") boolean debug) {
         Dotenv dotenv = Dotenv.load();
         JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
 
@@ -157,7 +178,11 @@ public class SecurityConfig {
         props.put("mail.transport.protocol", "smtp");
         props.put("mail.smtp.auth", "true");
         props.put("mail.smtp.starttls.enable", "true");
-        props.put("mail.debug", "true");
+        props.put("mail.debug", String.valueOf(debug));
+        // Sem timeouts o JavaMail espera indefinidamente por um servidor SMTP lento.
+        props.put("mail.smtp.connectiontimeout", String.valueOf(connectTimeout.toMillis()));
+        props.put("mail.smtp.timeout", String.valueOf(readTimeout.toMillis()));
+        props.put("mail.smtp.writetimeout", String.valueOf(writeTimeout.toMillis()));
 
         return mailSender;
     }
@@ -0,0 +1,71 @@
+package com.zoonosys.security.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Buckets em memória, sem locks: cada bucket é um {@link AtomicLong} com o tempo teórico de chegada (TAT)
+ * atualizado por CAS. Um bucket cujo TAT já passou está cheio e equivale a um bucket ausente, por isso pode ser
+ * removido. Os buckets ficam num cache Caffeine com limite rígido de {@code max-buckets} entradas e expiração após
+ * o maior período configurado sem acesso; sob uma enxurrada de chaves novas (IPs ou e-mails forjados), a política
+ * de admissão do Caffeine descarta as chaves de uso único sem varrer o mapa a cada requisição.
+ */
+@Component
+@ConditionalOnProperty(name = "api.rate-limit.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryRateLimitStore implements RateLimitStore {
+
+    private final Cache<String, AtomicLong> buckets;
+
+    public InMemoryRateLimitStore(RateLimitProperties properties) {
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.maxBuckets())
+                .expireAfterAccess(longestPeriod(properties))
+                .build();
+    }
+
+    @Override
+    public boolean tryAcquire(String key, RateLimitProperties.Limit limit) {
+        long now = System.nanoTime();
+        AtomicLong bucket = buckets.get(key, k -> new AtomicLong(now));
+
+        long interval = limit.emissionIntervalNanos();
+        long period = limit.period().toNanos();
+        while (true) {
+            long tat = bucket.get();
+            long newTat = Math.max(tat, now) + interval;
+            if (newTat - now > period) {
+                return false;
+            }
+            if (bucket.compareAndSet(tat, newTat)) {
+                return true;
+            }
+        }
+    }
+
+    @Override
+    public int evictIdle() {
+        long now = System.nanoTime();
+        long before = buckets.estimatedSize();
+        buckets.asMap().values().removeIf(bucket -> bucket.get() - now <= 0);
+        buckets.cleanUp();
+        return (int) Math.max(0, before - buckets.estimatedSize());
+    }
+
+    /** Sem acesso por um período inteiro, qualquer bucket está cheio; o maior período é uma expiração segura. */
+    private static Duration longestPeriod(RateLimitProperties properties) {
+        Duration longest = Duration.ofMinutes(1);
+        for (RateLimitProperties.Route route : properties.routes().values()) {
+            for (RateLimitProperties.Limit limit : new RateLimitProperties.Limit[]{route.perIp(), route.perEmail()}) {
+                if (limit != null && limit.period().compareTo(longest) > 0) {
+                    longest = limit.period();
+                }
+            }
+        }
+        return longest;
+    }
+}
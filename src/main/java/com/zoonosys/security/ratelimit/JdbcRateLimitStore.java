@@ -0,0 +1,50 @@
+package com.zoonosys.security.ratelimit;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Buckets compartilhados entre nós através da tabela {@code tb_rate_limit}.
+ * Cada tentativa é um único comando atômico (UPSERT condicional): nenhuma linha retornada significa bucket vazio.
+ */
+@Component
+@ConditionalOnProperty(name = "api.rate-limit.store", havingValue = "jdbc")
+public class JdbcRateLimitStore implements RateLimitStore {
+
+    private static final String ACQUIRE_SQL = """
+            INSERT INTO tb_rate_limit (bucket_key, tat) VALUES (?, ?)
+            ON CONFLICT (bucket_key) DO UPDATE
+                SET tat = GREATEST(tb_rate_limit.tat, ?) + ?
+                WHERE GREATEST(tb_rate_limit.tat, ?) + ? - ? <= ?
+            RETURNING tat
+            """;
+
+    private static final String EVICT_SQL = "DELETE FROM tb_rate_limit WHERE tat <= ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcRateLimitStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public boolean tryAcquire(String key, RateLimitProperties.Limit limit) {
+        long now = System.currentTimeMillis();
+        long interval = Math.max(1, limit.period().toMillis() / limit.capacity());
+        long period = limit.period().toMillis();
+
+        List<Long> tat = jdbcTemplate.query(ACQUIRE_SQL, (rs, rowNum) -> rs.getLong(1),
+                key, now + interval,
+                now, interval,
+                now, interval, now, period);
+        return !tat.isEmpty();
+    }
+
+    @Override
+    public int evictIdle() {
+        return jdbcTemplate.update(EVICT_SQL, System.currentTimeMillis());
+    }
+}
@@ -0,0 +1,49 @@
+package com.zoonosys.security.ratelimit;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+/**
+ * Aplica o limite por IP às rotas POST públicas configuradas (login, pedido de reset de senha),
+ * antes da cadeia de segurança, do parsing do corpo e de qualquer acesso ao banco.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimiter rateLimiter;
+
+    public RateLimitFilter(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        if (HttpMethod.POST.matches(request.getMethod())) {
+            String path = request.getRequestURI().substring(request.getContextPath().length());
+            Optional<String> route = rateLimiter.findRoute(path);
+
+            if (route.isPresent() && !rateLimiter.tryAcquireByIp(route.get(), request.getRemoteAddr())) {
+                response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+                response.setHeader(HttpHeaders.RETRY_AFTER, "60");
+                response.setContentType("text/plain;charset=UTF-8");
+                response.getOutputStream().write("Muitas requisições. Tente novamente mais tarde.".getBytes(StandardCharsets.UTF_8));
+                return;
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,43 @@
+package com.zoonosys.security.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Limites de requisição por rota, configurados em {@code api.rate-limit}.
+ *
+ * @param enabled Liga/desliga o rate limiting.
+ * @param store Backend dos buckets: {@code memory} (por nó) ou {@code jdbc} (compartilhado via PostgreSQL).
+ * @param maxBuckets Quantidade máxima de buckets mantidos em memória.
+ * @param routes Rotas limitadas, indexadas por um nome lógico (ex: {@code login}).
+ */
+@ConfigurationProperties(prefix = "api.rate-limit")
+public record RateLimitProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("memory") String store,
+        @DefaultValue("100000") int maxBuckets,
+        Map<String, Route> routes
+) {
+    public RateLimitProperties {
+        routes = routes == null ? Map.of() : routes;
+    }
+
+    /**
+     * @param path Caminho (sem o context-path) das requisições POST limitadas.
+     * @param perIp Limite por endereço IP; opcional.
+     * @param perEmail Limite por e-mail informado no corpo; opcional.
+     */
+    public record Route(String path, Limit perIp, Limit perEmail) {}
+
+    /**
+     * Permite {@code capacity} requisições em rajada, reabastecidas uniformemente ao longo de {@code period}.
+     */
+    public record Limit(int capacity, Duration period) {
+        public long emissionIntervalNanos() {
+            return period.toNanos() / capacity;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.zoonosys.security.ratelimit;
+
+/**
+ * Armazenamento dos buckets de rate limiting. As implementações seguem o algoritmo GCRA
+ * (token bucket expresso como "tempo teórico de chegada"), que exige um único valor por chave.
+ */
+public interface RateLimitStore {
+
+    /**
+     * Tenta consumir uma permissão do bucket da chave.
+     *
+     * @param key A chave do bucket (rota, dimensão e valor).
+     * @param limit O limite aplicado ao bucket.
+     * @return {@code true} se a requisição é permitida.
+     */
+    boolean tryAcquire(String key, RateLimitProperties.Limit limit);
+
+    /**
+     * Remove buckets ociosos (totalmente reabastecidos), mantendo a memória/tabela limitada.
+     *
+     * @return A quantidade de buckets removidos.
+     */
+    int evictIdle();
+}
@@ -0,0 +1,86 @@
+package com.zoonosys.security.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Ponto de entrada do rate limiting. Resolve o limite configurado para a rota e delega ao {@link RateLimitStore} ativo.
+ * O limite por IP é aplicado pelo {@link RateLimitFilter}; o limite por e-mail é aplicado pelos serviços,
+ * que já conhecem o e-mail informado no corpo da requisição.
+ */
+@Service
+public class RateLimiter {
+    private static final Logger logger = LoggerFactory.getLogger(RateLimiter.class);
+
+    private final RateLimitProperties properties;
+
+    private final RateLimitStore store;
+
+    private final MeterRegistry meterRegistry;
+
+    public RateLimiter(RateLimitProperties properties, RateLimitStore store, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.store = store;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Busca a rota limitada correspondente ao caminho da requisição.
+     *
+     * @param path O caminho da requisição sem o context-path.
+     * @return O nome lógico da rota, se houver limite configurado.
+     */
+    public Optional<String> findRoute(String path) {
+        if (!properties.enabled()) {
+            return Optional.empty();
+        }
+        return properties.routes().entrySet().stream()
+                .filter(entry -> path.equals(entry.getValue().path()))
+                .map(Map.Entry::getKey)
+                .findFirst();
+    }
+
+    public boolean tryAcquireByIp(String route, String ip) {
+        RateLimitProperties.Route config = properties.routes().get(route);
+        return config == null || tryAcquire(route, "ip", ip, config.perIp());
+    }
+
+    public boolean tryAcquireByEmail(String route, String email) {
+        RateLimitProperties.Route config = properties.routes().get(route);
+        if (config == null || email == null) {
+            return true;
+        }
+        return tryAcquire(route, "email", email.trim().toLowerCase(Locale.ROOT), config.perEmail());
+    }
+
+    private boolean tryAcquire(String route, String dimension, String value, RateLimitProperties.Limit limit) {
+        if (!properties.enabled() || limit == null) {
+            return true;
+        }
+        boolean allowed = store.tryAcquire(route + ":" + dimension + ":" + value, limit);
+        if (!allowed) {
+            Counter.builder("rate_limit.rejected")
+                    .tag("route", route)
+                    .tag("dimension", dimension)
+                    .register(meterRegistry)
+                    .increment();
+        }
+        return allowed;
+    }
+
+    @Scheduled(fixedDelayString = "${api.rate-limit.eviction-interval-ms:60000}")
+    public void evictIdleBuckets() {
+        int evicted = store.evictIdle();
+        if (evicted > 0) {
+            logger.debug("Rate limit: {} buckets ociosos removidos.", evicted);
+        }
+    }
+}
@@ -2,20 +2,39 @@ package com.zoonosys.security.userdetails;
 
 import com.zoonosys.models.User;
 import com.zoonosys.repositories.UserRepository;
+import com.zoonosys.security.authentication.PrincipalCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 @Service
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private PrincipalCache principalCache;
+
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException{
         User user = userRepository.findByEmail(username).orElseThrow(() -> new RuntimeException("User not found."));
         return new UserDetailsImpl(user);
     }
+
+    /**
+     * Chamado pelo Spring Security após um login bem-sucedido quando o custo do hash armazenado
+     * difere do configurado ({@code api.security.password.bcrypt-strength}).
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = userRepository.findByEmail(userDetails.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found."));
+        user.setPassword(newPassword);
+        userRepository.save(user);
+        principalCache.invalidate(user.getEmail());
+        return new UserDetailsImpl(user);
+    }
 }
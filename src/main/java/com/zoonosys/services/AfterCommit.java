@@ -0,0 +1,30 @@
+package com.zoonosys.services;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Adia efeitos fora do banco (caches e índices em memória) para depois do commit da transação corrente, para que
+ * um rollback não os deixe divergentes e leituras concorrentes não recarreguem o estado anterior ao commit.
+ */
+final class AfterCommit {
+
+    private AfterCommit() {
+    }
+
+    /**
+     * Executa a ação após o commit da transação corrente ou, se não houver transação, imediatamente.
+     */
+    static void run(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.zoonosys.services;
+
+import com.zoonosys.dtos.AnimalFacetsDTO;
+import com.zoonosys.enums.AnimalGender;
+import com.zoonosys.enums.AnimalSize;
+import com.zoonosys.enums.AnimalSpecies;
+import com.zoonosys.models.Animal;
+import com.zoonosys.repositories.AnimalRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Contagens por faceta (espécie, porte, gênero, vacinação, castração) dos animais disponíveis para adoção,
+ * mantidas em arrays de inteiros indexados pelo ordinal de cada enum. São carregadas do banco uma vez e
+ * atualizadas incrementalmente pelo {@link AnimalService}; as alterações feitas dentro de uma transação só são
+ * aplicadas após o commit. Uma reconciliação periódica com o banco corrige eventuais divergências
+ * (escritas de outros nós ou concorrentes com a própria reconciliação).
+ */
+@Component
+public class AnimalFacetCounter {
+    private static final Logger logger = LoggerFactory.getLogger(AnimalFacetCounter.class);
+
+    /**
+     * Os atributos de um animal que contam nas facetas.
+     */
+    public record FacetKey(AnimalSpecies species, AnimalSize size, AnimalGender gender,
+                           boolean vaccinated, boolean neutered) {
+
+        public static FacetKey of(Animal animal) {
+            return new FacetKey(animal.getSpecies(), animal.getSize(), animal.getGender(),
+                    Boolean.TRUE.equals(animal.getIsVaccinated()), Boolean.TRUE.equals(animal.getIsNeutered()));
+        }
+    }
+
+    private final AnimalRepository animalRepository;
+
+    private int[] species = new int[AnimalSpecies.values().length];
+
+    private int[] size = new int[AnimalSize.values().length];
+
+    private int[] gender = new int[AnimalGender.values().length];
+
+    private int vaccinated;
+
+    private int neutered;
+
+    private int total;
+
+    public AnimalFacetCounter(AnimalRepository animalRepository) {
+        this.animalRepository = animalRepository;
+    }
+
+    /**
+     * Conta um animal que passou a estar disponível (cadastro ou alteração).
+     */
+    public void added(FacetKey key) {
+        AfterCommit.run(() -> apply(key, 1));
+    }
+
+    /**
+     * Desconta um animal que deixou de estar disponível (adoção, alteração ou exclusão).
+     */
+    public void removed(FacetKey key) {
+        AfterCommit.run(() -> apply(key, -1));
+    }
+
+    public synchronized AnimalFacetsDTO snapshot() {
+        return new AnimalFacetsDTO(total,
+                toMap(AnimalSpecies.class, AnimalSpecies.values(), species),
+                toMap(AnimalSize.class, AnimalSize.values(), size),
+                toMap(AnimalGender.class, AnimalGender.values(), gender),
+                vaccinated, neutered);
+    }
+
+    /**
+     * Recalcula as contagens com um GROUP BY sobre os animais disponíveis.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.animals.facets.reconcile-interval-ms:300000}",
+            initialDelayString = "${app.animals.facets.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        int[] loadedSpecies = new int[AnimalSpecies.values().length];
+        int[] loadedSize = new int[AnimalSize.values().length];
+        int[] loadedGender = new int[AnimalGender.values().length];
+        int loadedVaccinated = 0;
+        int loadedNeutered = 0;
+        int loadedTotal = 0;
+
+        for (AnimalRepository.FacetCount row : animalRepository.countAvailableByFacets()) {
+            int count = (int) row.getTotal();
+            loadedSpecies[row.getSpecies().ordinal()] += count;
+            loadedSize[row.getSize().ordinal()] += count;
+            loadedGender[row.getGender().ordinal()] += count;
+            loadedVaccinated += Boolean.TRUE.equals(row.getIsVaccinated()) ? count : 0;
+            loadedNeutered += Boolean.TRUE.equals(row.getIsNeutered()) ? count : 0;
+            loadedTotal += count;
+        }
+
+        synchronized (this) {
+            if (loadedTotal != total) {
+                logger.info("Facetas de adoção reconciliadas: total {} -> {}.", total, loadedTotal);
+            }
+            species = loadedSpecies;
+            size = loadedSize;
+            gender = loadedGender;
+            vaccinated = loadedVaccinated;
+            neutered = loadedNeutered;
+            total = loadedTotal;
+        }
+    }
+
+    private synchronized void apply(FacetKey key, int delta) {
+        species[key.species().ordinal()] += delta;
+        size[key.size().ordinal()] += delta;
+        gender[key.gender().ordinal()] += delta;
+        vaccinated += key.vaccinated() ? delta : 0;
+        neutered += key.neutered() ? delta : 0;
+        total += delta;
+    }
+
+    private static <E extends Enum<E>> Map<E, Integer> toMap(Class<E> type, E[] values, int[] counts) {
+        Map<E, Integer> map = new EnumMap<>(type);
+        for (E value : values) {
+            map.put(value, counts[value.ordinal()]);
+        }
+        return map;
+    }
+}
@@ -0,0 +1,205 @@
+package com.zoonosys.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zoonosys.dtos.ImportReportDTO;
+import com.zoonosys.dtos.RegisterAnimalDTO;
+import com.zoonosys.enums.AnimalGender;
+import com.zoonosys.enums.AnimalSize;
+import com.zoonosys.enums.AnimalSpecies;
+import com.zoonosys.enums.ImportFormat;
+import com.zoonosys.exceptions.BadRequestException;
+import com.zoonosys.models.Animal;
+import com.zoonosys.models.User;
+import com.zoonosys.repositories.AnimalRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static com.zoonosys.services.BatchImporter.requireValue;
+import static com.zoonosys.services.BatchImporter.text;
+
+/**
+ * Importação em lote de animais a partir de CSV ou NDJSON (leitura e gravação em {@link BatchImporter}). Cada
+ * registro é convertido em {@link RegisterAnimalDTO} e validado com as mesmas regras do cadastro individual, e os
+ * válidos são gravados em lotes de {@code app.animals.import.batch-size}. Os IDs vêm de uma sequência com alocação em
+ * bloco, o que permite ao Hibernate agrupar os INSERTs em lotes JDBC ({@code hibernate.jdbc.batch_size}). Índices em
+ * memória (sugestões, facetas) e totais em cache são atualizados uma única vez ao final.
+ */
+@Service
+public class AnimalImportService {
+    private static final Logger logger = LoggerFactory.getLogger(AnimalImportService.class);
+
+    private static final Set<String> REQUIRED_COLUMNS =
+            Set.of("name", "breed", "isvaccinated", "isneutered", "species", "gender", "size");
+
+    private final PagedQueryExecutor pagedQueryExecutor;
+
+    private final AnimalSuggestIndex suggestIndex;
+
+    private final AnimalFacetCounter facetCounter;
+
+    private final ImageStorageService imageStorage;
+
+    private final Validator validator;
+
+    private final BatchImporter<RegisterAnimalDTO, Animal, Animal> importer;
+
+    public AnimalImportService(
+            AnimalRepository animalRepository,
+            PagedQueryExecutor pagedQueryExecutor,
+            AnimalSuggestIndex suggestIndex,
+            AnimalFacetCounter facetCounter,
+            ImageStorageService imageStorage,
+            ObjectMapper objectMapper,
+            ObjectProvider<Validator> validator,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.animals.import.batch-size:500}") int batchSize,
+            @Value("${app.animals.import.max-rows:100000}") long maxRows,
+            @Value("${app.animals.import.max-errors:1000}") int maxErrors) {
+        this.pagedQueryExecutor = pagedQueryExecutor;
+        this.suggestIndex = suggestIndex;
+        this.facetCounter = facetCounter;
+        this.imageStorage = imageStorage;
+        this.validator = validator.getIfAvailable();
+        this.importer = new BatchImporter<>("animals", "animais", RegisterAnimalDTO.class, REQUIRED_COLUMNS,
+                animalRepository, objectMapper, transactionManager, meterRegistry, batchSize, maxRows, maxErrors);
+        if (this.validator == null) {
+            logger.warn("Nenhum provedor de Bean Validation disponível; a importação valida apenas tipos e campos obrigatórios.");
+        }
+    }
+
+    /**
+     * Importa os animais do corpo da requisição.
+     *
+     * @param content O arquivo, em UTF-8.
+     * @param format O formato do arquivo.
+     * @param registeredBy O usuário registrado como responsável pelos cadastros.
+     * @return O relatório com os totais e os erros por linha.
+     * @throws BadRequestException se o arquivo estiver malformado (cabeçalho, aspas) ou exceder o limite de linhas;
+     *                             os lotes gravados até esse ponto permanecem.
+     */
+    public ImportReportDTO importAnimals(InputStream content, ImportFormat format, User registeredBy) throws IOException {
+        return importer.run(content, format, new AnimalRows(registeredBy));
+    }
+
+    private static Boolean bool(String value, String field) {
+        if (value == null) {
+            return null;
+        }
+        return switch (value.toLowerCase(Locale.ROOT)) {
+            case "true", "sim", "s", "1" -> true;
+            case "false", "não", "nao", "n", "0" -> false;
+            default -> throw new BadRequestException(field + ": valor inválido '" + value + "' (use sim/não ou true/false).");
+        };
+    }
+
+    private static <E extends Enum<E>> E enumValue(Class<E> type, String value, String field) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(type, value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(field + ": valor inválido '" + value + "'.");
+        }
+    }
+
+    /**
+     * Mapeamento dos registros em animais de uma importação.
+     */
+    private final class AnimalRows implements BatchImporter.Handler<RegisterAnimalDTO, Animal, Animal> {
+        private final User registeredBy;
+
+        private AnimalRows(User registeredBy) {
+            this.registeredBy = registeredBy;
+        }
+
+        @Override
+        public RegisterAnimalDTO fromCsv(List<String> record, Map<String, Integer> columns) {
+            return new RegisterAnimalDTO(
+                    text(record, columns, "name"),
+                    text(record, columns, "breed"),
+                    Optional.ofNullable(text(record, columns, "description")),
+                    bool(text(record, columns, "isvaccinated"), "isVaccinated"),
+                    bool(text(record, columns, "isneutered"), "isNeutered"),
+                    Optional.ofNullable(text(record, columns, "imageurl")),
+                    Optional.ofNullable(text(record, columns, "imageid")),
+                    enumValue(AnimalSpecies.class, text(record, columns, "species"), "species"),
+                    enumValue(AnimalGender.class, text(record, columns, "gender"), "gender"),
+                    enumValue(AnimalSize.class, text(record, columns, "size"), "size"));
+        }
+
+        @Override
+        public Animal prepare(RegisterAnimalDTO dto) {
+            if (validator != null) {
+                Set<ConstraintViolation<RegisterAnimalDTO>> violations = validator.validate(dto);
+                if (!violations.isEmpty()) {
+                    throw new BadRequestException(violations.stream()
+                            .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                            .sorted()
+                            .collect(Collectors.joining("; ")));
+                }
+            }
+            requireValue(dto.name(), "name");
+            requireValue(dto.breed(), "breed");
+            requireValue(dto.isVaccinated(), "isVaccinated");
+            requireValue(dto.isNeutered(), "isNeutered");
+            requireValue(dto.species(), "species");
+            requireValue(dto.gender(), "gender");
+            requireValue(dto.size(), "size");
+
+            Animal animal = Animal.builder()
+                    .name(dto.name())
+                    .description(dto.description().orElse(null))
+                    .breed(dto.breed())
+                    .species(dto.species())
+                    .gender(dto.gender())
+                    .size(dto.size())
+                    .isVaccinated(dto.isVaccinated())
+                    .isNeutered(dto.isNeutered())
+                    .imageUrl(dto.imageUrl().orElse(null))
+                    .imageId(imageStorage.requireExisting(dto.imageId().orElse(null)))
+                    .adoptingUser(null)
+                    .build();
+            animal.setUser(registeredBy);
+            animal.setCreatedAt(new Timestamp(System.currentTimeMillis()));
+            return animal;
+        }
+
+        @Override
+        public List<Animal> toEntities(List<Animal> batch) {
+            return batch;
+        }
+
+        @Override
+        public Animal retry(Animal item, Animal rejected) {
+            // O ID atribuído no lote recusado não foi gravado.
+            rejected.setId(null);
+            return rejected;
+        }
+
+        @Override
+        public void afterImport() {
+            pagedQueryExecutor.invalidate(AnimalService.PAGE_KEY);
+            suggestIndex.rebuild();
+            facetCounter.reconcile();
+        }
+    }
+}
@@ -1,15 +1,29 @@
 package com.zoonosys.services;
 
+import com.zoonosys.dtos.AnimalAdminSummaryDTO;
+import com.zoonosys.dtos.AnimalFacetsDTO;
+import com.zoonosys.dtos.AnimalFilterDTO;
+import com.zoonosys.dtos.AnimalSummaryDTO;
+import com.zoonosys.dtos.Cursor;
+import com.zoonosys.dtos.CursorPageDTO;
 import com.zoonosys.dtos.RegisterAnimalDTO;
 import com.zoonosys.dtos.UpdateAnimalDTO;
+import com.zoonosys.exceptions.BadRequestException;
 import com.zoonosys.exceptions.ResourceNotFoundException;
+import com.zoonosys.exceptions.UserNotFoundException;
 import com.zoonosys.models.Animal;
 import com.zoonosys.models.User;
 import com.zoonosys.repositories.AnimalRepository;
+import com.zoonosys.repositories.AnimalSpecifications;
+import com.zoonosys.repositories.UserRepository;
 import com.zoonosys.security.SecuritySanitizer;
+import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
 import java.sql.Timestamp;
@@ -22,18 +36,48 @@ import java.util.Optional;
  */
 @Service
 public class AnimalService {
+    static final String PAGE_KEY = "animals";
+
     private final AnimalRepository animalRepository;
 
+    private final PagedQueryExecutor pagedQueryExecutor;
+
+    private final AnimalSuggestIndex suggestIndex;
+
+    private final AnimalFacetCounter facetCounter;
+
+    private final UserRepository userRepository;
+
+    private final ImageStorageService imageStorage;
+
+    @Value("${app.animals.search.similarity-threshold:0.3}")
+    private double similarityThreshold;
+
+    @Value("${app.animals.search.max-results:50}")
+    private int maxSearchResults;
+
+    @Value("${app.animals.suggest.max-results:20}")
+    private int maxSuggestions;
+
     /**
      * Construtor para injeção de dependência do repositório.
      * @param animalRepository O repositório de dados para acesso à tabela de animais.
      */
     @Autowired
-    public AnimalService(AnimalRepository animalRepository, SecuritySanitizer sanitizer) {
+    public AnimalService(AnimalRepository animalRepository, SecuritySanitizer sanitizer,
+                         PagedQueryExecutor pagedQueryExecutor, AnimalSuggestIndex suggestIndex,
+                         AnimalFacetCounter facetCounter, UserRepository userRepository,
+                         ImageStorageService imageStorage) {
         this.animalRepository = animalRepository;
+        this.pagedQueryExecutor = pagedQueryExecutor;
+        this.suggestIndex = suggestIndex;
+        this.facetCounter = facetCounter;
+        this.userRepository = userRepository;
+        this.imageStorage = imageStorage;
 
     }
 
+    @Transactional
     public Animal register(RegisterAnimalDTO registerAnimalDTO, User authenticatedUser){
         Animal animal = Animal.builder()
                 .name(registerAnimalDTO.name())
@@ -45,23 +89,43 @@ public class AnimalService {
                 .isVaccinated(registerAnimalDTO.isVaccinated())
                 .isNeutered(registerAnimalDTO.isNeutered())
                 .imageUrl(registerAnimalDTO.imageUrl().orElse(null))
+                .imageId(imageStorage.requireExisting(registerAnimalDTO.imageId().orElse(null)))
                 .adoptingUser(null)
                 .build();
 
         animal.setUser(authenticatedUser);
         animal.setCreatedAt(new Timestamp(System.currentTimeMillis()));
 
-        return animalRepository.save(animal);
+        Animal saved = animalRepository.save(animal);
+        AfterCommit.run(() -> pagedQueryExecutor.invalidate(PAGE_KEY));
+        suggestIndex.add(saved);
+        facetCounter.added(AnimalFacetCounter.FacetKey.of(saved));
+        return saved;
     }
 
     /**
-     * Busca todos os animais de forma paginada.
+     * Busca todos os animais de forma paginada, já projetados para a listagem administrativa.
      *
      * @param pageable Objeto {@link Pageable} contendo os parâmetros de paginação (página, tamanho, ordenação).
-     * @return Um objeto {@link Page<  Animal  >} com os animais e metadados de paginação.
+     * @return Um objeto {@link Page<  AnimalAdminSummaryDTO  >} com os animais e metadados de paginação.
+     */
+    public Page<AnimalAdminSummaryDTO> findAll(Pageable pageable){
+        return pagedQueryExecutor.page(PAGE_KEY, pageable,
+                page -> animalRepository.findAdminSummaries(null, page), animalRepository::count);
+    }
+
+    /**
+     * Busca todos os animais com paginação por cursor, dos mais recentes para os mais antigos, sem contagem.
+     *
+     * @param after Cursor da página anterior, ou {@code null} para a primeira página.
+     * @param size Tamanho da página (limitado a {@value CursorPageDTO#MAX_SIZE}).
+     * @return A página e o cursor da próxima.
      */
-    public Page<Animal> findAll(Pageable pageable){
-        return animalRepository.findAll(pageable);
+    public CursorPageDTO<AnimalAdminSummaryDTO> findAll(Cursor after, int size) {
+        int limit = CursorPageDTO.clampSize(size);
+        List<AnimalAdminSummaryDTO> rows = animalRepository.findAdminSummaries(AnimalSpecifications.after(after),
+                PageRequest.of(0, limit + 1, AnimalSpecifications.KEYSET_SORT));
+        return CursorPageDTO.of(rows, limit, animal -> Cursor.of(animal.createdAt(), animal.id()));
     }
 
     /**
@@ -75,24 +139,62 @@ public class AnimalService {
     }
 
     /**
-     * Busca e retorna uma lista de animais cujos nomes contenham a string de busca (case-insensitive).
+     * Busca animais por nome ou raça, ignorando acentos e tolerando erros de digitação ("Pitóco", "SRD"),
+     * ordenados pela similaridade.
      *
-     * @param name A string de busca para o nome do animal.
+     * @param term A string de busca.
+     * @param limit O número máximo de resultados (limitado a {@code app.animals.search.max-results}).
      * @return Uma lista de objetos {@link Animal} que correspondem ao critério de busca.
      */
-    public List<Animal> findByNameContainingIgnoreCase(String name){
-        return animalRepository.findByNameContainingIgnoreCase(name);
+    @Transactional
+    public List<Animal> search(String term, int limit){
+        animalRepository.setSimilarityThreshold(String.valueOf(similarityThreshold));
+        return animalRepository.searchByNameOrBreed(term, Math.min(Math.max(limit, 1), maxSearchResults));
     }
 
     /**
-     * Busca todos os animais que estão disponíveis para adoção (Edital Público).
-     * Critérios: Não adotado (adoptingUser IS NULL) e não em tratamento ativo.
+     * Busca todos os animais que estão disponíveis para adoção (Edital Público), aplicando os filtros informados.
+     * Critérios: Não adotado (adoptingUser IS NULL).
      *
+     * @param filter Filtros opcionais (espécie, porte, gênero, vacinação, castração).
      * @param pageable Objeto {@link Pageable} contendo os parâmetros de paginação.
-     * @return Uma página de animais disponíveis.
+     * @return Uma página de animais disponíveis, já projetados para a listagem pública.
      */
-    public Page<Animal> findAvailableForAdoption(Pageable pageable) {
-        return animalRepository.findAvailableForAdoption(pageable);
+    public Page<AnimalSummaryDTO> findAvailableForAdoption(AnimalFilterDTO filter, Pageable pageable) {
+        Specification<Animal> spec = AnimalSpecifications.availableForAdoption().and(AnimalSpecifications.matching(filter));
+        return pagedQueryExecutor.page(PAGE_KEY + ":adoption:" + filter, pageable,
+                page -> animalRepository.findSummaries(spec, page), () -> animalRepository.count(spec));
+    }
+
+    /**
+     * Busca animais disponíveis para adoção com paginação por cursor, dos mais recentes para os mais antigos.
+     * O custo de cada página é proporcional ao seu tamanho, independentemente da profundidade, e não há contagem.
+     *
+     * @param filter Filtros opcionais (espécie, porte, gênero, vacinação, castração).
+     * @param after Cursor da página anterior, ou {@code null} para a primeira página.
+     * @param size Tamanho da página (limitado a {@value CursorPageDTO#MAX_SIZE}).
+     * @return A página e o cursor da próxima.
+     */
+    public CursorPageDTO<AnimalSummaryDTO> findAvailableForAdoption(AnimalFilterDTO filter, Cursor after, int size) {
+        int limit = CursorPageDTO.clampSize(size);
+        Specification<Animal> spec = AnimalSpecifications.availableForAdoption()
+                .and(AnimalSpecifications.matching(filter))
+                .and(AnimalSpecifications.after(after));
+
+        List<AnimalSummaryDTO> rows = animalRepository.findSummaries(spec,
+                PageRequest.of(0, limit + 1, AnimalSpecifications.KEYSET_SORT));
+        return CursorPageDTO.of(rows, limit, animal -> Cursor.of(animal.createdAt(), animal.id()));
+    }
+
+    /**
+     * Sugere nomes e raças de animais disponíveis que começam com o texto digitado, a partir do índice em memória.
+     *
+     * @param prefix O texto digitado.
+     * @param limit O número máximo de sugestões (limitado a {@code app.animals.suggest.max-results}).
+     * @return As sugestões em ordem alfabética.
+     */
+    public List<AnimalSuggestIndex.Suggestion> suggest(String prefix, int limit) {
+        return suggestIndex.suggest(prefix, Math.min(Math.max(limit, 1), maxSuggestions));
     }
 
     /**
@@ -103,10 +205,18 @@ public class AnimalService {
      * @return A entidade Animal atualizada.
      * @throws ResourceNotFoundException se o animal com o ID não for encontrado.
      */
+    @Transactional
     public Animal update (Long id, UpdateAnimalDTO updateAnimalDTO){
-        Animal animal = animalRepository.findById(id)
+        // Bloqueia a linha como em adopt: sem o bloqueio, este merge poderia desfazer uma adoção concorrente e
+        // ajustar de novo as sugestões e facetas já retiradas por ela.
+        Animal animal = animalRepository.findByIdForUpdate(id)
             .orElseThrow(()-> new ResourceNotFoundException("Animal não encontrado com ID: " + id));
 
+        boolean available = animal.getAdoptingUser() == null;
+        String previousName = animal.getName();
+        String previousBreed = animal.getBreed();
+        AnimalFacetCounter.FacetKey previousFacets = AnimalFacetCounter.FacetKey.of(animal);
+
         animal.setName(updateAnimalDTO.name());
         animal.setSpecies(updateAnimalDTO.species());
         animal.setGender(updateAnimalDTO.gender());
@@ -117,10 +227,20 @@ public class AnimalService {
         animal.setIsNeutered(updateAnimalDTO.isNeutered());
 
         updateAnimalDTO.imageUrl().ifPresent(animal::setImageUrl);
+        updateAnimalDTO.imageId().map(imageStorage::requireExisting).ifPresent(animal::setImageId);
 
         animal.setUpdatedAt(new Timestamp(System.currentTimeMillis()));
 
-        return animalRepository.save(animal);
+        Animal saved = animalRepository.save(animal);
+        // Espécie, porte e demais atributos filtráveis podem ter mudado.
+        AfterCommit.run(() -> pagedQueryExecutor.invalidate(PAGE_KEY));
+        if (available) {
+            suggestIndex.remove(previousName, previousBreed);
+            suggestIndex.add(saved);
+            facetCounter.removed(previousFacets);
+            facetCounter.added(AnimalFacetCounter.FacetKey.of(saved));
+        }
+        return saved;
     }
 
     /**
@@ -129,10 +249,55 @@ public class AnimalService {
      * @param id O ID do animal a ser excluído.
      * @throws ResourceNotFoundException se o animal com o ID não for encontrado.
      */
+    @Transactional
     public void delete(Long id){
-        if(!animalRepository.existsById(id)){
-            throw new ResourceNotFoundException("Animal não encontrado com o ID: " + id);
+        Animal animal = animalRepository.findByIdForUpdate(id)
+            .orElseThrow(()-> new ResourceNotFoundException("Animal não encontrado com o ID: " + id));
+
+        animalRepository.delete(animal);
+        AfterCommit.run(() -> pagedQueryExecutor.invalidate(PAGE_KEY));
+        if (animal.getAdoptingUser() == null) {
+            suggestIndex.remove(animal.getName(), animal.getBreed());
+            facetCounter.removed(AnimalFacetCounter.FacetKey.of(animal));
         }
-        animalRepository.deleteById(id);
+    }
+
+    /**
+     * Registra a adoção de um animal, retirando-o da listagem pública.
+     *
+     * @param id O ID do animal adotado.
+     * @param userId O ID do usuário adotante.
+     * @return O animal atualizado.
+     * @throws ResourceNotFoundException se o animal ou o usuário não existir.
+     * @throws BadRequestException se o animal já tiver sido adotado.
+     */
+    @Transactional
+    public Animal adopt(Long id, Long userId) {
+        // Linha bloqueada até o commit: uma adoção concorrente do mesmo animal espera e então vê o adotante.
+        Animal animal = animalRepository.findByIdForUpdate(id)
+            .orElseThrow(()-> new ResourceNotFoundException("Animal não encontrado com ID: " + id));
+        if (animal.getAdoptingUser() != null) {
+            throw new BadRequestException("Animal já adotado.");
+        }
+        User adopter = userRepository.findById(userId)
+            .orElseThrow(() -> new UserNotFoundException("Usuário não encontrado com ID: " + userId));
+
+        animal.setAdoptingUser(adopter);
+        animal.setUpdatedAt(new Timestamp(System.currentTimeMillis()));
+        Animal saved = animalRepository.save(animal);
+
+        AfterCommit.run(() -> pagedQueryExecutor.invalidate(PAGE_KEY));
+        suggestIndex.remove(animal.getName(), animal.getBreed());
+        facetCounter.removed(AnimalFacetCounter.FacetKey.of(animal));
+        return saved;
+    }
+
+    /**
+     * Contagens por faceta dos animais disponíveis, servidas da memória.
+     *
+     * @return As contagens por espécie, porte, gênero, vacinação e castração.
+     */
+    public AnimalFacetsDTO getAdoptionFacets() {
+        return facetCounter.snapshot();
     }
 }
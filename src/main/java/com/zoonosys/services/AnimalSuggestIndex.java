@@ -0,0 +1,264 @@
+package com.zoonosys.services;
+
+import com.zoonosys.models.Animal;
+import com.zoonosys.repositories.AnimalRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Índice de prefixos em memória para o autocompletar de nomes e raças dos animais disponíveis para adoção.
+ * Os termos (normalizados: minúsculos e sem acentos) ficam em um array ordenado; a consulta é uma busca binária
+ * pelo início do prefixo seguida de uma varredura limitada ao número de sugestões, sem acesso ao banco.
+ * As escritas são acumuladas (somando as variações do mesmo termo) e aplicadas em lote a cada
+ * {@code app.animals.suggest.flush-interval-ms}, numa única intercalação que publica uma nova cópia do array
+ * (copy-on-write); as leituras não usam locks. O número de termos é limitado por
+ * {@code app.animals.suggest.max-terms}: na reconstrução ficam os termos mais frequentes.
+ */
+@Component
+public class AnimalSuggestIndex {
+    private static final Logger logger = LoggerFactory.getLogger(AnimalSuggestIndex.class);
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private static final Comparator<Term> ORDER = Comparator.comparing(Term::key).thenComparing(Term::field);
+
+    public enum Field { NAME, BREED }
+
+    /**
+     * Sugestão devolvida ao cliente.
+     *
+     * @param value O texto como cadastrado.
+     * @param field Se é um nome ou uma raça.
+     * @param count Quantos animais disponíveis têm esse nome ou raça.
+     */
+    public record Suggestion(String value, Field field, int count) {}
+
+    private record Term(String key, Field field, String value, int count) {}
+
+    private final AnimalRepository animalRepository;
+
+    private final int maxTerms;
+
+    private volatile Term[] terms = new Term[0];
+
+    /** Variações ainda não aplicadas, por {@code campo:chave}; o {@code count} de cada termo é a variação. */
+    private Map<String, Term> pending = new HashMap<>();
+
+    private final Object pendingLock = new Object();
+
+    public AnimalSuggestIndex(
+            AnimalRepository animalRepository,
+            MeterRegistry meterRegistry,
+            @Value("${app.animals.suggest.max-terms:200000}") int maxTerms) {
+        this.animalRepository = animalRepository;
+        this.maxTerms = maxTerms;
+        Gauge.builder("animals.suggest.terms", this, index -> index.terms.length).register(meterRegistry);
+    }
+
+    /**
+     * Reconstrói o índice a partir dos animais disponíveis. Roda na inicialização, após importações e
+     * periodicamente, corrigindo divergências (escritas de outros nós ou concorrentes com a própria reconstrução).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.animals.suggest.reconcile-interval-ms:300000}",
+            initialDelayString = "${app.animals.suggest.reconcile-interval-ms:300000}")
+    public synchronized void rebuild() {
+        // Variações já confirmadas no banco estão refletidas na consulta abaixo.
+        takePending();
+        Map<String, Term> byKey = new HashMap<>();
+        for (AnimalRepository.NameAndBreed animal : animalRepository.findAvailableNamesAndBreeds()) {
+            accumulate(byKey, Field.NAME, animal.getName());
+            accumulate(byKey, Field.BREED, animal.getBreed());
+        }
+
+        // Acima do limite, ficam os termos mais frequentes, e não os primeiros em ordem alfabética.
+        Term[] rebuilt = byKey.values().stream()
+                .sorted(Comparator.comparingInt(Term::count).reversed())
+                .limit(maxTerms)
+                .sorted(ORDER)
+                .toArray(Term[]::new);
+        if (byKey.size() > maxTerms) {
+            logger.warn("Índice de sugestões truncado em {} termos ({} distintos).", maxTerms, byKey.size());
+        }
+        this.terms = rebuilt;
+        logger.info("Índice de sugestões de animais construído com {} termos.", rebuilt.length);
+    }
+
+    /**
+     * Sugere nomes e raças que começam com o prefixo, em ordem alfabética.
+     *
+     * @param prefix O texto digitado (acentos e maiúsculas são ignorados).
+     * @param limit O número máximo de sugestões.
+     * @return As sugestões.
+     */
+    public List<Suggestion> suggest(String prefix, int limit) {
+        String normalized = normalize(prefix);
+        if (normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        Term[] snapshot = terms;
+        List<Suggestion> suggestions = new ArrayList<>(Math.min(limit, 16));
+        for (int i = lowerBound(snapshot, normalized); i < snapshot.length && suggestions.size() < limit; i++) {
+            Term term = snapshot[i];
+            if (!term.key().startsWith(normalized)) {
+                break;
+            }
+            suggestions.add(new Suggestion(term.value(), term.field(), term.count()));
+        }
+        return suggestions;
+    }
+
+    /**
+     * Registra um animal que passou a estar disponível. Dentro de uma transação, só é aplicado após o commit.
+     */
+    public void add(Animal animal) {
+        String name = animal.getName();
+        String breed = animal.getBreed();
+        AfterCommit.run(() -> update(name, breed, 1));
+    }
+
+    /**
+     * Remove um animal que deixou de estar disponível (adotado, alterado ou excluído). Dentro de uma transação,
+     * só é aplicado após o commit.
+     */
+    public void remove(String name, String breed) {
+        AfterCommit.run(() -> update(name, breed, -1));
+    }
+
+    /**
+     * Aplica as variações acumuladas desde a última execução.
+     */
+    @Scheduled(fixedDelayString = "${app.animals.suggest.flush-interval-ms:1000}")
+    public synchronized void flush() {
+        List<Term> deltas = takePending();
+        if (deltas.isEmpty()) {
+            return;
+        }
+        deltas.sort(ORDER);
+        this.terms = merge(terms, deltas);
+    }
+
+    private void update(String name, String breed, int delta) {
+        synchronized (pendingLock) {
+            record(Field.NAME, name, delta);
+            record(Field.BREED, breed, delta);
+        }
+    }
+
+    private void record(Field field, String value, int delta) {
+        String key = normalize(value);
+        if (key.isEmpty()) {
+            return;
+        }
+        pending.merge(field + ":" + key, new Term(key, field, value.trim(), delta),
+                (existing, added) -> new Term(key, field, existing.value(), existing.count() + delta));
+    }
+
+    private List<Term> takePending() {
+        Map<String, Term> taken;
+        synchronized (pendingLock) {
+            taken = pending;
+            pending = new HashMap<>();
+        }
+        List<Term> deltas = new ArrayList<>(taken.size());
+        for (Term delta : taken.values()) {
+            if (delta.count() != 0) {
+                deltas.add(delta);
+            }
+        }
+        return deltas;
+    }
+
+    /**
+     * Intercala as variações (ordenadas por {@link #ORDER}) com o índice atual numa única passagem.
+     * Termos cuja contagem chega a zero saem; termos novos entram enquanto houver espaço.
+     */
+    private Term[] merge(Term[] current, List<Term> deltas) {
+        List<Term> merged = new ArrayList<>(current.length + deltas.size());
+        int room = Math.max(0, maxTerms - current.length);
+        int skipped = 0;
+        int i = 0;
+        int j = 0;
+        while (i < current.length || j < deltas.size()) {
+            int comparison = i == current.length ? 1
+                    : j == deltas.size() ? -1
+                    : ORDER.compare(current[i], deltas.get(j));
+            if (comparison < 0) {
+                merged.add(current[i++]);
+            } else if (comparison > 0) {
+                Term added = deltas.get(j++);
+                if (added.count() <= 0) {
+                    continue;
+                }
+                if (room > 0) {
+                    merged.add(added);
+                    room--;
+                } else {
+                    skipped++;
+                }
+            } else {
+                Term existing = current[i++];
+                int count = existing.count() + deltas.get(j++).count();
+                if (count > 0) {
+                    merged.add(new Term(existing.key(), existing.field(), existing.value(), count));
+                }
+            }
+        }
+        if (skipped > 0) {
+            logger.warn("Índice de sugestões cheio ({} termos); {} termos novos não foram indexados.", maxTerms, skipped);
+        }
+        return merged.toArray(Term[]::new);
+    }
+
+    private static void accumulate(Map<String, Term> byKey, Field field, String value) {
+        String key = normalize(value);
+        if (key.isEmpty()) {
+            return;
+        }
+        byKey.merge(field + ":" + key, new Term(key, field, value.trim(), 1),
+                (existing, added) -> new Term(key, field, existing.value(), existing.count() + 1));
+    }
+
+    /** Primeiro índice cuja chave é maior ou igual ao prefixo. */
+    private static int lowerBound(Term[] snapshot, String prefix) {
+        int low = 0;
+        int high = snapshot.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (snapshot[mid].key().compareTo(prefix) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(value, Normalizer.Form.NFD);
+        String stripped = DIACRITICS.matcher(decomposed).replaceAll("");
+        return WHITESPACE.matcher(stripped.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,334 @@
+package com.zoonosys.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zoonosys.dtos.ImportReportDTO;
+import com.zoonosys.dtos.ImportRowErrorDTO;
+import com.zoonosys.enums.ImportFormat;
+import com.zoonosys.exceptions.BadRequestException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Leitura e gravação comuns às importações em lote. O arquivo (CSV ou NDJSON) é lido registro a registro, com
+ * memória constante; cada registro vira um DTO, é preparado pelo {@link Handler} do recurso e acumulado até
+ * {@code batchSize} itens, gravados numa única transação. Se o banco recusar o lote, suas linhas são regravadas uma
+ * a uma para identificar as recusadas. Os erros por linha vão para o relatório, limitados a {@code maxErrors}.
+ *
+ * @param <D> O DTO lido de cada registro.
+ * @param <E> O item preparado que aguarda no lote.
+ * @param <T> A entidade gravada.
+ */
+final class BatchImporter<D, E, T> {
+    private static final Logger logger = LoggerFactory.getLogger(BatchImporter.class);
+
+    private static final int MAX_FIELD_LENGTH = 10_000;
+
+    /**
+     * O que muda de um recurso para outro: o mapeamento das colunas, a validação e a montagem das entidades.
+     */
+    interface Handler<D, E, T> {
+
+        /**
+         * Monta o DTO a partir de um registro CSV; use {@link BatchImporter#text} para ler as colunas.
+         *
+         * @throws BadRequestException se algum valor for inválido; a linha é recusada.
+         */
+        D fromCsv(List<String> record, Map<String, Integer> columns);
+
+        /**
+         * Valida o DTO e o converte no item do lote.
+         *
+         * @throws BadRequestException se o registro for inválido; a linha é recusada.
+         */
+        E prepare(D dto);
+
+        /**
+         * Monta as entidades de um lote completo, na mesma ordem.
+         */
+        List<T> toEntities(List<E> batch);
+
+        /**
+         * Retorna a entidade a regravar sozinha depois que o lote foi recusado pelo banco.
+         *
+         * @param item O item do lote.
+         * @param rejected A entidade do lote recusado, que pode ter ficado com estado da sessão descartada.
+         */
+        T retry(E item, T rejected);
+
+        /**
+         * Mensagem de erro da linha recusada pelo banco na gravação individual.
+         */
+        default String rejection(DataAccessException failure) {
+            return "Recusado pelo banco de dados: " + rootMessage(failure);
+        }
+
+        /**
+         * Chamado ao fim da importação (mesmo interrompida) se algum registro foi gravado.
+         */
+        default void afterImport() {
+        }
+    }
+
+    private final String label;
+
+    private final Class<D> type;
+
+    private final Set<String> requiredColumns;
+
+    private final JpaRepository<T, Long> repository;
+
+    private final ObjectMapper objectMapper;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final int batchSize;
+
+    private final long maxRows;
+
+    private final int maxErrors;
+
+    private final Counter importedRows;
+
+    private final Counter rejectedRows;
+
+    /**
+     * @param metricPrefix Prefixo da métrica {@code <prefixo>.import.rows}.
+     * @param label O nome do recurso nos logs, no plural.
+     */
+    BatchImporter(
+            String metricPrefix,
+            String label,
+            Class<D> type,
+            Set<String> requiredColumns,
+            JpaRepository<T, Long> repository,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            int batchSize,
+            long maxRows,
+            int maxErrors) {
+        this.label = label;
+        this.type = type;
+        this.requiredColumns = requiredColumns;
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxRows = maxRows;
+        this.maxErrors = maxErrors;
+        this.importedRows = Counter.builder(metricPrefix + ".import.rows")
+                .tag("result", "imported")
+                .description("Registros de importação de " + label)
+                .register(meterRegistry);
+        this.rejectedRows = Counter.builder(metricPrefix + ".import.rows")
+                .tag("result", "rejected")
+                .description("Registros de importação de " + label)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Importa os registros do arquivo.
+     *
+     * @param content O arquivo, em UTF-8.
+     * @param format O formato do arquivo.
+     * @param handler O mapeamento do recurso.
+     * @return O relatório com os totais e os erros por linha.
+     * @throws BadRequestException se o arquivo estiver malformado (cabeçalho, aspas) ou exceder o limite de linhas;
+     *                             os lotes gravados até esse ponto permanecem.
+     */
+    ImportReportDTO run(InputStream content, ImportFormat format, Handler<D, E, T> handler) throws IOException {
+        ImportRun run = new ImportRun(handler);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(content, StandardCharsets.UTF_8))) {
+            if (format == ImportFormat.CSV) {
+                readCsv(reader, run);
+            } else {
+                readNdjson(reader, run);
+            }
+            run.flush();
+        } finally {
+            if (run.imported > 0) {
+                handler.afterImport();
+            }
+        }
+        logger.info("Importação de {}: {} registros lidos, {} gravados, {} recusados.",
+                label, run.rows, run.imported, run.rejected);
+        return run.report();
+    }
+
+    private void readCsv(BufferedReader reader, ImportRun run) throws IOException {
+        CsvReader csv = new CsvReader(reader, CsvReader.detectSeparator(reader, MAX_FIELD_LENGTH), MAX_FIELD_LENGTH);
+        List<String> header = csv.next();
+        if (header == null) {
+            throw new BadRequestException("Arquivo CSV vazio.");
+        }
+
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT);
+            columns.put(name, i);
+        }
+        List<String> missing = requiredColumns.stream().filter(column -> !columns.containsKey(column)).sorted().toList();
+        if (!missing.isEmpty()) {
+            throw new BadRequestException("Colunas obrigatórias ausentes no CSV: " + String.join(", ", missing));
+        }
+
+        List<String> fields;
+        while ((fields = csv.next()) != null) {
+            if (fields.size() == 1 && fields.get(0).isBlank()) {
+                continue;
+            }
+            List<String> row = fields;
+            run.accept(csv.recordLine(), () -> run.handler.fromCsv(row, columns));
+        }
+    }
+
+    private void readNdjson(BufferedReader reader, ImportRun run) throws IOException {
+        String json;
+        long line = 0;
+        while ((json = reader.readLine()) != null) {
+            line++;
+            if (json.isBlank()) {
+                continue;
+            }
+            String row = json;
+            run.accept(line, () -> {
+                try {
+                    return objectMapper.readValue(row, type);
+                } catch (JsonProcessingException e) {
+                    throw new BadRequestException("JSON inválido: " + e.getOriginalMessage());
+                }
+            });
+        }
+    }
+
+    private interface RowParser<R> {
+        R parse();
+    }
+
+    /**
+     * Estado de uma importação: o lote pendente e os contadores.
+     */
+    private final class ImportRun {
+        private final Handler<D, E, T> handler;
+
+        private final List<E> batch = new ArrayList<>(batchSize);
+
+        private final List<Long> batchLines = new ArrayList<>(batchSize);
+
+        private final List<ImportRowErrorDTO> errors = new ArrayList<>();
+
+        private long rows;
+
+        private long imported;
+
+        private long rejected;
+
+        private ImportRun(Handler<D, E, T> handler) {
+            this.handler = handler;
+        }
+
+        void accept(long line, RowParser<D> parser) {
+            if (++rows > maxRows) {
+                throw new BadRequestException("Arquivo excede o limite de " + maxRows + " registros por importação.");
+            }
+            E item;
+            try {
+                item = handler.prepare(parser.parse());
+            } catch (BadRequestException e) {
+                reject(line, e.getMessage());
+                return;
+            }
+            batch.add(item);
+            batchLines.add(line);
+            if (batch.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            List<T> entities = handler.toEntities(batch);
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    repository.saveAll(entities);
+                    repository.flush();
+                });
+                imported += entities.size();
+                importedRows.increment(entities.size());
+            } catch (DataAccessException e) {
+                logger.warn("Lote de importação de {} recusado pelo banco ({}); gravando linha a linha.", label, rootMessage(e));
+                for (int i = 0; i < batch.size(); i++) {
+                    T entity = handler.retry(batch.get(i), entities.get(i));
+                    try {
+                        transactionTemplate.executeWithoutResult(status -> repository.saveAndFlush(entity));
+                        imported++;
+                        importedRows.increment();
+                    } catch (DataAccessException rowFailure) {
+                        reject(batchLines.get(i), handler.rejection(rowFailure));
+                    }
+                }
+            }
+            batch.clear();
+            batchLines.clear();
+        }
+
+        private void reject(long line, String message) {
+            rejected++;
+            rejectedRows.increment();
+            if (errors.size() < maxErrors) {
+                errors.add(new ImportRowErrorDTO(line, message));
+            }
+        }
+
+        ImportReportDTO report() {
+            return new ImportReportDTO(rows, imported, errors, rejected > errors.size());
+        }
+    }
+
+    /**
+     * Valor da coluna no registro CSV, sem espaços nas pontas; {@code null} se a coluna não existir ou estiver vazia.
+     */
+    static String text(List<String> record, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    static void requireValue(Object value, String field) {
+        if (value == null || (value instanceof String text && text.isBlank())) {
+            throw new BadRequestException(field + ": campo obrigatório.");
+        }
+    }
+
+    static String rootMessage(Throwable failure) {
+        Throwable cause = failure;
+        while (cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause.getMessage();
+    }
+}
@@ -1,5 +1,7 @@
 package com.zoonosys.services;
 
+import com.zoonosys.dtos.Cursor;
+import com.zoonosys.dtos.CursorPageDTO;
 import com.zoonosys.dtos.RegisterCampaignsDTO;
 import com.zoonosys.dtos.UpdateCampaignsDTO;
 import com.zoonosys.exceptions.ResourceNotFoundException;
@@ -8,7 +10,9 @@ import com.zoonosys.models.User;
 import com.zoonosys.repositories.CampaignsRepository;
 import com.zoonosys.security.SecuritySanitizer;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
@@ -18,18 +22,25 @@ import java.util.Optional;
 
 @Service
 public class CampaignsService {
+    private static final String PAGE_KEY = "campaigns";
+
     private final CampaignsRepository campaignsRepository;
     private final SecuritySanitizer sanitizer;
+    private final PagedQueryExecutor pagedQueryExecutor;
+    private final ImageStorageService imageStorage;
 
     /**
      * Construtor para injeção de dependência do repositório.
      * @param campaignsRepository O repositório de dados para acesso à tabela de campanhas.
      */
     @Autowired
-    public CampaignsService(CampaignsRepository campaignsRepository, SecuritySanitizer sanitizer) {
+    public CampaignsService(CampaignsRepository campaignsRepository, SecuritySanitizer sanitizer, PagedQueryExecutor pagedQueryExecutor,
+                            ImageStorageService imageStorage) {
         this.campaignsRepository =  campaignsRepository;
+        this.imageStorage = imageStorage;
 
         this.sanitizer = sanitizer;
+        this.pagedQueryExecutor = pagedQueryExecutor;
     }
 
     public Campaigns register(RegisterCampaignsDTO registerCampaignsDTO, User authenticatedUser){
@@ -39,6 +50,7 @@ public class CampaignsService {
                 .startDateTime(registerCampaignsDTO.startDateTime())
                 .endDateTime(registerCampaignsDTO.endDateTime().orElse(null))
                 .imageUrl(registerCampaignsDTO.imageUrl().orElse(null))
+                .imageId(imageStorage.requireExisting(registerCampaignsDTO.imageId().orElse(null)))
                 .build();
 
         campaigns.setUser(authenticatedUser);
@@ -51,7 +63,9 @@ public class CampaignsService {
         campaigns.setName(sanitizedName);
         campaigns.setDescription(sanitizedDescription);
 
-        return campaignsRepository.save(campaigns);
+        Campaigns saved = campaignsRepository.save(campaigns);
+        pagedQueryExecutor.invalidate(PAGE_KEY);
+        return saved;
     }
 
     /**
@@ -61,7 +75,22 @@ public class CampaignsService {
      * @return Um objeto {@link Page<  Campaigns  >} com as campanhas e metadados de paginação.
      */
     public Page<Campaigns> findAll(Pageable pageable){
-        return campaignsRepository.findAll(pageable);
+        return pagedQueryExecutor.page(PAGE_KEY, pageable, campaignsRepository::findAllBy, campaignsRepository::count);
+    }
+
+    /**
+     * Busca as campanhas com paginação por cursor, das mais recentes para as mais antigas, sem contagem.
+     *
+     * @param after Cursor da página anterior, ou {@code null} para a primeira página.
+     * @param size Tamanho da página (limitado a {@value CursorPageDTO#MAX_SIZE}).
+     * @return A página e o cursor da próxima.
+     */
+    public CursorPageDTO<Campaigns> findAll(Cursor after, int size) {
+        int limit = CursorPageDTO.clampSize(size);
+        List<Campaigns> rows = after == null
+                ? campaignsRepository.findFirstPage(Limit.of(limit + 1))
+                : campaignsRepository.findPageAfter(after.createdAt(), after.id(), Limit.of(limit + 1));
+        return CursorPageDTO.of(rows, limit, campaigns -> Cursor.of(campaigns.getCreatedAt(), campaigns.getId()));
     }
 
     /**
@@ -75,13 +104,14 @@ public class CampaignsService {
     }
 
     /**
-     * Busca e retorna uma lista de campanhas cujos títulos contenham a string de busca (case-insensitive).
+     * Busca campanhas por texto no nome e na descrição, ordenadas por relevância.
      *
-     * @param name A string de busca para o nome da campanha.
-     * @return Uma lista de objetos {@link Campaigns} que correspondem ao critério de busca.
+     * @param query O texto de busca.
+     * @param pageable A página desejada (a ordenação informada é ignorada).
+     * @return Uma página de campanhas que correspondem à busca.
      */
-    public List<Campaigns> findByNameContainingIgnoreCase(String name){
-        return campaignsRepository.findByNameContainingIgnoreCase(name);
+    public Page<Campaigns> search(String query, Pageable pageable){
+        return campaignsRepository.search(query, PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()));
     }
 
     /**
@@ -102,6 +132,7 @@ public class CampaignsService {
         campaigns.setUpdatedAt(updateCampaignsDTO.startDateTime());
 
         updateCampaignsDTO.imageUrl().ifPresent(campaigns::setImageUrl);
+        updateCampaignsDTO.imageId().map(imageStorage::requireExisting).ifPresent(campaigns::setImageId);
 
         String sanitizedName = sanitizer.sanitize(campaigns.getName());
         String sanitizedDescription = sanitizer.sanitize(campaigns.getDescription());
@@ -124,5 +155,6 @@ public class CampaignsService {
             throw new ResourceNotFoundException("Campanha não encontrada com o ID: " + id);
         }
         campaignsRepository.deleteById(id);
+        pagedQueryExecutor.invalidate(PAGE_KEY);
     }
 }
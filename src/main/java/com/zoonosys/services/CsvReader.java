@@ -0,0 +1,136 @@
+package com.zoonosys.services;
+
+import com.zoonosys.exceptions.BadRequestException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Leitor incremental de CSV (RFC 4180): campos separados por vírgula ou ponto e vírgula, aspas duplas para campos com
+ * separador, quebra de linha ou aspas ({@code ""}). Lê um registro por vez, sem carregar o arquivo em memória.
+ */
+final class CsvReader {
+
+    private final Reader reader;
+
+    private final char separator;
+
+    private final int maxFieldLength;
+
+    private long line = 1;
+
+    private long recordLine;
+
+    private int pushedBack = -2;
+
+    CsvReader(Reader reader, char separator, int maxFieldLength) {
+        this.reader = reader;
+        this.separator = separator;
+        this.maxFieldLength = maxFieldLength;
+    }
+
+    /**
+     * Separador do arquivo: ponto e vírgula (padrão das planilhas em português) se aparecer no cabeçalho sem vírgulas;
+     * senão, vírgula. Lê o cabeçalho sem consumi-lo.
+     *
+     * @param reader O leitor, posicionado no início do arquivo.
+     * @param readAheadLimit O tamanho máximo do cabeçalho examinado.
+     */
+    static char detectSeparator(BufferedReader reader, int readAheadLimit) throws IOException {
+        reader.mark(readAheadLimit);
+        String header = reader.readLine();
+        reader.reset();
+        return header != null && header.indexOf(';') >= 0 && header.indexOf(',') < 0 ? ';' : ',';
+    }
+
+    /** Linha do arquivo em que começou o último registro lido (a partir de 1). */
+    long recordLine() {
+        return recordLine;
+    }
+
+    /**
+     * Lê o próximo registro.
+     *
+     * @return Os campos, ou {@code null} no fim do arquivo.
+     * @throws IOException em falha de leitura.
+     * @throws BadRequestException se o registro estiver malformado ou tiver um campo maior que o limite.
+     */
+    List<String> next() throws IOException {
+        recordLine = line;
+        int c = read();
+        if (c == -1) {
+            return null;
+        }
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new BadRequestException("Aspas não fechadas no registro da linha " + recordLine + ".");
+                }
+                if (c == '"') {
+                    int following = read();
+                    if (following == '"') {
+                        append(field, '"');
+                    } else {
+                        quoted = false;
+                        c = following;
+                        continue;
+                    }
+                } else {
+                    append(field, (char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == separator) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                if (c == '\r') {
+                    int following = read();
+                    if (following != '\n') {
+                        unread(following);
+                    }
+                }
+                fields.add(field.toString());
+                return fields;
+            } else {
+                append(field, (char) c);
+            }
+            c = read();
+        }
+    }
+
+    private void append(StringBuilder field, char c) {
+        if (field.length() >= maxFieldLength) {
+            throw new BadRequestException("Campo com mais de " + maxFieldLength + " caracteres no registro da linha " + recordLine + ".");
+        }
+        field.append(c);
+    }
+
+    private int read() throws IOException {
+        int c;
+        if (pushedBack != -2) {
+            c = pushedBack;
+            pushedBack = -2;
+        } else {
+            c = reader.read();
+        }
+        if (c == '\n') {
+            line++;
+        }
+        return c;
+    }
+
+    private void unread(int c) {
+        if (c == '\n') {
+            line--;
+        }
+        pushedBack = c;
+    }
+}
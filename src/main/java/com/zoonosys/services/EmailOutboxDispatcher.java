@@ -0,0 +1,218 @@
+package com.zoonosys.services;
+
+import com.zoonosys.enums.EmailOutboxStatus;
+import com.zoonosys.exceptions.ServiceUnavailableException;
+import com.zoonosys.models.EmailOutbox;
+import com.zoonosys.repositories.EmailOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Drena a outbox de e-mails. Cada ciclo reivindica um lote com {@code FOR UPDATE SKIP LOCKED}, marcando as linhas
+ * como {@code SENDING} por um período de reserva, e envia o lote fora da transação reutilizando uma única conexão SMTP.
+ * Falhas voltam para {@code PENDING} com backoff exponencial; após o limite de tentativas a mensagem fica {@code DEAD}.
+ * Se o nó cair no meio do envio, a reserva expira e outro nó reenvia a mensagem (entrega pelo menos uma vez).
+ * Enquanto o disjuntor SMTP estiver aberto nenhum lote é reivindicado, e mensagens recusadas pelo disjuntor
+ * voltam para a fila sem consumir tentativas.
+ * As variáveis do template (que incluem o token de redefinição de senha) são apagadas assim que a mensagem é enviada
+ * ou descartada; só os metadados ficam na tabela durante a retenção.
+ */
+@Component
+public class EmailOutboxDispatcher {
+    private static final Logger logger = LoggerFactory.getLogger(EmailOutboxDispatcher.class);
+
+    private static final Duration MAX_BACKOFF = Duration.ofHours(1);
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    /** Payload gravado no lugar das variáveis quando a mensagem não será mais enviada. */
+    private static final String PURGED_PAYLOAD = "{}";
+
+    private final EmailOutboxRepository outboxRepository;
+
+    private final EmailService emailService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final int batchSize;
+
+    private final int maxAttempts;
+
+    private final Duration baseBackoff;
+
+    private final Duration lease;
+
+    private final Duration retention;
+
+    private final Counter sent;
+
+    private final Counter failed;
+
+    private final Counter dead;
+
+    public EmailOutboxDispatcher(
+            EmailOutboxRepository outboxRepository,
+            EmailService emailService,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.mail.outbox.batch-size:50}") int batchSize,
+            @Value("${app.mail.outbox.max-attempts:6}") int maxAttempts,
+            @Value("${app.mail.outbox.base-backoff:30s}") Duration baseBackoff,
+            @Value("${app.mail.outbox.lease:2m}") Duration lease,
+            @Value("${app.mail.outbox.retention:7d}") Duration retention) {
+        this.outboxRepository = outboxRepository;
+        this.emailService = emailService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.baseBackoff = baseBackoff;
+        this.lease = lease;
+        this.retention = retention;
+
+        this.sent = Counter.builder("email.outbox.sent").register(meterRegistry);
+        this.failed = Counter.builder("email.outbox.failed").register(meterRegistry);
+        this.dead = Counter.builder("email.outbox.dead").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.mail.outbox.poll-interval-ms:5000}")
+    public void dispatch() {
+        while (emailService.isAvailable()) {
+            List<EmailOutbox> batch = claimBatch();
+            if (batch.isEmpty()) {
+                return;
+            }
+            sendBatch(batch);
+            if (batch.size() < batchSize) {
+                return;
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.mail.outbox.prune-interval-ms:3600000}")
+    public void pruneSent() {
+        int removed = outboxRepository.deleteSentBefore(Instant.now().minus(retention));
+        if (removed > 0) {
+            logger.info("{} e-mails enviados removidos da outbox.", removed);
+        }
+    }
+
+    private List<EmailOutbox> claimBatch() {
+        return transactionTemplate.execute(status -> {
+            Instant now = Instant.now();
+            List<EmailOutbox> claimed = outboxRepository.lockNextBatch(now, batchSize);
+            for (EmailOutbox outbox : claimed) {
+                outbox.setStatus(EmailOutboxStatus.SENDING);
+                outbox.setLockedUntil(now.plus(lease));
+                outbox.setAttempts(outbox.getAttempts() + 1);
+            }
+            return outboxRepository.saveAll(claimed);
+        });
+    }
+
+    private void sendBatch(List<EmailOutbox> batch) {
+        Map<String, Map<MimeMessage, EmailOutbox>> byTemplate = new LinkedHashMap<>();
+        Map<EmailOutbox, String> failures = new IdentityHashMap<>();
+        Set<EmailOutbox> deferred = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        for (EmailOutbox outbox : batch) {
+            try {
+                MimeMessage message = emailService.render(outbox);
+                byTemplate.computeIfAbsent(outbox.getTemplate(), t -> new IdentityHashMap<>()).put(message, outbox);
+            } catch (Exception e) {
+                failures.put(outbox, describe(e));
+            }
+        }
+
+        byTemplate.forEach((template, byMessage) -> {
+            try {
+                emailService.send(template, byMessage.keySet().toArray(new MimeMessage[0]));
+            } catch (ServiceUnavailableException e) {
+                deferred.addAll(byMessage.values());
+            } catch (MailSendException e) {
+                if (e.getFailedMessages().isEmpty()) {
+                    byMessage.values().forEach(outbox -> failures.put(outbox, describe(e)));
+                } else {
+                    e.getFailedMessages().forEach((message, cause) -> {
+                        EmailOutbox outbox = byMessage.get(message);
+                        if (outbox != null) {
+                            failures.put(outbox, describe(cause));
+                        }
+                    });
+                }
+            } catch (MailException e) {
+                byMessage.values().forEach(outbox -> failures.put(outbox, describe(e)));
+            }
+        });
+
+        complete(batch, failures, deferred);
+    }
+
+    private void complete(List<EmailOutbox> batch, Map<EmailOutbox, String> failures, Set<EmailOutbox> deferred) {
+        Instant now = Instant.now();
+        List<EmailOutbox> updated = new ArrayList<>(batch.size());
+
+        for (EmailOutbox outbox : batch) {
+            String error = failures.get(outbox);
+            outbox.setLockedUntil(null);
+            if (deferred.contains(outbox)) {
+                // Recusada antes de chegar ao servidor: devolve a tentativa.
+                outbox.setStatus(EmailOutboxStatus.PENDING);
+                outbox.setAttempts(outbox.getAttempts() - 1);
+                outbox.setNextAttemptAt(now);
+            } else if (error == null) {
+                outbox.setStatus(EmailOutboxStatus.SENT);
+                outbox.setSentAt(now);
+                outbox.setLastError(null);
+                outbox.setPayload(PURGED_PAYLOAD);
+                sent.increment();
+            } else if (outbox.getAttempts() >= maxAttempts) {
+                outbox.setStatus(EmailOutboxStatus.DEAD);
+                outbox.setLastError(error);
+                outbox.setPayload(PURGED_PAYLOAD);
+                dead.increment();
+                logger.error("E-mail {} para {} descartado após {} tentativas: {}",
+                        outbox.getId(), outbox.getRecipient(), outbox.getAttempts(), error);
+            } else {
+                outbox.setStatus(EmailOutboxStatus.PENDING);
+                outbox.setNextAttemptAt(now.plus(backoff(outbox.getAttempts())));
+                outbox.setLastError(error);
+                failed.increment();
+                logger.warn("Falha ao enviar e-mail {} para {} (tentativa {}): {}",
+                        outbox.getId(), outbox.getRecipient(), outbox.getAttempts(), error);
+            }
+            updated.add(outbox);
+        }
+
+        transactionTemplate.executeWithoutResult(status -> outboxRepository.saveAll(updated));
+    }
+
+    private Duration backoff(int attempts) {
+        Duration delay = baseBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : delay;
+    }
+
+    private static String describe(Exception e) {
+        String message = e.getClass().getSimpleName() + ": " + e.getMessage();
+        return message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+}
@@ -1,10 +1,22 @@
 package com.zoonosys.services;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zoonosys.exceptions.ServiceUnavailableException;
+import com.zoonosys.models.EmailOutbox;
+import com.zoonosys.repositories.EmailOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.mail.internet.MimeMessage;
 import org.slf4j.LoggerFactory;
 import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailAuthenticationException;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import jakarta.mail.MessagingException;
@@ -12,13 +24,44 @@ import org.springframework.stereotype.Service;
 import org.thymeleaf.context.Context;
 import org.thymeleaf.spring6.SpringTemplateEngine;
 
+import java.time.Duration;
 import java.util.Locale;
-
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serviço de e-mail. As mensagens não são enviadas na requisição: são gravadas em {@code tb_email_outbox}
+ * na transação do chamador e enviadas em lote pelo {@link EmailOutboxDispatcher}.
+ * O envio passa por um {@link MailCircuitBreaker} e por um limite de envios simultâneos, e publica a latência
+ * ({@code email.send.duration}) e as falhas ({@code email.send.failures}) por template.
+ */
 @Service
 public class EmailService {
 
+    public static final String PASSWORD_RESET_TEMPLATE = "reset-password-email";
+
+    private static final Map<String, String> SUBJECTS = Map.of(
+            PASSWORD_RESET_TEMPLATE, "Recuperação de Senha - ZoonoSys"
+    );
+
     private final JavaMailSender emailSender;
 
+    private final EmailOutboxRepository outboxRepository;
+
+    private final ObjectMapper objectMapper;
+
+    private final MailCircuitBreaker circuitBreaker;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Semaphore sendPermits;
+
+    private final Duration queueTimeout;
+
+    private final Map<String, Timer> sendTimers = new ConcurrentHashMap<>();
+
     @Autowired
     private SpringTemplateEngine templateEngine;
 
@@ -28,37 +71,173 @@ public class EmailService {
     @Value("${app.frontend-url}")
     private String frontendBaseUrl;
 
-    public EmailService(JavaMailSender emailSender) {
+    public EmailService(
+            JavaMailSender emailSender,
+            EmailOutboxRepository outboxRepository,
+            ObjectMapper objectMapper,
+            MailCircuitBreaker circuitBreaker,
+            MeterRegistry meterRegistry,
+            @Value("${app.mail.send.max-concurrent:4}") int maxConcurrentSends,
+            @Value("${app.mail.send.queue-timeout:2s}") Duration queueTimeout) {
         this.emailSender = emailSender;
+        this.outboxRepository = outboxRepository;
+        this.objectMapper = objectMapper;
+        this.circuitBreaker = circuitBreaker;
+        this.meterRegistry = meterRegistry;
+        this.sendPermits = new Semaphore(maxConcurrentSends, true);
+        this.queueTimeout = queueTimeout;
     }
 
     private static final Logger logger = LoggerFactory.getLogger(EmailService.class);
 
-    public void sendPasswordResetEmail(String toEmail, String username, String resetToken){
-        String resetUrl = "http://localhost:8080/reset-password?token=" + resetToken;
+    /**
+     * Enfileira o e-mail de redefinição de senha na outbox, dentro da transação corrente.
+     *
+     * @param toEmail O destinatário.
+     * @param username O nome exibido na mensagem.
+     * @param resetToken O token de redefinição.
+     */
+    public void enqueuePasswordResetEmail(String toEmail, String username, String resetToken){
+        enqueue(PASSWORD_RESET_TEMPLATE, toEmail, Map.of(
+                "userName", username,
+                "token", resetToken
+        ));
+    }
+
+    /**
+     * Renderiza a mensagem da outbox com o template correspondente.
+     *
+     * @param outbox A mensagem enfileirada.
+     * @return A mensagem MIME pronta para envio.
+     * @throws MessagingException se a mensagem não puder ser montada.
+     */
+    public MimeMessage render(EmailOutbox outbox) throws MessagingException {
+        Map<String, String> variables = readPayload(outbox.getPayload());
 
         MimeMessage message = emailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+
+        helper.setFrom(fromAddress);
+        helper.setTo(outbox.getRecipient());
+        helper.setSubject(SUBJECTS.getOrDefault(outbox.getTemplate(), "ZoonoSys"));
+
+        Context context = new Context(new Locale("pt", "BR"));
+        variables.forEach(context::setVariable);
+        if (PASSWORD_RESET_TEMPLATE.equals(outbox.getTemplate())) {
+            context.setVariable("resetUrl", "http://localhost:8080/reset-password?token=" + variables.get("token"));
+        }
+
+        helper.setText(templateEngine.process(outbox.getTemplate(), context), true);
+        return message;
+    }
+
+    /**
+     * Indica se o servidor SMTP está aceitando envios (disjuntor fechado ou pronto para uma tentativa de teste).
+     */
+    public boolean isAvailable() {
+        return circuitBreaker.isCallPermitted();
+    }
 
+    /**
+     * Envia as mensagens de um mesmo template reutilizando uma única conexão SMTP para todo o lote.
+     *
+     * @param template O template das mensagens, usado nas métricas.
+     * @param messages As mensagens renderizadas.
+     * @throws ServiceUnavailableException se o disjuntor estiver aberto ou o limite de envios simultâneos for excedido;
+     *         nesse caso nenhuma mensagem foi enviada.
+     * @throws MailSendException com as mensagens que falharam.
+     */
+    public void send(String template, MimeMessage... messages) {
+        acquirePermit(template);
         try {
-            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+            if (!circuitBreaker.tryAcquire()) {
+                failureCounter(template, "circuit-open").increment(messages.length);
+                throw new ServiceUnavailableException("Servidor de e-mail indisponível.");
+            }
+
+            Timer.Sample sample = Timer.start(meterRegistry);
+            try {
+                emailSender.send(messages);
+                circuitBreaker.onSuccess();
+            } catch (MailSendException e) {
+                int failed = e.getFailedMessages().isEmpty() ? messages.length : e.getFailedMessages().size();
+                // Falha de apenas parte dos destinatários não indica problema no servidor.
+                if (failed < messages.length) {
+                    circuitBreaker.onSuccess();
+                } else {
+                    circuitBreaker.onFailure();
+                }
+                failureCounter(template, "send").increment(failed);
+                throw e;
+            } catch (MailException e) {
+                circuitBreaker.onFailure();
+                String reason = e instanceof MailAuthenticationException ? "authentication" : "transport";
+                failureCounter(template, reason).increment(messages.length);
+                throw e;
+            } catch (RuntimeException | Error e) {
+                // Qualquer outro erro também encerra a tentativa; sem isso o circuito ficaria meio-aberto para sempre.
+                circuitBreaker.onFailure();
+                failureCounter(template, "error").increment(messages.length);
+                throw e;
+            } finally {
+                sample.stop(sendTimer(template));
+            }
+        } finally {
+            sendPermits.release();
+        }
+    }
 
-            helper.setFrom(fromAddress);
-            helper.setTo(toEmail);
-            helper.setSubject("Recuperação de Senha - ZoonoSys");
+    private void acquirePermit(String template) {
+        boolean acquired;
+        try {
+            acquired = sendPermits.tryAcquire(queueTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            failureCounter(template, "queue-full").increment();
+            throw new ServiceUnavailableException("Fila de envio de e-mails cheia.");
+        }
+    }
 
-            Context context = new Context(new Locale("pt", "BR"));
-            context.setVariable("userName", username);
-            context.setVariable("resetUrl", resetUrl);
-            context.setVariable("token", resetToken);
+    private Timer sendTimer(String template) {
+        return sendTimers.computeIfAbsent(template, name -> Timer.builder("email.send.duration")
+                .description("Duração de cada envio SMTP (lote de mensagens do mesmo template)")
+                .tag("template", name)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
 
-            String htmlContent = templateEngine.process("reset-password-email", context);
+    private Counter failureCounter(String template, String reason) {
+        return Counter.builder("email.send.failures")
+                .tag("template", template)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
 
-            helper.setText(htmlContent, true);
+    private void enqueue(String template, String recipient, Map<String, String> variables) {
+        EmailOutbox outbox = new EmailOutbox();
+        outbox.setTemplate(template);
+        outbox.setRecipient(recipient);
+        outbox.setPayload(writePayload(variables));
+        outboxRepository.save(outbox);
+        logger.debug("E-mail '{}' enfileirado para {}", template, recipient);
+    }
 
-            emailSender.send(message);
+    private String writePayload(Map<String, String> variables) {
+        try {
+            return objectMapper.writeValueAsString(variables);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar variáveis do e-mail.", e);
+        }
+    }
 
-        } catch (MessagingException e){
-            logger.error("Erro ao enviar e-mail de reset de senha para {}: {}", toEmail, e.getMessage(), e);
+    private Map<String, String> readPayload(String payload) {
+        try {
+            return objectMapper.readValue(payload, new TypeReference<Map<String, String>>() {});
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Variáveis do e-mail inválidas.", e);
         }
     }
 }
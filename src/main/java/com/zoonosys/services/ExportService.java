@@ -0,0 +1,232 @@
+package com.zoonosys.services;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.zoonosys.dtos.AnimalAdminSummaryDTO;
+import com.zoonosys.dtos.CampaignExportDTO;
+import com.zoonosys.dtos.NewsExportDTO;
+import com.zoonosys.exceptions.BadRequestException;
+import com.zoonosys.exceptions.TooManyRequestsException;
+import com.zoonosys.repositories.AnimalRepository;
+import com.zoonosys.repositories.CampaignsRepository;
+import com.zoonosys.repositories.NewsRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncManager;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.lang.reflect.RecordComponent;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Exportação completa de animais, notícias e campanhas em CSV ou NDJSON, opcionalmente compactada com gzip.
+ * Os registros são lidos por um cursor do banco ({@code Stream} do Spring Data com fetch size) e escritos direto na
+ * resposta, um a um, sem montar a lista inteira em memória. As consultas retornam DTOs (projeção por construtor), que
+ * não entram no contexto de persistência; por isso não há entidades a desanexar nem a limpar durante a leitura.
+ * O número de exportações simultâneas é limitado por {@code app.export.max-concurrent}, pois cada uma ocupa uma
+ * conexão do pool enquanto durar.
+ */
+@Service
+public class ExportService {
+
+    public enum Resource {
+        ANIMALS, NEWS, CAMPAIGNS;
+
+        public static Resource fromPathSegment(String segment) {
+            try {
+                return valueOf(segment.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException("Recurso de exportação inválido: " + segment + ". Use animals, news ou campaigns.");
+            }
+        }
+
+        public String pathSegment() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    public enum Format {
+        CSV, NDJSON;
+
+        public static Format fromParameter(String parameter) {
+            try {
+                return valueOf(parameter.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException("Formato de exportação inválido: " + parameter + ". Use csv ou ndjson.");
+            }
+        }
+    }
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final AnimalRepository animalRepository;
+
+    private final NewsRepository newsRepository;
+
+    private final CampaignsRepository campaignsRepository;
+
+    private final ObjectWriter jsonWriter;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Semaphore permits;
+
+    private final MeterRegistry meterRegistry;
+
+    public ExportService(
+            AnimalRepository animalRepository,
+            NewsRepository newsRepository,
+            CampaignsRepository campaignsRepository,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.export.max-concurrent:2}") int maxConcurrent) {
+        this.animalRepository = animalRepository;
+        this.newsRepository = newsRepository;
+        this.campaignsRepository = campaignsRepository;
+        this.jsonWriter = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.permits = new Semaphore(maxConcurrent);
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Prepara a exportação de um recurso. A leitura só começa quando o corpo da resposta é escrito.
+     * A vaga de exportação é reservada aqui (para responder 429 antes de enviar os cabeçalhos) e liberada uma única
+     * vez: ao fim da escrita do corpo ou, se ele nunca chegar a rodar (cliente desconectado, timeout, erro no
+     * processamento assíncrono), no encerramento da requisição assíncrona.
+     *
+     * @param resource O recurso a exportar.
+     * @param format O formato de saída.
+     * @param gzip Se a saída deve ser compactada com gzip.
+     * @param asyncManager O gerenciador assíncrono da requisição, que notifica o encerramento.
+     * @return O corpo da resposta, que escreve os registros à medida que são lidos.
+     * @throws TooManyRequestsException se o limite de exportações simultâneas já estiver ocupado.
+     */
+    public StreamingResponseBody export(Resource resource, Format format, boolean gzip, WebAsyncManager asyncManager) {
+        if (!permits.tryAcquire()) {
+            throw new TooManyRequestsException("Limite de exportações simultâneas atingido. Tente novamente em instantes.");
+        }
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable release = () -> {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        };
+        asyncManager.registerCallableInterceptor(ExportService.class.getName(), new CallableProcessingInterceptor() {
+            @Override
+            public <T> void afterCompletion(NativeWebRequest request, Callable<T> task) {
+                release.run();
+            }
+        });
+
+        Counter exportedRows = Counter.builder("export.rows")
+                .tag("resource", resource.pathSegment())
+                .description("Registros exportados")
+                .register(meterRegistry);
+        return out -> {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    try (Stream<? extends Record> rows = open(resource)) {
+                        write(rows.iterator(), rowType(resource), format, gzip, out, exportedRows);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            } finally {
+                release.run();
+            }
+        };
+    }
+
+    private Stream<? extends Record> open(Resource resource) {
+        return switch (resource) {
+            case ANIMALS -> animalRepository.streamAllForExport();
+            case NEWS -> newsRepository.streamAllForExport();
+            case CAMPAIGNS -> campaignsRepository.streamAllForExport();
+        };
+    }
+
+    private static Class<? extends Record> rowType(Resource resource) {
+        return switch (resource) {
+            case ANIMALS -> AnimalAdminSummaryDTO.class;
+            case NEWS -> NewsExportDTO.class;
+            case CAMPAIGNS -> CampaignExportDTO.class;
+        };
+    }
+
+    private void write(
+            Iterator<? extends Record> rows,
+            Class<? extends Record> type,
+            Format format,
+            boolean gzip,
+            OutputStream out,
+            Counter exportedRows) throws IOException {
+        // O fluxo da resposta é fechado pelo Spring; aqui só se esvazia o buffer e se fecha o trailer do gzip.
+        GZIPOutputStream compressed = gzip ? new GZIPOutputStream(out, BUFFER_SIZE) : null;
+        Writer writer = new BufferedWriter(
+                new OutputStreamWriter(compressed != null ? compressed : out, StandardCharsets.UTF_8), BUFFER_SIZE);
+
+        if (format == Format.CSV) {
+            RecordComponent[] components = type.getRecordComponents();
+            CsvWriter csv = new CsvWriter(writer);
+            List<String> header = new ArrayList<>(components.length);
+            for (RecordComponent component : components) {
+                header.add(component.getName());
+            }
+            csv.writeRecord(header);
+            while (rows.hasNext()) {
+                csv.writeRecord(values(rows.next(), components));
+                exportedRows.increment();
+            }
+        } else {
+            while (rows.hasNext()) {
+                jsonWriter.writeValue(writer, rows.next());
+                writer.write('\n');
+                exportedRows.increment();
+            }
+        }
+
+        writer.flush();
+        if (compressed != null) {
+            compressed.finish();
+        }
+    }
+
+    private static List<Object> values(Record row, RecordComponent[] components) {
+        List<Object> values = new ArrayList<>(components.length);
+        for (RecordComponent component : components) {
+            try {
+                values.add(component.getAccessor().invoke(row));
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Falha ao ler o campo " + component.getName() + " para exportação.", e);
+            }
+        }
+        return values;
+    }
+}
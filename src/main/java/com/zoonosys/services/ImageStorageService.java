@@ -0,0 +1,374 @@
+package com.zoonosys.services;
+
+import com.zoonosys.enums.ImageVariant;
+import com.zoonosys.exceptions.BadRequestException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * Armazena imagens em disco endereçadas pelo SHA-256 do conteúdo ({@code <dir>/<2 primeiros>/<hash>/}): envios
+ * idênticos resultam no mesmo ID e em um único arquivo. As miniaturas ({@link ImageVariant}) são geradas em JPEG
+ * por um pool limitado, fora da thread da requisição; cada imagem é decodificada uma vez e reduzida para todos os
+ * tamanhos, e imagens diferentes são processadas em paralelo. Os arquivos são gravados em um temporário e movidos
+ * atomicamente, de modo que um arquivo visível está sempre completo e nunca muda.
+ * Enquanto a miniatura não existe, o original é servido em seu lugar (sem cache de longa duração).
+ */
+@Service
+public class ImageStorageService {
+    private static final Logger logger = LoggerFactory.getLogger(ImageStorageService.class);
+
+    private static final Pattern IMAGE_ID = Pattern.compile("[0-9a-f]{64}");
+
+    /** Formatos aceitos (nome do leitor ImageIO) e seus tipos de conteúdo. */
+    private static final Map<String, String> CONTENT_TYPES = Map.of(
+            "jpeg", "image/jpeg",
+            "png", "image/png",
+            "gif", "image/gif");
+
+    private static final String ORIGINAL = "original";
+
+    /**
+     * Arquivo a servir.
+     *
+     * @param path O caminho em disco.
+     * @param contentType O tipo de conteúdo.
+     * @param size O tamanho em bytes.
+     * @param immutable Se o arquivo é o definitivo para a URL pedida (pode ser cacheado indefinidamente).
+     */
+    public record StoredFile(Path path, String contentType, long size, boolean immutable) {}
+
+    private final Path root;
+
+    private final long maxPixels;
+
+    private final float jpegQuality;
+
+    private final ThreadPoolExecutor executor;
+
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+
+    private final Counter deduplicated;
+
+    private final Counter rejected;
+
+    private final Timer thumbnailDuration;
+
+    public ImageStorageService(
+            @Value("${app.images.dir:./data/images}") String dir,
+            @Value("${app.images.max-pixels:40000000}") long maxPixels,
+            @Value("${app.images.jpeg-quality:0.82}") float jpegQuality,
+            @Value("${app.images.thumbnail-threads:2}") int threads,
+            @Value("${app.images.thumbnail-queue-capacity:100}") int queueCapacity,
+            MeterRegistry meterRegistry) {
+        this.root = Paths.get(dir).toAbsolutePath().normalize();
+        this.maxPixels = maxPixels;
+        this.jpegQuality = jpegQuality;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "image-thumbnail-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.deduplicated = Counter.builder("images.uploads.deduplicated")
+                .description("Envios de imagens já armazenadas")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("images.thumbnails.rejected")
+                .description("Gerações de miniaturas recusadas por fila cheia (refeitas sob demanda)")
+                .register(meterRegistry);
+        this.thumbnailDuration = Timer.builder("images.thumbnails.duration")
+                .description("Tempo para gerar todas as miniaturas de uma imagem")
+                .register(meterRegistry);
+        Gauge.builder("images.thumbnails.queue", executor, pool -> pool.getQueue().size()).register(meterRegistry);
+    }
+
+    /**
+     * Armazena a imagem, calculando o hash enquanto o conteúdo é copiado para o disco, e agenda as miniaturas.
+     *
+     * @param content O conteúdo enviado.
+     * @return O ID da imagem (SHA-256 em hexadecimal).
+     * @throws BadRequestException se o conteúdo não for uma imagem JPEG, PNG ou GIF aceitável.
+     */
+    public String store(InputStream content) throws IOException {
+        Path tmpDir = Files.createDirectories(root.resolve("tmp"));
+        Path temp = Files.createTempFile(tmpDir, "upload-", ".part");
+        try {
+            MessageDigest digest = sha256();
+            try (DigestInputStream in = new DigestInputStream(content, digest)) {
+                Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            String imageId = HexFormat.of().formatHex(digest.digest());
+            String format = detectFormat(temp);
+
+            Path directory = directoryOf(imageId);
+            Path original = directory.resolve(ORIGINAL + "." + format);
+            if (Files.exists(original)) {
+                deduplicated.increment();
+            } else {
+                Files.createDirectories(directory);
+                try {
+                    Files.move(temp, original, StandardCopyOption.ATOMIC_MOVE);
+                } catch (FileAlreadyExistsException e) {
+                    // Envio idêntico concorrente: o outro já gravou o mesmo conteúdo.
+                    deduplicated.increment();
+                }
+            }
+            scheduleThumbnails(imageId, original);
+            return imageId;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Valida um ID de imagem informado em um cadastro.
+     *
+     * @param imageId O ID, ou {@code null}.
+     * @return O próprio ID.
+     * @throws BadRequestException se o ID for inválido ou a imagem não existir.
+     */
+    public String requireExisting(String imageId) {
+        if (imageId == null) {
+            return null;
+        }
+        if (!IMAGE_ID.matcher(imageId).matches() || findOriginal(imageId).isEmpty()) {
+            throw new BadRequestException("Imagem não encontrada: " + imageId);
+        }
+        return imageId;
+    }
+
+    /**
+     * Localiza o arquivo de um tamanho da imagem. Se a miniatura ainda não existir, agenda sua geração e devolve o
+     * original, marcado como não definitivo.
+     *
+     * @param imageId O ID da imagem.
+     * @param variant O tamanho.
+     * @return O arquivo, ou vazio se a imagem não existir.
+     */
+    public Optional<StoredFile> resolve(String imageId, ImageVariant variant) throws IOException {
+        if (!IMAGE_ID.matcher(imageId).matches()) {
+            return Optional.empty();
+        }
+        Optional<Path> original = findOriginal(imageId);
+        if (original.isEmpty()) {
+            return Optional.empty();
+        }
+
+        if (variant.isThumbnail()) {
+            Path thumbnail = directoryOf(imageId).resolve(variant.fileName());
+            if (Files.exists(thumbnail)) {
+                return Optional.of(new StoredFile(thumbnail, "image/jpeg", Files.size(thumbnail), true));
+            }
+            scheduleThumbnails(imageId, original.get());
+        }
+        Path path = original.get();
+        return Optional.of(new StoredFile(path, CONTENT_TYPES.get(formatOf(path)), Files.size(path), !variant.isThumbnail()));
+    }
+
+    private void scheduleThumbnails(String imageId, Path original) {
+        if (!pending.add(imageId)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    thumbnailDuration.record(() -> generateThumbnails(imageId, original));
+                } finally {
+                    pending.remove(imageId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pending.remove(imageId);
+            rejected.increment();
+            logger.warn("Fila de miniaturas cheia; imagem {} será processada quando for solicitada.", imageId);
+        }
+    }
+
+    private void generateThumbnails(String imageId, Path original) {
+        Path directory = directoryOf(imageId);
+        try {
+            BufferedImage source = null;
+            for (ImageVariant variant : ImageVariant.values()) {
+                Path target = directory.resolve(variant.fileName());
+                if (!variant.isThumbnail() || Files.exists(target)) {
+                    continue;
+                }
+                if (source == null) {
+                    source = ImageIO.read(original.toFile());
+                    if (source == null) {
+                        logger.warn("Imagem {} não pôde ser decodificada.", imageId);
+                        return;
+                    }
+                }
+                writeAtomically(scale(source, variant.width()), target);
+            }
+        } catch (IOException e) {
+            logger.error("Falha ao gerar miniaturas da imagem {}: {}", imageId, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Reduz a imagem para a largura pedida (sem ampliar), em etapas de metade do tamanho para preservar a qualidade
+     * com interpolação bilinear. A transparência é composta sobre fundo branco (JPEG não tem canal alfa).
+     */
+    private static BufferedImage scale(BufferedImage source, int maxWidth) {
+        int targetWidth = Math.min(maxWidth, source.getWidth());
+        int targetHeight = Math.max(1, Math.round((float) source.getHeight() * targetWidth / source.getWidth()));
+
+        BufferedImage current = source;
+        int width = source.getWidth();
+        int height = source.getHeight();
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            BufferedImage step = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = step.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.setColor(Color.WHITE);
+                graphics.fillRect(0, 0, width, height);
+                graphics.drawImage(current, 0, 0, width, height, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = step;
+        } while (width != targetWidth || height != targetHeight);
+        return current;
+    }
+
+    private void writeAtomically(BufferedImage image, Path target) throws IOException {
+        Path temp = Files.createTempFile(root.resolve("tmp"), "thumbnail-", ".part");
+        try {
+            ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+            try (ImageOutputStream out = ImageIO.createImageOutputStream(temp.toFile())) {
+                ImageWriteParam param = writer.getDefaultWriteParam();
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(jpegQuality);
+                param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+                writer.setOutput(out);
+                writer.write(null, new IIOImage(image, null, null), param);
+            } finally {
+                writer.dispose();
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Identifica o formato pelo conteúdo (não pela extensão ou cabeçalho do cliente) e verifica as dimensões
+     * antes de qualquer decodificação, recusando imagens grandes demais para descompactar em memória.
+     */
+    private String detectFormat(Path file) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(file.toFile())) {
+            Iterator<ImageReader> readers = in == null ? null : ImageIO.getImageReaders(in);
+            if (readers == null || !readers.hasNext()) {
+                throw new BadRequestException("Arquivo não é uma imagem suportada (JPEG, PNG ou GIF).");
+            }
+            ImageReader reader = readers.next();
+            try {
+                String format = reader.getFormatName().toLowerCase(Locale.ROOT);
+                if (format.equals("jpg")) {
+                    format = "jpeg";
+                }
+                if (!CONTENT_TYPES.containsKey(format)) {
+                    throw new BadRequestException("Arquivo não é uma imagem suportada (JPEG, PNG ou GIF).");
+                }
+                reader.setInput(in, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > maxPixels) {
+                    throw new BadRequestException("Imagem com resolução acima do limite de " + maxPixels + " pixels.");
+                }
+                return format;
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private Optional<Path> findOriginal(String imageId) {
+        Path directory = directoryOf(imageId);
+        if (!Files.isDirectory(directory)) {
+            return Optional.empty();
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, ORIGINAL + ".*")) {
+            Iterator<Path> iterator = files.iterator();
+            return iterator.hasNext() ? Optional.of(iterator.next()) : Optional.empty();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Path directoryOf(String imageId) {
+        return root.resolve(imageId.substring(0, 2)).resolve(imageId);
+    }
+
+    private static String formatOf(Path original) {
+        String name = original.getFileName().toString();
+        return name.substring(name.lastIndexOf('.') + 1);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
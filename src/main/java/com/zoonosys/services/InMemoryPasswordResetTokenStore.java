@@ -0,0 +1,137 @@
+package com.zoonosys.services;
+
+import com.zoonosys.models.PasswordResetToken;
+import com.zoonosys.models.User;
+import com.zoonosys.repositories.UserRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tokens mantidos apenas em memória, indexados pelo SHA-256 do valor (o token em claro não fica no heap).
+ * A expiração é feita por uma {@link TimingWheel} avançada periodicamente, e o número de entradas é limitado.
+ * Os tokens se perdem ao reiniciar a aplicação e não são vistos por outros nós: indicado apenas para
+ * implantações de um único nó. Como o mapa não participa da transação do chamador, as alterações são aplicadas
+ * só após o commit; se a transação for desfeita, o token anterior continua valendo.
+ */
+@Component
+@ConditionalOnProperty(name = "app.password-reset.store", havingValue = "memory")
+public class InMemoryPasswordResetTokenStore implements PasswordResetTokenStore {
+    private static final Logger logger = LoggerFactory.getLogger(InMemoryPasswordResetTokenStore.class);
+
+    private record Entry(String tokenHash, Long userId, LocalDateTime expiryDate, LocalDateTime createdAt) {}
+
+    private final Map<String, Entry> byHash = new ConcurrentHashMap<>();
+
+    private final Map<Long, String> byUser = new ConcurrentHashMap<>();
+
+    private final TimingWheel wheel;
+
+    private final UserRepository userRepository;
+
+    private final int maxEntries;
+
+    public InMemoryPasswordResetTokenStore(
+            UserRepository userRepository,
+            MeterRegistry meterRegistry,
+            @Value("${app.password-reset.memory.max-entries:100000}") int maxEntries,
+            @Value("${app.password-reset.memory.tick-ms:1000}") long tickMillis) {
+        this.userRepository = userRepository;
+        this.maxEntries = maxEntries;
+        this.wheel = new TimingWheel(tickMillis, 2, System.currentTimeMillis());
+        Gauge.builder("password_reset.tokens.active", byHash, Map::size).register(meterRegistry);
+    }
+
+    @Override
+    public boolean replace(User user, String token, LocalDateTime expiryDate) {
+        if (byHash.size() >= maxEntries && !byUser.containsKey(user.getId())) {
+            logger.warn("Capacidade de tokens de reset em memória esgotada ({}); pedido de {} descartado.",
+                    maxEntries, user.getEmail());
+            return false;
+        }
+
+        String tokenHash = hash(token);
+        Long userId = user.getId();
+        AfterCommit.run(() -> store(userId, tokenHash, expiryDate));
+        return true;
+    }
+
+    private synchronized void store(Long userId, String tokenHash, LocalDateTime expiryDate) {
+        String previous = byUser.put(userId, tokenHash);
+        if (previous != null) {
+            byHash.remove(previous);
+        }
+        byHash.put(tokenHash, new Entry(tokenHash, userId, expiryDate, LocalDateTime.now()));
+
+        long deadline = expiryDate.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        if (!wheel.schedule(tokenHash, deadline)) {
+            expire(tokenHash);
+        }
+    }
+
+    @Override
+    public Optional<PasswordResetToken> find(String token) {
+        Entry entry = byHash.get(hash(token));
+        if (entry == null) {
+            return Optional.empty();
+        }
+
+        PasswordResetToken resetToken = new PasswordResetToken();
+        resetToken.setToken(token);
+        // Referência carregada sob demanda, na transação do chamador.
+        resetToken.setUser(userRepository.getReferenceById(entry.userId()));
+        resetToken.setExpiryDate(entry.expiryDate());
+        resetToken.setCreatedAt(entry.createdAt());
+        return Optional.of(resetToken);
+    }
+
+    @Override
+    public void invalidateAllForUser(User user) {
+        Long userId = user.getId();
+        AfterCommit.run(() -> invalidate(userId));
+    }
+
+    private synchronized void invalidate(Long userId) {
+        String tokenHash = byUser.remove(userId);
+        if (tokenHash != null) {
+            byHash.remove(tokenHash);
+        }
+    }
+
+    @Scheduled(fixedRateString = "${app.password-reset.memory.tick-ms:1000}")
+    public synchronized void tick() {
+        wheel.advance(System.currentTimeMillis(), this::expire);
+    }
+
+    private void expire(String tokenHash) {
+        // Entradas substituídas ou invalidadas continuam na roda até o prazo; aqui são apenas ignoradas.
+        Entry entry = byHash.remove(tokenHash);
+        if (entry != null) {
+            byUser.remove(entry.userId(), tokenHash);
+        }
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("SHA-256 indisponível.", exception);
+        }
+    }
+}
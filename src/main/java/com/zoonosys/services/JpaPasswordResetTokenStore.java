@@ -0,0 +1,47 @@
+package com.zoonosys.services;
+
+import com.zoonosys.models.PasswordResetToken;
+import com.zoonosys.models.User;
+import com.zoonosys.repositories.PasswordResetTokenRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Tokens persistidos em {@code tb_password_reset_token}. Participa da transação do chamador
+ * e é compartilhado entre todos os nós.
+ */
+@Component
+@ConditionalOnProperty(name = "app.password-reset.store", havingValue = "jpa", matchIfMissing = true)
+public class JpaPasswordResetTokenStore implements PasswordResetTokenStore {
+
+    private final PasswordResetTokenRepository tokenRepository;
+
+    public JpaPasswordResetTokenStore(PasswordResetTokenRepository tokenRepository) {
+        this.tokenRepository = tokenRepository;
+    }
+
+    @Override
+    public boolean replace(User user, String token, LocalDateTime expiryDate) {
+        tokenRepository.deleteAllByUserAndUsedIsFalse(user);
+
+        PasswordResetToken resetToken = new PasswordResetToken();
+        resetToken.setToken(token);
+        resetToken.setUser(user);
+        resetToken.setExpiryDate(expiryDate);
+        tokenRepository.save(resetToken);
+        return true;
+    }
+
+    @Override
+    public Optional<PasswordResetToken> find(String token) {
+        return tokenRepository.findByToken(token);
+    }
+
+    @Override
+    public void invalidateAllForUser(User user) {
+        tokenRepository.deleteAllByUserAndUsedIsFalse(user);
+    }
+}
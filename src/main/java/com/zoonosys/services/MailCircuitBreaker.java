@@ -0,0 +1,92 @@
+package com.zoonosys.services;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Disjuntor para o servidor SMTP. Após um número de falhas consecutivas de transporte o circuito abre e os envios
+ * falham imediatamente; passado o tempo de espera, uma única tentativa de teste decide se o circuito fecha ou reabre.
+ */
+@Component
+public class MailCircuitBreaker {
+    private static final Logger logger = LoggerFactory.getLogger(MailCircuitBreaker.class);
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+
+    private final int failureThreshold;
+
+    private final Duration openDuration;
+
+    private volatile long openedAt;
+
+    public MailCircuitBreaker(
+            @Value("${app.mail.circuit-breaker.failure-threshold:5}") int failureThreshold,
+            @Value("${app.mail.circuit-breaker.open-duration:30s}") Duration openDuration,
+            MeterRegistry meterRegistry) {
+        this.failureThreshold = failureThreshold;
+        this.openDuration = openDuration;
+        Gauge.builder("email.circuit.state", state, s -> s.get().ordinal())
+                .description("Estado do disjuntor SMTP (0 = fechado, 1 = aberto, 2 = meio-aberto)")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Indica se um envio pode ser feito agora. No estado aberto, o primeiro chamador após o tempo de espera
+     * recebe {@code true} e passa a ser a tentativa de teste.
+     */
+    public boolean tryAcquire() {
+        State current = state.get();
+        if (current == State.CLOSED) {
+            return true;
+        }
+        if (current == State.OPEN && System.nanoTime() - openedAt >= openDuration.toNanos()) {
+            return state.compareAndSet(State.OPEN, State.HALF_OPEN);
+        }
+        return false;
+    }
+
+    /**
+     * Indica, sem consumir a tentativa de teste, se o circuito deixaria um envio passar.
+     */
+    public boolean isCallPermitted() {
+        State current = state.get();
+        return current == State.CLOSED
+                || (current == State.OPEN && System.nanoTime() - openedAt >= openDuration.toNanos());
+    }
+
+    public void onSuccess() {
+        consecutiveFailures.set(0);
+        if (state.getAndSet(State.CLOSED) != State.CLOSED) {
+            logger.info("Servidor SMTP respondeu; disjuntor fechado.");
+        }
+    }
+
+    public void onFailure() {
+        if (state.get() == State.HALF_OPEN || consecutiveFailures.incrementAndGet() >= failureThreshold) {
+            open();
+        }
+    }
+
+    public State getState() {
+        return state.get();
+    }
+
+    private void open() {
+        openedAt = System.nanoTime();
+        if (state.getAndSet(State.OPEN) != State.OPEN) {
+            logger.warn("Disjuntor SMTP aberto após falhas consecutivas; envios suspensos por {}.", openDuration);
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.zoonosys.services;
 
+import com.zoonosys.dtos.Cursor;
+import com.zoonosys.dtos.CursorPageDTO;
 import com.zoonosys.dtos.RegisterNewsDTO;
 import com.zoonosys.dtos.UpdateNewsDTO;
 import com.zoonosys.models.News;
@@ -7,7 +9,9 @@ import com.zoonosys.models.User;
 import com.zoonosys.repositories.NewsRepository;
 import com.zoonosys.security.SecuritySanitizer;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import com.zoonosys.exceptions.ResourceNotFoundException;
@@ -22,19 +26,28 @@ import java.util.Optional;
  */
 @Service
 public class NewsService {
+    private static final String PAGE_KEY = "news";
+
     private final NewsRepository newsRepository;
 
     private final SecuritySanitizer sanitizer;
 
+    private final PagedQueryExecutor pagedQueryExecutor;
+
+    private final ImageStorageService imageStorage;
+
     /**
      * Construtor para injeção de dependência do repositório.
      * @param newsRepository O repositório de dados para acesso à tabela de notícias.
      */
     @Autowired
-    public NewsService(NewsRepository newsRepository, SecuritySanitizer sanitizer) {
+    public NewsService(NewsRepository newsRepository, SecuritySanitizer sanitizer, PagedQueryExecutor pagedQueryExecutor,
+                       ImageStorageService imageStorage) {
         this.newsRepository = newsRepository;
+        this.imageStorage = imageStorage;
 
         this.sanitizer = sanitizer;
+        this.pagedQueryExecutor = pagedQueryExecutor;
     }
 
     public News register(RegisterNewsDTO registerNewsDTO, User authenticatedUser) {
@@ -42,6 +55,7 @@ public class NewsService {
                 .title(registerNewsDTO.title())
                 .content(registerNewsDTO.content())
                 .imageUrl(registerNewsDTO.imageUrl().orElse(null))
+                .imageId(imageStorage.requireExisting(registerNewsDTO.imageId().orElse(null)))
                 .build();
 
         news.setUser(authenticatedUser);
@@ -54,7 +68,9 @@ public class NewsService {
         news.setTitle(sanitizedTitle);
         news.setContent(sanitizedContent);
 
-        return newsRepository.save(news);
+        News saved = newsRepository.save(news);
+        pagedQueryExecutor.invalidate(PAGE_KEY);
+        return saved;
     }
 
     /**
@@ -64,8 +80,22 @@ public class NewsService {
      * @return Um objeto {@link Page< News >} com as notícias e metadados de paginação.
      */
     public Page<News> findAll(Pageable pageable) {
+        return pagedQueryExecutor.page(PAGE_KEY, pageable, newsRepository::findAllBy, newsRepository::count);
+    }
 
-        return newsRepository.findAll(pageable);
+    /**
+     * Busca as notícias com paginação por cursor, das mais recentes para as mais antigas, sem contagem.
+     *
+     * @param after Cursor da página anterior, ou {@code null} para a primeira página.
+     * @param size Tamanho da página (limitado a {@value CursorPageDTO#MAX_SIZE}).
+     * @return A página e o cursor da próxima.
+     */
+    public CursorPageDTO<News> findAll(Cursor after, int size) {
+        int limit = CursorPageDTO.clampSize(size);
+        List<News> rows = after == null
+                ? newsRepository.findFirstPage(Limit.of(limit + 1))
+                : newsRepository.findPageAfter(after.createdAt(), after.id(), Limit.of(limit + 1));
+        return CursorPageDTO.of(rows, limit, news -> Cursor.of(news.getCreatedAt(), news.getId()));
     }
 
     /**
@@ -80,13 +110,14 @@ public class NewsService {
     }
 
     /**
-     * Busca e retorna uma lista de notícias cujos títulos contenham a string de busca (case-insensitive).
+     * Busca notícias por texto no título e no conteúdo, ordenadas por relevância.
      *
-     * @param title A string de busca para o título da notícia.
-     * @return Uma lista de objetos {@link News} que correspondem ao critério de busca.
+     * @param query O texto de busca.
+     * @param pageable A página desejada (a ordenação informada é ignorada).
+     * @return Uma página de notícias que correspondem à busca.
      */
-    public List<News> findByTitleContainingIgnoreCase(String title) {
-        return newsRepository.findByTitleContainingIgnoreCase(title);
+    public Page<News> search(String query, Pageable pageable) {
+        return newsRepository.search(query, PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()));
     }
 
     /**
@@ -105,6 +136,7 @@ public class NewsService {
         news.setContent(updateNewsDTO.content());
 
         updateNewsDTO.imageUrl().ifPresent(news::setImageUrl);
+        updateNewsDTO.imageId().map(imageStorage::requireExisting).ifPresent(news::setImageId);
 
         String sanitizedTitle = sanitizer.sanitize(news.getTitle());
         String sanitizedContent = sanitizer.sanitize(news.getContent());
@@ -128,5 +160,6 @@ public class NewsService {
             throw new ResourceNotFoundException("Notícia não encontrada com o ID: " + id);
         }
         newsRepository.deleteById(id);
+        pagedQueryExecutor.invalidate(PAGE_KEY);
     }
 }
@@ -0,0 +1,135 @@
+package com.zoonosys.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Monta páginas com total ({@link Page}) sem somar as latências das consultas de conteúdo e de contagem.
+ * O total de cada filtro fica em cache por um curto período e é invalidado pelas escritas do serviço
+ * correspondente; quando não está em cache, a contagem roda em um pool limitado enquanto o conteúdo é buscado
+ * na thread da requisição. A contagem também é dispensada quando o próprio conteúdo revela o total
+ * (última página incompleta).
+ * O cache é local: em outros nós o total pode ficar defasado até o fim do TTL.
+ */
+@Component
+public class PagedQueryExecutor {
+
+    private final ThreadPoolExecutor executor;
+
+    private final Cache<String, Long> totals;
+
+    public PagedQueryExecutor(
+            @Value("${app.paging.count-threads:4}") int threads,
+            @Value("${app.paging.count-queue-capacity:64}") int queueCapacity,
+            @Value("${app.paging.count-cache.ttl:30s}") Duration ttl,
+            @Value("${app.paging.count-cache.max-size:1000}") long maxSize,
+            MeterRegistry meterRegistry) {
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "page-count-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.totals = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, totals, "page-totals");
+    }
+
+    /**
+     * Executa a consulta paginada.
+     *
+     * @param key Identifica o filtro cujo total é armazenado em cache (prefixado pelo recurso, ex.: {@code "news"}).
+     * @param pageable A página solicitada.
+     * @param content Consulta apenas do conteúdo da página (sem contagem).
+     * @param count Consulta do total de itens do filtro.
+     * @return A página com o total.
+     */
+    public <T> Page<T> page(String key, Pageable pageable, Function<Pageable, List<T>> content, LongSupplier count) {
+        if (pageable.isUnpaged()) {
+            List<T> all = content.apply(pageable);
+            return new PageImpl<>(all, pageable, all.size());
+        }
+
+        Long cachedTotal = totals.getIfPresent(key);
+        if (cachedTotal != null) {
+            return new PageImpl<>(content.apply(pageable), pageable, cachedTotal);
+        }
+
+        CompletableFuture<Long> pendingCount = submitCount(count);
+        List<T> rows = content.apply(pageable);
+
+        long total;
+        if (!rows.isEmpty() && rows.size() < pageable.getPageSize()) {
+            // Última página incompleta: o total é conhecido sem contar.
+            if (pendingCount != null) {
+                pendingCount.cancel(false);
+            }
+            total = pageable.getOffset() + rows.size();
+        } else {
+            // Sem vaga no pool de contagem, conta na própria thread.
+            total = pendingCount != null ? joinCount(pendingCount) : count.getAsLong();
+        }
+        totals.put(key, total);
+        return new PageImpl<>(rows, pageable, total);
+    }
+
+    /**
+     * Descarta os totais em cache cujas chaves começam com o prefixo (chamado após escritas).
+     *
+     * @param prefix O recurso alterado, ex.: {@code "animals"}.
+     */
+    public void invalidate(String prefix) {
+        totals.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+    }
+
+    private CompletableFuture<Long> submitCount(LongSupplier count) {
+        try {
+            return CompletableFuture.supplyAsync(count::getAsLong, executor);
+        } catch (RejectedExecutionException e) {
+            return null;
+        }
+    }
+
+    private static long joinCount(CompletableFuture<Long> pendingCount) {
+        try {
+            return pendingCount.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
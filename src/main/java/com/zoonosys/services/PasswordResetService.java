@@ -4,8 +4,11 @@ import com.zoonosys.dtos.ResetPasswordConfirmationDTO;
 import com.zoonosys.dtos.ResetPasswordRequestDTO;
 import com.zoonosys.models.PasswordResetToken;
 import com.zoonosys.models.User;
-import com.zoonosys.repositories.PasswordResetTokenRepository;
 import com.zoonosys.repositories.UserRepository;
+import com.zoonosys.security.authentication.PrincipalCache;
+import com.zoonosys.security.authentication.RefreshTokenService;
+import com.zoonosys.security.authentication.TokenVersionCache;
+import com.zoonosys.security.ratelimit.RateLimiter;
 import jakarta.transaction.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -26,7 +29,7 @@ public class PasswordResetService {
     private UserRepository userRepository;
 
     @Autowired
-    private PasswordResetTokenRepository tokenRepository;
+    private PasswordResetTokenStore tokenStore;
 
     @Autowired
     private EmailService emailService;
@@ -34,8 +37,26 @@ public class PasswordResetService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private TokenVersionCache tokenVersionCache;
+
+    @Autowired
+    private RateLimiter rateLimiter;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
     @Transactional
     public void createAndSendResetToken(ResetPasswordRequestDTO request) {
+        // A resposta ao cliente é a mesma, para não revelar quais e-mails estão cadastrados.
+        if (!rateLimiter.tryAcquireByEmail("reset-password", request.email())) {
+            logger.warn("Limite de pedidos de reset atingido para o e-mail: {}", request.email());
+            return;
+        }
+
         Optional<User> userOptional = userRepository.findByEmail(request.email());
 
         if(userOptional.isEmpty()) {
@@ -45,29 +66,16 @@ public class PasswordResetService {
 
         User user = userOptional.get();
 
-        tokenRepository.deleteAllByUserAndUsedIsFalse(user);
-
         String tokenValue = UUID.randomUUID().toString();
         LocalDateTime expiryDate = LocalDateTime.now().plusMinutes(EXPIRATION_MINUTES);
 
-        PasswordResetToken token = new PasswordResetToken();
-        token.setToken(tokenValue);
-        token.setUser(user);
-        token.setExpiryDate(expiryDate);
-
-        tokenRepository.save(token);
+        if (!tokenStore.replace(user, tokenValue, expiryDate)) {
+            return;
+        }
         logger.info("Token de reset gerado e salvo para usuário: {}", user.getEmail());
 
-        try{
-            emailService.sendPasswordResetEmail(
-                    user.getEmail(),
-                    user.getName(),
-                    tokenValue
-            );
-            logger.info("E-mail de reset enviado com sucesso para: {}", user.getEmail());
-        } catch (Exception e){
-            logger.error("Falha ao enviar e-mail de reset para: {}", user.getEmail(), e);
-        }
+        // Gravado na mesma transação do token; o envio fica a cargo do EmailOutboxDispatcher.
+        emailService.enqueuePasswordResetEmail(user.getEmail(), user.getName(), tokenValue);
     }
 
     /**
@@ -76,7 +84,7 @@ public class PasswordResetService {
      * @return O objeto PasswordResetToken se for válido, ou Optional.empty() caso contrário.
      */
     public Optional<PasswordResetToken> validateToken(String tokenValue){
-        Optional<PasswordResetToken> optionalToken = tokenRepository.findByToken(tokenValue);
+        Optional<PasswordResetToken> optionalToken = tokenStore.find(tokenValue);
 
         if(optionalToken.isEmpty()){
             logger.warn("Validação de token falhou: Token '{}' já foi utilizado.", tokenValue);
@@ -125,9 +133,18 @@ public class PasswordResetService {
 
         String hashedPassword = passwordEncoder.encode(newPassword);
         user.setPassword(hashedPassword);
+        user.setTokenVersion(user.getTokenVersion() + 1);
         userRepository.save(user);
-
-        tokenRepository.deleteAllByUserAndUsedIsFalse(user);
+        // Após o commit, para que uma requisição concorrente não recarregue a versão anterior dos tokens no cache.
+        String email = user.getEmail();
+        Long userId = user.getId();
+        AfterCommit.run(() -> {
+            principalCache.invalidate(email);
+            tokenVersionCache.invalidate(userId);
+        });
+        refreshTokenService.revokeAllForUser(user.getId());
+
+        tokenStore.invalidateAllForUser(user);
 
         logger.info("Senha redefinida com sucesso e token invalidado para o usuário: {}", user.getEmail());
 
@@ -0,0 +1,120 @@
+package com.zoonosys.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Remove periodicamente os tokens de redefinição de senha expirados. Tokens usados não precisam de limpeza: a
+ * redefinição apaga os tokens do usuário. Filtrar só por {@code expiry_date} permite usar o índice dessa coluna,
+ * em vez de varrer a tabela.
+ * A remoção é feita em lotes pequenos, cada um em sua própria transação (autocommit), para não segurar locks
+ * nem gerar picos de WAL. Um advisory lock de sessão do PostgreSQL garante que apenas um nó execute a limpeza por vez.
+ */
+@Component
+@ConditionalOnProperty(name = "app.password-reset.store", havingValue = "jpa", matchIfMissing = true)
+public class PasswordResetTokenReaper {
+    private static final Logger logger = LoggerFactory.getLogger(PasswordResetTokenReaper.class);
+
+    /** Chave arbitrária e fixa do advisory lock desta tarefa. */
+    private static final long LOCK_KEY = 0x7A6F6F5F72656170L;
+
+    private static final String DELETE_CHUNK_SQL = """
+            DELETE FROM tb_password_reset_token
+            WHERE id IN (
+                SELECT id FROM tb_password_reset_token
+                WHERE expiry_date <= ?
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED
+            )
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final int chunkSize;
+
+    private final int maxChunks;
+
+    private final Counter reaped;
+
+    public PasswordResetTokenReaper(
+            JdbcTemplate jdbcTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${app.password-reset.reaper.chunk-size:500}") int chunkSize,
+            @Value("${app.password-reset.reaper.max-chunks:200}") int maxChunks) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.chunkSize = chunkSize;
+        this.maxChunks = maxChunks;
+        this.reaped = Counter.builder("password_reset.tokens.reaped")
+                .description("Tokens de redefinição de senha removidos pela limpeza periódica")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.password-reset.reaper.interval-ms:900000}",
+            initialDelayString = "${app.password-reset.reaper.initial-delay-ms:60000}")
+    public void reap() {
+        Integer removed = jdbcTemplate.execute((ConnectionCallback<Integer>) this::reapWithLock);
+        if (removed != null && removed > 0) {
+            reaped.increment(removed);
+            logger.info("{} tokens de redefinição de senha expirados removidos.", removed);
+        }
+    }
+
+    private Integer reapWithLock(Connection connection) throws SQLException {
+        if (!connection.getAutoCommit()) {
+            // Cada lote precisa ser confirmado individualmente.
+            logger.warn("Limpeza de tokens ignorada: conexão sem autocommit.");
+            return 0;
+        }
+        if (!tryLock(connection)) {
+            logger.debug("Limpeza de tokens em execução em outro nó.");
+            return 0;
+        }
+
+        int total = 0;
+        try (PreparedStatement delete = connection.prepareStatement(DELETE_CHUNK_SQL)) {
+            for (int chunk = 0; chunk < maxChunks; chunk++) {
+                delete.setTimestamp(1, Timestamp.valueOf(LocalDateTime.now()));
+                delete.setInt(2, chunkSize);
+                int removed = delete.executeUpdate();
+                total += removed;
+                if (removed < chunkSize) {
+                    break;
+                }
+            }
+        } finally {
+            unlock(connection);
+        }
+        return total;
+    }
+
+    private boolean tryLock(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT pg_try_advisory_lock(?)")) {
+            statement.setLong(1, LOCK_KEY);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+
+    private void unlock(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT pg_advisory_unlock(?)")) {
+            statement.setLong(1, LOCK_KEY);
+            statement.execute();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.zoonosys.services;
+
+import com.zoonosys.models.PasswordResetToken;
+import com.zoonosys.models.User;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Armazenamento dos tokens de redefinição de senha. Cada usuário tem no máximo um token ativo.
+ * A implementação é escolhida por {@code app.password-reset.store}: {@code jpa} (padrão, compartilhado entre nós)
+ * ou {@code memory} (implantações de um único nó, ver o perfil {@code single-node}).
+ */
+public interface PasswordResetTokenStore {
+
+    /**
+     * Substitui o token ativo do usuário pelo novo token.
+     *
+     * @param user O usuário.
+     * @param token O valor do token enviado por e-mail.
+     * @param expiryDate O instante de expiração.
+     * @return {@code false} se o token não pôde ser armazenado (capacidade esgotada).
+     */
+    boolean replace(User user, String token, LocalDateTime expiryDate);
+
+    /**
+     * Busca o token pelo valor recebido na URL.
+     *
+     * @param token O valor do token.
+     * @return O token, possivelmente expirado, ou vazio se não existir.
+     */
+    Optional<PasswordResetToken> find(String token);
+
+    /**
+     * Invalida o token ativo do usuário, se houver.
+     *
+     * @param user O usuário.
+     */
+    void invalidateAllForUser(User user);
+}
@@ -0,0 +1,56 @@
+package com.zoonosys.services;
+
+import com.zoonosys.enums.RoleName;
+import com.zoonosys.models.Role;
+import com.zoonosys.repositories.RoleRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Papéis em memória, por nome. A tabela {@code roles} só muda na inicialização ({@code DataSeeder}), então os
+ * cadastros de usuário não precisam consultá-la: usam a entidade já carregada como referência na associação.
+ */
+@Component
+public class RoleRegistry {
+
+    private final RoleRepository roleRepository;
+
+    private volatile Map<RoleName, Role> roles = new EnumMap<>(RoleName.class);
+
+    public RoleRegistry(RoleRepository roleRepository) {
+        this.roleRepository = roleRepository;
+    }
+
+    /**
+     * Recarrega todos os papéis do banco. Chamado pelo {@code DataSeeder} depois de garantir que existem.
+     */
+    public void reload() {
+        Map<RoleName, Role> loaded = new EnumMap<>(RoleName.class);
+        for (Role role : roleRepository.findAll()) {
+            loaded.put(role.getName(), role);
+        }
+        roles = loaded;
+    }
+
+    /**
+     * Retorna o papel pelo nome. Se ainda não estiver carregado (requisição anterior ao {@code DataSeeder}),
+     * consulta o banco uma vez.
+     *
+     * @param name O nome do papel.
+     * @return O papel.
+     * @throws IllegalStateException se o papel não existir no banco.
+     */
+    public Role get(RoleName name) {
+        Role role = roles.get(name);
+        if (role == null) {
+            reload();
+            role = roles.get(name);
+        }
+        if (role == null) {
+            throw new IllegalStateException("Role '" + name + "' not found.");
+        }
+        return role;
+    }
+}
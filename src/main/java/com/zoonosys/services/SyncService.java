@@ -0,0 +1,169 @@
+package com.zoonosys.services;
+
+import com.zoonosys.dtos.AnimalSummaryDTO;
+import com.zoonosys.dtos.SyncChangesDTO;
+import com.zoonosys.dtos.SyncCursor;
+import com.zoonosys.models.Campaigns;
+import com.zoonosys.models.News;
+import com.zoonosys.repositories.AnimalRepository;
+import com.zoonosys.repositories.AnimalSpecifications;
+import com.zoonosys.repositories.CampaignsRepository;
+import com.zoonosys.repositories.NewsRepository;
+import jakarta.transaction.Transactional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Feed incremental de animais, notícias e campanhas para clientes que mantêm uma cópia local (aplicativo, totens).
+ * As alterações são numeradas no banco por gatilhos (ver db/schema.sql) e lidas em ordem {@code (change_xid,
+ * change_seq)} a partir do cursor do cliente, com uma varredura de intervalo por tabela. Só são entregues alterações
+ * de transações anteriores ao xmin do snapshot corrente, isto é, já encerradas: uma transação lenta que confirma
+ * depois de outras mais novas não é ultrapassada pelo cursor, apenas adia o avanço do feed até terminar.
+ * Tombstones são mantidos por {@code app.sync.tombstones.retention}; clientes sem sincronizar por mais tempo que isso
+ * devem refazer a sincronização completa (sem cursor).
+ */
+@Service
+public class SyncService {
+    private static final Logger logger = LoggerFactory.getLogger(SyncService.class);
+
+    static final String ANIMALS = "animals";
+    static final String NEWS = "news";
+    static final String CAMPAIGNS = "campaigns";
+
+    private static final String CHANGES_SQL = """
+            SELECT entity, id, deleted, change_xid::text AS change_xid, change_seq FROM (
+                (SELECT 'animals' AS entity, a.id, a.id_adopting_user IS NOT NULL AS deleted, a.change_xid, a.change_seq
+                 FROM animals a
+                 WHERE (a.change_xid, a.change_seq) > (CAST(? AS xid8), ?)
+                   AND a.change_xid < pg_snapshot_xmin(pg_current_snapshot())
+                 ORDER BY a.change_xid, a.change_seq
+                 LIMIT ?)
+                UNION ALL
+                (SELECT 'news', n.id, false, n.change_xid, n.change_seq
+                 FROM news n
+                 WHERE (n.change_xid, n.change_seq) > (CAST(? AS xid8), ?)
+                   AND n.change_xid < pg_snapshot_xmin(pg_current_snapshot())
+                 ORDER BY n.change_xid, n.change_seq
+                 LIMIT ?)
+                UNION ALL
+                (SELECT 'campaigns', c.id, false, c.change_xid, c.change_seq
+                 FROM campaigns c
+                 WHERE (c.change_xid, c.change_seq) > (CAST(? AS xid8), ?)
+                   AND c.change_xid < pg_snapshot_xmin(pg_current_snapshot())
+                 ORDER BY c.change_xid, c.change_seq
+                 LIMIT ?)
+                UNION ALL
+                (SELECT t.entity, t.entity_id, true, t.change_xid, t.change_seq
+                 FROM sync_tombstones t
+                 WHERE (t.change_xid, t.change_seq) > (CAST(? AS xid8), ?)
+                   AND t.change_xid < pg_snapshot_xmin(pg_current_snapshot())
+                 ORDER BY t.change_xid, t.change_seq
+                 LIMIT ?)
+            ) changes
+            ORDER BY change_xid, change_seq
+            LIMIT ?
+            """;
+
+    private record Change(String entity, long id, boolean deleted, long changeXid, long changeSeq) {}
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final AnimalRepository animalRepository;
+
+    private final NewsRepository newsRepository;
+
+    private final CampaignsRepository campaignsRepository;
+
+    private final int maxLimit;
+
+    private final Duration tombstoneRetention;
+
+    public SyncService(
+            JdbcTemplate jdbcTemplate,
+            AnimalRepository animalRepository,
+            NewsRepository newsRepository,
+            CampaignsRepository campaignsRepository,
+            @Value("${app.sync.max-limit:1000}") int maxLimit,
+            @Value("${app.sync.tombstones.retention:30d}") Duration tombstoneRetention) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.animalRepository = animalRepository;
+        this.newsRepository = newsRepository;
+        this.campaignsRepository = campaignsRepository;
+        this.maxLimit = maxLimit;
+        this.tombstoneRetention = tombstoneRetention;
+    }
+
+    /**
+     * Busca as alterações posteriores ao cursor.
+     *
+     * @param since O cursor da última sincronização ({@link SyncCursor#START} para a completa).
+     * @param limit O número máximo de alterações (limitado a {@code app.sync.max-limit}).
+     * @return As alterações e o próximo cursor, ou vazio se nada mudou.
+     */
+    @Transactional
+    public Optional<SyncChangesDTO> changesSince(SyncCursor since, int limit) {
+        int size = Math.min(Math.max(limit, 1), maxLimit);
+        String xid = Long.toString(since.changeXid());
+        long seq = since.changeSeq();
+
+        List<Change> changes = jdbcTemplate.query(CHANGES_SQL,
+                (rs, rowNum) -> new Change(
+                        rs.getString("entity"),
+                        rs.getLong("id"),
+                        rs.getBoolean("deleted"),
+                        Long.parseLong(rs.getString("change_xid")),
+                        rs.getLong("change_seq")),
+                xid, seq, size,
+                xid, seq, size,
+                xid, seq, size,
+                xid, seq, size,
+                size);
+        if (changes.isEmpty()) {
+            return Optional.empty();
+        }
+
+        List<Long> animalIds = new ArrayList<>();
+        List<Long> newsIds = new ArrayList<>();
+        List<Long> campaignIds = new ArrayList<>();
+        List<Long> deletedAnimals = new ArrayList<>();
+        List<Long> deletedNews = new ArrayList<>();
+        List<Long> deletedCampaigns = new ArrayList<>();
+        for (Change change : changes) {
+            switch (change.entity()) {
+                case ANIMALS -> (change.deleted() ? deletedAnimals : animalIds).add(change.id());
+                case NEWS -> (change.deleted() ? deletedNews : newsIds).add(change.id());
+                case CAMPAIGNS -> (change.deleted() ? deletedCampaigns : campaignIds).add(change.id());
+                default -> logger.warn("Alteração de entidade desconhecida no feed de sincronização: {}.", change.entity());
+            }
+        }
+
+        List<AnimalSummaryDTO> animals = animalIds.isEmpty() ? List.of()
+                : animalRepository.findSummaries(AnimalSpecifications.withIds(animalIds), Pageable.unpaged());
+        List<News> news = newsIds.isEmpty() ? List.of() : newsRepository.findAllById(newsIds);
+        List<Campaigns> campaigns = campaignIds.isEmpty() ? List.of() : campaignsRepository.findAllById(campaignIds);
+
+        Change last = changes.get(changes.size() - 1);
+        return Optional.of(new SyncChangesDTO(animals, news, campaigns, deletedAnimals, deletedNews, deletedCampaigns,
+                new SyncCursor(last.changeXid(), last.changeSeq()).encode(), changes.size() == size));
+    }
+
+    @Scheduled(fixedDelayString = "${app.sync.tombstones.prune-interval-ms:3600000}")
+    public void pruneTombstones() {
+        int removed = jdbcTemplate.update(
+                "DELETE FROM sync_tombstones WHERE deleted_at < now() - make_interval(secs => ?)",
+                tombstoneRetention.toSeconds());
+        if (removed > 0) {
+            logger.info("{} tombstones de sincronização removidos.", removed);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.zoonosys.services;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Roda de tempo hierárquica: agendar e avançar custam O(1) amortizado por entrada, independentemente
+ * de quantas entradas estão pendentes. O nível 0 tem uma posição por tick; cada nível acima cobre
+ * {@code WHEEL_SIZE} vezes o intervalo do anterior, e suas entradas descem de nível (cascata) quando a
+ * roda de baixo completa uma volta. Prazos além do último nível ficam na última posição e são reagendados.
+ * Não é thread-safe; o chamador sincroniza.
+ */
+final class TimingWheel {
+    private static final int WHEEL_SIZE = 64;
+
+    private final long tickMillis;
+
+    private final List<List<Map<String, Long>>> levels;
+
+    private final long[] spans;
+
+    private long currentTick;
+
+    TimingWheel(long tickMillis, int levelCount, long startMillis) {
+        this.tickMillis = tickMillis;
+        this.levels = new ArrayList<>(levelCount);
+        this.spans = new long[levelCount];
+        long span = 1;
+        for (int level = 0; level < levelCount; level++) {
+            List<Map<String, Long>> slots = new ArrayList<>(WHEEL_SIZE);
+            for (int slot = 0; slot < WHEEL_SIZE; slot++) {
+                slots.add(new HashMap<>());
+            }
+            levels.add(slots);
+            spans[level] = span;
+            span *= WHEEL_SIZE;
+        }
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    /**
+     * Agenda a chave para expirar no prazo indicado.
+     *
+     * @return {@code false} se o prazo já passou (a chave não é agendada).
+     */
+    boolean schedule(String key, long deadlineMillis) {
+        long deadlineTick = (deadlineMillis + tickMillis - 1) / tickMillis;
+        return place(key, deadlineTick);
+    }
+
+    /**
+     * Avança a roda até o instante informado, entregando as chaves vencidas ao consumidor.
+     */
+    void advance(long nowMillis, Consumer<String> onExpire) {
+        long targetTick = nowMillis / tickMillis;
+        while (currentTick < targetTick) {
+            currentTick++;
+            for (int level = levels.size() - 1; level > 0; level--) {
+                if (currentTick % spans[level] == 0) {
+                    cascade(level, onExpire);
+                }
+            }
+            Map<String, Long> due = levels.get(0).get((int) (currentTick % WHEEL_SIZE));
+            if (!due.isEmpty()) {
+                due.keySet().forEach(onExpire);
+                due.clear();
+            }
+        }
+    }
+
+    private void cascade(int level, Consumer<String> onExpire) {
+        Map<String, Long> slot = levels.get(level).get((int) ((currentTick / spans[level]) % WHEEL_SIZE));
+        if (slot.isEmpty()) {
+            return;
+        }
+        Map<String, Long> entries = new HashMap<>(slot);
+        slot.clear();
+        entries.forEach((key, deadlineTick) -> {
+            if (!place(key, deadlineTick)) {
+                onExpire.accept(key);
+            }
+        });
+    }
+
+    private boolean place(String key, long deadlineTick) {
+        long delta = deadlineTick - currentTick;
+        if (delta <= 0) {
+            return false;
+        }
+        int top = levels.size() - 1;
+        for (int level = 0; level <= top; level++) {
+            if (delta < spans[level] * WHEEL_SIZE) {
+                levels.get(level).get((int) ((deadlineTick / spans[level]) % WHEEL_SIZE)).put(key, deadlineTick);
+                return true;
+            }
+        }
+        // Além do alcance da roda: aguarda na posição mais distante do último nível e é reagendada na cascata.
+        long farthest = currentTick + spans[top] * WHEEL_SIZE - 1;
+        levels.get(top).get((int) ((farthest / spans[top]) % WHEEL_SIZE)).put(key, deadlineTick);
+        return true;
+    }
+}
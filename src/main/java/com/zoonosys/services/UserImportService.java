@@ -0,0 +1,215 @@
+package com.zoonosys.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zoonosys.dtos.ImportReportDTO;
+import com.zoonosys.dtos.RegisterUserDTO;
+import com.zoonosys.enums.ImportFormat;
+import com.zoonosys.enums.RoleName;
+import com.zoonosys.exceptions.BadRequestException;
+import com.zoonosys.exceptions.ServiceUnavailableException;
+import com.zoonosys.models.User;
+import com.zoonosys.repositories.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.zoonosys.services.BatchImporter.requireValue;
+import static com.zoonosys.services.BatchImporter.text;
+
+/**
+ * Cadastro de usuários em lote a partir de CSV ou NDJSON (importação de servidores municipais; leitura e gravação em
+ * {@link BatchImporter}). A cada {@code app.users.import.batch-size} registros válidos, as senhas do lote são cifradas
+ * (BCrypt) em paralelo num {@link ForkJoinPool} limitado a {@code app.users.import.hash-threads} e os usuários são
+ * gravados numa única transação, com INSERTs em lote JDBC. O papel vem do {@link RoleRegistry}, sem consulta.
+ * A unicidade de e-mail e CPF fica a cargo das restrições do banco: se um lote for recusado, suas linhas são
+ * regravadas uma a uma e as duplicadas aparecem como erro da respectiva linha.
+ */
+@Service
+public class UserImportService {
+
+    private static final Set<String> REQUIRED_COLUMNS = Set.of("email", "password", "name", "cpf", "phone");
+
+    private final RoleRegistry roleRegistry;
+
+    private final PasswordEncoder passwordEncoder;
+
+    private final PagedQueryExecutor pagedQueryExecutor;
+
+    private final ForkJoinPool hashPool;
+
+    private final Timer hashTimer;
+
+    private final BatchImporter<RegisterUserDTO, RegisterUserDTO, User> importer;
+
+    private final UserRows rows = new UserRows();
+
+    public UserImportService(
+            UserRepository userRepository,
+            RoleRegistry roleRegistry,
+            PasswordEncoder passwordEncoder,
+            PagedQueryExecutor pagedQueryExecutor,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.users.import.hash-threads:0}") int hashThreads,
+            @Value("${app.users.import.batch-size:200}") int batchSize,
+            @Value("${app.users.import.max-rows:20000}") long maxRows,
+            @Value("${app.users.import.max-errors:1000}") int maxErrors) {
+        this.roleRegistry = roleRegistry;
+        this.passwordEncoder = passwordEncoder;
+        this.pagedQueryExecutor = pagedQueryExecutor;
+        this.importer = new BatchImporter<>("users", "usuários", RegisterUserDTO.class, REQUIRED_COLUMNS,
+                userRepository, objectMapper, transactionManager, meterRegistry, batchSize, maxRows, maxErrors);
+
+        int parallelism = hashThreads > 0 ? hashThreads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.hashPool = new ForkJoinPool(parallelism, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("user-import-hash-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, null, false);
+
+        this.hashTimer = Timer.builder("users.import.hash.duration")
+                .description("Tempo para cifrar as senhas de um lote da importação de usuários")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Importa os usuários do corpo da requisição.
+     *
+     * @param content O arquivo, em UTF-8.
+     * @param format O formato do arquivo.
+     * @return O relatório com os totais e os erros por linha.
+     * @throws BadRequestException se o arquivo estiver malformado (cabeçalho, aspas) ou exceder o limite de linhas;
+     *                             os lotes gravados até esse ponto permanecem.
+     */
+    public ImportReportDTO importUsers(InputStream content, ImportFormat format) throws IOException {
+        return importer.run(content, format, rows);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashPool.shutdown();
+    }
+
+    private static RoleName roleName(String value) {
+        String name = value.toUpperCase(Locale.ROOT);
+        try {
+            return RoleName.valueOf(name.startsWith("ROLE_") ? name : "ROLE_" + name);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("role: valor inválido '" + value + "' (use CUSTOMER ou ADMINISTRATOR).");
+        }
+    }
+
+    /**
+     * Mapeamento dos registros em usuários. Os DTOs aguardam no lote e as senhas são cifradas lote a lote.
+     */
+    private final class UserRows implements BatchImporter.Handler<RegisterUserDTO, RegisterUserDTO, User> {
+
+        @Override
+        public RegisterUserDTO fromCsv(List<String> record, Map<String, Integer> columns) {
+            String role = text(record, columns, "role");
+            return new RegisterUserDTO(
+                    text(record, columns, "email"),
+                    text(record, columns, "password"),
+                    role == null ? null : roleName(role),
+                    text(record, columns, "name"),
+                    text(record, columns, "cpf"),
+                    text(record, columns, "phone"),
+                    Optional.ofNullable(text(record, columns, "sexo")),
+                    Optional.ofNullable(text(record, columns, "secundaryphone")),
+                    Optional.ofNullable(text(record, columns, "secundaryemail")),
+                    Optional.ofNullable(text(record, columns, "address")));
+        }
+
+        @Override
+        public RegisterUserDTO prepare(RegisterUserDTO dto) {
+            requireValue(dto.email(), "email");
+            requireValue(dto.password(), "password");
+            requireValue(dto.name(), "name");
+            requireValue(dto.cpf(), "cpf");
+            requireValue(dto.phone(), "phone");
+            if (dto.email().indexOf('@') < 1) {
+                throw new BadRequestException("email: endereço inválido '" + dto.email() + "'.");
+            }
+            return dto;
+        }
+
+        @Override
+        public List<User> toEntities(List<RegisterUserDTO> batch) {
+            List<String> hashes = hashTimer.record(() -> hashPasswords(batch));
+            List<User> users = new ArrayList<>(batch.size());
+            for (int i = 0; i < batch.size(); i++) {
+                users.add(toUser(batch.get(i), hashes.get(i)));
+            }
+            return users;
+        }
+
+        @Override
+        public User retry(RegisterUserDTO item, User rejected) {
+            // Entidade nova: a do lote recusado ficou com ID e coleção de papéis da sessão descartada.
+            return toUser(item, rejected.getPassword());
+        }
+
+        @Override
+        public String rejection(DataAccessException failure) {
+            return failure instanceof DataIntegrityViolationException duplicate
+                    ? UserService.duplicateMessage(duplicate)
+                    : BatchImporter.Handler.super.rejection(failure);
+        }
+
+        @Override
+        public void afterImport() {
+            pagedQueryExecutor.invalidate(UserService.PAGE_KEY);
+        }
+
+        private User toUser(RegisterUserDTO dto, String passwordHash) {
+            RoleName role = dto.role() != null ? dto.role() : RoleName.ROLE_CUSTOMER;
+            return UserService.toUser(dto, roleRegistry.get(role), passwordHash);
+        }
+    }
+
+    /**
+     * Cifra as senhas do lote no pool de hash, preservando a ordem.
+     */
+    private List<String> hashPasswords(List<RegisterUserDTO> dtos) {
+        List<Callable<String>> tasks = new ArrayList<>(dtos.size());
+        for (RegisterUserDTO dto : dtos) {
+            tasks.add(() -> passwordEncoder.encode(dto.password()));
+        }
+        List<String> hashes = new ArrayList<>(dtos.size());
+        try {
+            for (Future<String> hash : hashPool.invokeAll(tasks)) {
+                hashes.add(hash.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Importação de usuários interrompida.");
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falha ao cifrar as senhas da importação.", e.getCause());
+        }
+        return hashes;
+    }
+}
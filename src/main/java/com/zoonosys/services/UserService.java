@@ -1,34 +1,56 @@
 package com.zoonosys.services;
 
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.zoonosys.dtos.CursorPageDTO;
+import com.zoonosys.dtos.IdCursor;
 import com.zoonosys.dtos.LoginUserDTO;
 import com.zoonosys.dtos.RecoveryJwtTokenDTO;
 import com.zoonosys.dtos.RegisterUserDTO;
+import com.zoonosys.dtos.UserFilterDTO;
 import com.zoonosys.dtos.UserResponseDTO;
+import com.zoonosys.enums.RoleName;
+import com.zoonosys.exceptions.BadRequestException;
+import com.zoonosys.exceptions.TooManyRequestsException;
+import com.zoonosys.exceptions.UserNotFoundException;
 import com.zoonosys.models.Role;
 import com.zoonosys.models.User;
-import com.zoonosys.repositories.RoleRepository;
 import com.zoonosys.repositories.UserRepository;
+import com.zoonosys.repositories.UserSpecifications;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import com.zoonosys.security.authentication.JwtTokenService;
+import com.zoonosys.security.authentication.LoginExecutor;
+import com.zoonosys.security.authentication.PrincipalCache;
+import com.zoonosys.security.authentication.RefreshTokenService;
+import com.zoonosys.security.authentication.TokenRevocationService;
+import com.zoonosys.security.authentication.TokenVersionCache;
+import com.zoonosys.security.ratelimit.RateLimiter;
 import com.zoonosys.security.userdetails.UserDetailsImpl;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 @Service
 public class UserService {
 
+    static final String PAGE_KEY = "users";
+
     @Autowired
     private UserRepository userRepository;
 
     @Autowired
-    private RoleRepository roleRepository;
+    private RoleRegistry roleRegistry;
 
     @Autowired
     private AuthenticationManager authenticationManager;
@@ -39,44 +61,163 @@ public class UserService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private TokenVersionCache tokenVersionCache;
+
+    @Autowired
+    private LoginExecutor loginExecutor;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private RateLimiter rateLimiter;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private PagedQueryExecutor pagedQueryExecutor;
+
     public RecoveryJwtTokenDTO authenticateUser(LoginUserDTO loginUserDTO){
+        if (!rateLimiter.tryAcquireByEmail("login", loginUserDTO.email())) {
+            throw new TooManyRequestsException("Muitas tentativas de login para este e-mail. Tente novamente mais tarde.");
+        }
         UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken = new UsernamePasswordAuthenticationToken(loginUserDTO.email(), loginUserDTO.password());
-        Authentication authentication = authenticationManager.authenticate(usernamePasswordAuthenticationToken);
+        Authentication authentication = loginExecutor.execute(() -> authenticationManager.authenticate(usernamePasswordAuthenticationToken));
         UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
-        return new RecoveryJwtTokenDTO(jwtTokenService.generateToken(userDetails));
+        String refreshToken = refreshTokenService.issue(userDetails.getUser());
+        return new RecoveryJwtTokenDTO(jwtTokenService.generateToken(userDetails), refreshToken);
     }
 
-    @Transactional
-    public void registerUser(RegisterUserDTO registerUserDTO) {
-        if (userRepository.findByEmail(registerUserDTO.email()).isPresent()) {
-            throw new IllegalArgumentException("E-mail já cadastrado");
+    /**
+     * Renova o access token a partir de um refresh token, rotacionando-o. Não executa hash de senha.
+     *
+     * @param refreshToken O refresh token atual do cliente.
+     * @return Um novo access token e o próximo refresh token.
+     */
+    public RecoveryJwtTokenDTO refreshToken(String refreshToken) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(refreshToken);
+        UserDetailsImpl userDetails = new UserDetailsImpl(rotation.user());
+        return new RecoveryJwtTokenDTO(jwtTokenService.generateToken(userDetails), rotation.refreshToken());
+    }
+
+    /**
+     * Encerra a sessão atual: revoga o access token apresentado até a sua expiração e a família do refresh token,
+     * para que a sessão não possa ser renovada em {@code /users/refresh}. Sem o refresh token, revoga todos os
+     * refresh tokens do usuário.
+     *
+     * @param token O token JWT da requisição.
+     * @param refreshToken O refresh token da sessão, ou {@code null}.
+     */
+    public void logout(String token, String refreshToken) {
+        DecodedJWT jwt = jwtTokenService.verifyToken(token);
+        tokenRevocationService.revokeToken(jwt);
+        if (refreshToken != null && !refreshToken.isBlank()) {
+            refreshTokenService.revokeFamilyOf(refreshToken);
+        } else {
+            userRepository.findByEmail(jwt.getSubject())
+                    .ifPresent(user -> refreshTokenService.revokeAllForUser(user.getId()));
         }
+    }
 
-        Role role = roleRepository.findByName(registerUserDTO.role());
-        if (role == null) {
-            throw new RuntimeException("Role '" + registerUserDTO.role() + "' not found.");
+    /**
+     * Revoga todas as sessões ativas do usuário; tokens emitidos antes deste momento deixam de ser aceitos.
+     *
+     * @param id O ID do usuário.
+     * @throws UserNotFoundException se o usuário não existir.
+     */
+    public void revokeAllSessions(Long id) {
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new UserNotFoundException("Usuário não encontrado com ID: " + id));
+        tokenRevocationService.revokeAllForUser(user.getEmail());
+        refreshTokenService.revokeAllForUser(user.getId());
+    }
+
+    /**
+     * Cadastra um usuário com uma única escrita: a unicidade de e-mail e CPF é garantida pelas restrições do banco,
+     * sem consulta prévia (que também estaria sujeita a corrida entre cadastros simultâneos), e o papel vem do
+     * {@link RoleRegistry}.
+     *
+     * @param registerUserDTO Os dados do usuário.
+     * @throws BadRequestException se o e-mail ou o CPF já estiverem cadastrados.
+     */
+    public void registerUser(RegisterUserDTO registerUserDTO) {
+        Role role = roleRegistry.get(registerUserDTO.role());
+        User newUser = toUser(registerUserDTO, role, passwordEncoder.encode(registerUserDTO.password()));
+        try {
+            userRepository.saveAndFlush(newUser);
+        } catch (DataIntegrityViolationException e) {
+            throw new BadRequestException(duplicateMessage(e));
         }
+        principalCache.invalidate(newUser.getEmail());
+        pagedQueryExecutor.invalidate(PAGE_KEY);
+    }
 
-        User newUser = User.builder()
+    static User toUser(RegisterUserDTO registerUserDTO, Role role, String passwordHash) {
+        return User.builder()
                 .email(registerUserDTO.email())
-                .password(passwordEncoder.encode(registerUserDTO.password()))
+                .password(passwordHash)
                 .name(registerUserDTO.name())
                 .cpf(registerUserDTO.cpf())
                 .phone(registerUserDTO.phone())
-                .roles(List.of(role))
+                .roles(new ArrayList<>(List.of(role)))
                 .secundaryEmail(registerUserDTO.secundaryEmail().orElse(null))
                 .secundaryPhone(registerUserDTO.secundaryPhone().orElse(null))
                 .sexo(registerUserDTO.sexo().orElse(null))
                 .address(registerUserDTO.address().orElse(null))
                 .build();
+    }
+
+    /**
+     * Mensagem para a violação de unicidade de e-mail ou CPF, a partir do detalhe do PostgreSQL
+     * ({@code Key (email)=(...) already exists}).
+     */
+    static String duplicateMessage(DataIntegrityViolationException e) {
+        String detail = String.valueOf(e.getMostSpecificCause().getMessage());
+        if (detail.contains("(email)")) {
+            return "E-mail já cadastrado";
+        }
+        if (detail.contains("(cpf)")) {
+            return "CPF já cadastrado";
+        }
+        return "E-mail ou CPF já cadastrado";
+    }
 
-        userRepository.save(newUser);
+    /**
+     * Busca os usuários que atendem aos filtros, com paginação por offset e total. Seleciona apenas as colunas de
+     * {@link UserResponseDTO}, sem carregar os papéis de cada usuário. Sem ordenação explícita, ordena por ID.
+     *
+     * @param filter Filtros opcionais (nome, prefixo do e-mail, papel).
+     * @param pageable Objeto {@link Pageable} contendo os parâmetros de paginação.
+     * @return Uma página de usuários.
+     */
+    public Page<UserResponseDTO> findAll(UserFilterDTO filter, Pageable pageable) {
+        Specification<User> spec = UserSpecifications.matching(filter);
+        Pageable sorted = pageable.isPaged() && pageable.getSort().isUnsorted()
+                ? PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), UserSpecifications.KEYSET_SORT)
+                : pageable;
+        return pagedQueryExecutor.page(PAGE_KEY + ":" + filter, sorted,
+                page -> userRepository.findResponses(spec, page), () -> userRepository.count(spec));
     }
 
-    public List<UserResponseDTO> findAllUsersDTO() {
-        return userRepository.findAll().stream()
-                .map(user -> new UserResponseDTO(user.getId(), user.getEmail(), user.getName(), user.getPhone()))
-                .toList();
+    /**
+     * Busca os usuários que atendem aos filtros com paginação por cursor, em ordem de ID, sem contagem.
+     *
+     * @param filter Filtros opcionais (nome, prefixo do e-mail, papel).
+     * @param after Cursor da página anterior, ou {@code null} para a primeira página.
+     * @param size Tamanho da página (limitado a {@value CursorPageDTO#MAX_SIZE}).
+     * @return A página e o cursor da próxima.
+     */
+    public CursorPageDTO<UserResponseDTO> findAll(UserFilterDTO filter, IdCursor after, int size) {
+        int limit = CursorPageDTO.clampSize(size);
+        Specification<User> spec = UserSpecifications.matching(filter).and(UserSpecifications.after(after));
+        List<UserResponseDTO> rows = userRepository.findResponses(spec,
+                PageRequest.of(0, limit + 1, UserSpecifications.KEYSET_SORT));
+        return CursorPageDTO.ofEncoded(rows, limit, user -> IdCursor.of(user.id()).encode());
     }
 
     public Optional<UserResponseDTO> findUserDTOById(Long id) {
@@ -84,5 +225,37 @@ public class UserService {
                 .map(user -> new UserResponseDTO(user.getId(), user.getEmail(), user.getName(), user.getPhone()));
     }
 
+    /**
+     * Substitui o papel do usuário e incrementa a versão de seus tokens,
+     * de forma que tokens emitidos com o papel anterior deixem de ser aceitos.
+     *
+     * @param id O ID do usuário.
+     * @param roleName O novo papel.
+     * @return O usuário atualizado.
+     * @throws UserNotFoundException se o usuário não existir.
+     */
+    @Transactional
+    public UserResponseDTO updateUserRole(Long id, RoleName roleName) {
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new UserNotFoundException("Usuário não encontrado com ID: " + id));
+
+        Role role = roleRegistry.get(roleName);
+
+        user.setRoles(new ArrayList<>(List.of(role)));
+        user.setTokenVersion(user.getTokenVersion() + 1);
+        userRepository.save(user);
+
+        // Após o commit: invalidado antes, uma requisição concorrente poderia recarregar e guardar o papel antigo.
+        String email = user.getEmail();
+        Long userId = user.getId();
+        AfterCommit.run(() -> {
+            principalCache.invalidate(email);
+            tokenVersionCache.invalidate(userId);
+            pagedQueryExecutor.invalidate(PAGE_KEY);
+        });
+
+        return new UserResponseDTO(user.getId(), user.getEmail(), user.getName(), user.getPhone());
+    }
+
 
 }
\ No newline at end of file
@@ -0,0 +1,140 @@
+-- =======================================
+-- Objetos de banco que o Hibernate (ddl-auto: update) não cria:
+-- índices parciais, ordenações descendentes, extensões, gatilhos.
+-- Executado após o Hibernate (spring.jpa.defer-datasource-initialization); todos os comandos são idempotentes.
+-- =======================================
+
+-- Animais disponíveis para adoção, dos mais recentes para os mais antigos (paginação por cursor).
+CREATE INDEX IF NOT EXISTS idx_animals_available_created_at
+    ON animals (created_at DESC, id DESC)
+    WHERE id_adopting_user IS NULL;
+
+-- Filtros mais seletivos da página de adoção (espécie e porte) mantendo a ordem da paginação.
+CREATE INDEX IF NOT EXISTS idx_animals_available_species_size_created_at
+    ON animals (species, size, created_at DESC, id DESC)
+    WHERE id_adopting_user IS NULL;
+
+-- Paginação por cursor das listagens completas, ordenadas por (created_at, id) decrescente.
+CREATE INDEX IF NOT EXISTS idx_animals_created_at_id ON animals (created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_news_created_at_id ON news (created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_campaigns_created_at_id ON campaigns (created_at DESC, id DESC);
+
+-- Busca textual em português. A coluna é gerada pelo próprio banco a cada escrita (título/nome com peso A,
+-- conteúdo/descrição com peso B) e não é mapeada nas entidades.
+ALTER TABLE news ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('portuguese', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('portuguese', coalesce(content, '')), 'B')
+    ) STORED;
+CREATE INDEX IF NOT EXISTS idx_news_search_vector ON news USING GIN (search_vector);
+
+ALTER TABLE campaigns ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('portuguese', coalesce(name, '')), 'A') ||
+        setweight(to_tsvector('portuguese', coalesce(description, '')), 'B')
+    ) STORED;
+CREATE INDEX IF NOT EXISTS idx_campaigns_search_vector ON campaigns USING GIN (search_vector);
+
+-- Busca aproximada de animais por nome e raça, sem acentos e tolerante a erros de digitação.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE EXTENSION IF NOT EXISTS unaccent;
+
+-- unaccent() é STABLE e não pode ser usada em índices; o dicionário fixo permite declarar o wrapper IMMUTABLE.
+CREATE OR REPLACE FUNCTION f_unaccent(text) RETURNS text
+    LANGUAGE sql IMMUTABLE PARALLEL SAFE STRICT
+    AS 'SELECT public.unaccent(''public.unaccent'', $1)';
+
+CREATE INDEX IF NOT EXISTS idx_animals_name_trgm ON animals USING GIN (f_unaccent(lower(name)) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_animals_breed_trgm ON animals USING GIN (f_unaccent(lower(breed)) gin_trgm_ops);
+
+-- Feed de sincronização (/sync). Cada escrita em animals, news e campaigns recebe, por gatilho, um número da
+-- sequência compartilhada (change_seq) e o ID da transação que a fez (change_xid); exclusões viram tombstones.
+-- O feed é lido em ordem (change_xid, change_seq) e apenas até o xmin do snapshot corrente, de modo que uma
+-- transação que ainda não confirmou nunca é ultrapassada pelo cursor do cliente.
+CREATE SEQUENCE IF NOT EXISTS sync_change_seq;
+
+ALTER TABLE animals ADD COLUMN IF NOT EXISTS change_seq bigint;
+ALTER TABLE animals ADD COLUMN IF NOT EXISTS change_xid xid8;
+ALTER TABLE news ADD COLUMN IF NOT EXISTS change_seq bigint;
+ALTER TABLE news ADD COLUMN IF NOT EXISTS change_xid xid8;
+ALTER TABLE campaigns ADD COLUMN IF NOT EXISTS change_seq bigint;
+ALTER TABLE campaigns ADD COLUMN IF NOT EXISTS change_xid xid8;
+
+CREATE TABLE IF NOT EXISTS sync_tombstones (
+    change_seq bigint PRIMARY KEY,
+    change_xid xid8 NOT NULL,
+    entity varchar(16) NOT NULL,
+    entity_id bigint NOT NULL,
+    deleted_at timestamp NOT NULL DEFAULT now()
+);
+
+CREATE OR REPLACE FUNCTION f_sync_touch() RETURNS trigger
+    LANGUAGE plpgsql
+    AS '
+BEGIN
+    NEW.change_seq := nextval(''sync_change_seq'');
+    NEW.change_xid := pg_current_xact_id();
+    RETURN NEW;
+END';
+
+CREATE OR REPLACE FUNCTION f_sync_tombstone() RETURNS trigger
+    LANGUAGE plpgsql
+    AS '
+BEGIN
+    INSERT INTO sync_tombstones (change_seq, change_xid, entity, entity_id)
+    VALUES (nextval(''sync_change_seq''), pg_current_xact_id(), TG_ARGV[0], OLD.id);
+    RETURN OLD;
+END';
+
+DROP TRIGGER IF EXISTS trg_animals_sync_touch ON animals;
+CREATE TRIGGER trg_animals_sync_touch BEFORE INSERT OR UPDATE ON animals
+    FOR EACH ROW EXECUTE FUNCTION f_sync_touch();
+DROP TRIGGER IF EXISTS trg_animals_sync_tombstone ON animals;
+CREATE TRIGGER trg_animals_sync_tombstone AFTER DELETE ON animals
+    FOR EACH ROW EXECUTE FUNCTION f_sync_tombstone('animals');
+
+DROP TRIGGER IF EXISTS trg_news_sync_touch ON news;
+CREATE TRIGGER trg_news_sync_touch BEFORE INSERT OR UPDATE ON news
+    FOR EACH ROW EXECUTE FUNCTION f_sync_touch();
+DROP TRIGGER IF EXISTS trg_news_sync_tombstone ON news;
+CREATE TRIGGER trg_news_sync_tombstone AFTER DELETE ON news
+    FOR EACH ROW EXECUTE FUNCTION f_sync_tombstone('news');
+
+DROP TRIGGER IF EXISTS trg_campaigns_sync_touch ON campaigns;
+CREATE TRIGGER trg_campaigns_sync_touch BEFORE INSERT OR UPDATE ON campaigns
+    FOR EACH ROW EXECUTE FUNCTION f_sync_touch();
+DROP TRIGGER IF EXISTS trg_campaigns_sync_tombstone ON campaigns;
+CREATE TRIGGER trg_campaigns_sync_tombstone AFTER DELETE ON campaigns
+    FOR EACH ROW EXECUTE FUNCTION f_sync_tombstone('campaigns');
+
+-- Linhas anteriores aos gatilhos: o UPDATE dispara f_sync_touch e as numera.
+UPDATE animals SET change_seq = NULL WHERE change_seq IS NULL;
+UPDATE news SET change_seq = NULL WHERE change_seq IS NULL;
+UPDATE campaigns SET change_seq = NULL WHERE change_seq IS NULL;
+
+-- Cada consulta ao feed é uma varredura de intervalo a partir do cursor.
+CREATE INDEX IF NOT EXISTS idx_animals_sync ON animals (change_xid, change_seq);
+CREATE INDEX IF NOT EXISTS idx_news_sync ON news (change_xid, change_seq);
+CREATE INDEX IF NOT EXISTS idx_campaigns_sync ON campaigns (change_xid, change_seq);
+CREATE INDEX IF NOT EXISTS idx_sync_tombstones_sync ON sync_tombstones (change_xid, change_seq);
+CREATE INDEX IF NOT EXISTS idx_sync_tombstones_deleted_at ON sync_tombstones (deleted_at);
+
+-- IDs de animais por sequência com alocação de 50 (Animal.id), no lugar da coluna IDENTITY. O Hibernate reserva
+-- os IDs (valor - 49 .. valor), então a sequência precisa estar ao menos 50 acima do maior ID já existente.
+CREATE SEQUENCE IF NOT EXISTS animals_seq INCREMENT BY 50;
+SELECT setval('animals_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM animals))
+WHERE (SELECT last_value FROM animals_seq) < (SELECT COALESCE(MAX(id), 0) + 50 FROM animals);
+
+-- Listagem administrativa de usuários (UserSpecifications): nome por trecho, e-mail por prefixo e papel.
+CREATE INDEX IF NOT EXISTS idx_users_name_trgm ON users USING GIN (f_unaccent(lower(name)) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_users_email_lower ON users (lower(email) text_pattern_ops);
+CREATE INDEX IF NOT EXISTS idx_user_roles_role_user ON user_roles (role_id, user_id);
+CREATE INDEX IF NOT EXISTS idx_user_roles_user ON user_roles (user_id);
+
+-- IDs de usuários por sequência com alocação de 50 (User.id), como em animals_seq.
+CREATE SEQUENCE IF NOT EXISTS users_seq INCREMENT BY 50;
+SELECT setval('users_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM users))
+WHERE (SELECT last_value FROM users_seq) < (SELECT COALESCE(MAX(id), 0) + 50 FROM users);
+
+-- Mensagens da outbox já enviadas ou descartadas não guardam as variáveis do template (tokens de redefinição).
+UPDATE tb_email_outbox SET payload = '{}' WHERE status IN ('SENT', 'DEAD') AND payload <> '{}';
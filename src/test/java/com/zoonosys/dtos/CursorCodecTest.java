@@ -0,0 +1,65 @@
+package com.zoonosys.dtos;
+
+import com.zoonosys.exceptions.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CursorCodecTest {
+
+    private static final String ERRO = "Cursor inválido.";
+
+    @Test
+    void codificaEDecodifica() {
+        assertArrayEquals(new long[]{7L}, CursorCodec.decode(CursorCodec.encode(7L), 1, ERRO));
+        assertArrayEquals(new long[]{-1L, 0L, Long.MAX_VALUE},
+                CursorCodec.decode(CursorCodec.encode(-1L, 0L, Long.MAX_VALUE), 3, ERRO));
+    }
+
+    @Test
+    void formatoSaoOsCamposSeparadosPorDoisPontosEmBase64Url() {
+        assertEquals(encode("12:34"), CursorCodec.encode(12L, 34L));
+    }
+
+    @Test
+    void codificacaoSeguraParaUrl() {
+        String encoded = CursorCodec.encode(Long.MAX_VALUE, Long.MAX_VALUE);
+
+        assertFalse(encoded.contains("="));
+        assertFalse(encoded.contains("+"));
+        assertFalse(encoded.contains("/"));
+    }
+
+    @Test
+    void vazioOuNuloNaoTemCampos() {
+        assertNull(CursorCodec.decode(null, 2, ERRO));
+        assertNull(CursorCodec.decode("", 2, ERRO));
+        assertNull(CursorCodec.decode("  ", 2, ERRO));
+    }
+
+    @Test
+    void cursorMalformadoERecusadoComAMensagemInformada() {
+        assertRecusado("não é base64!");
+        assertRecusado(encode("123"));
+        assertRecusado(encode("1:2:3"));
+        assertRecusado(encode("abc:1"));
+        assertRecusado(encode("1:"));
+        assertRecusado(encode(":1"));
+    }
+
+    private static void assertRecusado(String value) {
+        BadRequestException e = assertThrows(BadRequestException.class, () -> CursorCodec.decode(value, 2, ERRO));
+        assertEquals(ERRO, e.getMessage());
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,36 @@
+package com.zoonosys.dtos;
+
+import com.zoonosys.exceptions.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Timestamp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CursorTest {
+
+    @Test
+    void codificaEDecodifica() {
+        Cursor cursor = Cursor.of(new Timestamp(1_760_000_000_123L), 42L);
+
+        Cursor decoded = Cursor.decode(cursor.encode());
+
+        assertEquals(cursor, decoded);
+        assertEquals(1_760_000_000_123L, decoded.createdAt().getTime());
+    }
+
+    @Test
+    void vazioOuNuloIndicaPrimeiraPagina() {
+        assertNull(Cursor.decode(null));
+        assertNull(Cursor.decode(""));
+    }
+
+    @Test
+    void cursorDeOutroFormatoERecusado() {
+        BadRequestException e = assertThrows(BadRequestException.class,
+                () -> Cursor.decode(IdCursor.of(42L).encode()));
+        assertEquals("Cursor de paginação inválido.", e.getMessage());
+    }
+}
@@ -0,0 +1,31 @@
+package com.zoonosys.dtos;
+
+import com.zoonosys.exceptions.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Timestamp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class IdCursorTest {
+
+    @Test
+    void codificaEDecodifica() {
+        assertEquals(IdCursor.of(7L), IdCursor.decode(IdCursor.of(7L).encode()));
+    }
+
+    @Test
+    void vazioOuNuloIndicaPrimeiraPagina() {
+        assertNull(IdCursor.decode(null));
+        assertNull(IdCursor.decode(""));
+    }
+
+    @Test
+    void cursorDeOutroFormatoERecusado() {
+        BadRequestException e = assertThrows(BadRequestException.class,
+                () -> IdCursor.decode(Cursor.of(new Timestamp(1L), 2L).encode()));
+        assertEquals("Cursor de paginação inválido.", e.getMessage());
+    }
+}
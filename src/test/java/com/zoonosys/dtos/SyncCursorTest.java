@@ -0,0 +1,30 @@
+package com.zoonosys.dtos;
+
+import com.zoonosys.exceptions.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SyncCursorTest {
+
+    @Test
+    void codificaEDecodifica() {
+        SyncCursor cursor = new SyncCursor(987_654_321L, 12L);
+
+        assertEquals(cursor, SyncCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void vazioOuNuloIndicaSincronizacaoCompleta() {
+        assertSame(SyncCursor.START, SyncCursor.decode(null));
+        assertSame(SyncCursor.START, SyncCursor.decode(" "));
+    }
+
+    @Test
+    void cursorMalformadoERecusadoComAMensagemDaSincronizacao() {
+        BadRequestException e = assertThrows(BadRequestException.class, () -> SyncCursor.decode("!!"));
+        assertEquals("Cursor de sincronização inválido.", e.getMessage());
+    }
+}
@@ -0,0 +1,66 @@
+package com.zoonosys.security.authentication;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BloomFilterTest {
+
+    @Test
+    void filtroVazioNaoContemNada() {
+        BloomFilter filter = BloomFilter.create(100, 0.01);
+
+        assertFalse(filter.mightContain("jti:abc"));
+        assertFalse(filter.mightContain(""));
+    }
+
+    @Test
+    void semFalsosNegativos() {
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("jti:" + i);
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("jti:" + i), "jti:" + i);
+        }
+    }
+
+    @Test
+    void taxaDeFalsosPositivosProximaDaConfigurada() {
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("user:" + i + "@zoonosys.com");
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("jti:" + i)) {
+                falsePositives++;
+            }
+        }
+        // Margem sobre a taxa de 1%: o dimensionamento não deve errar por uma ordem de grandeza.
+        assertTrue(falsePositives < 3_000, "falsos positivos: " + falsePositives);
+    }
+
+    @Test
+    void chavesComCaracteresNaoAscii() {
+        BloomFilter filter = BloomFilter.create(10, 0.01);
+        filter.put("user:joão@zoonosys.com");
+
+        assertTrue(filter.mightContain("user:joão@zoonosys.com"));
+    }
+
+    @Test
+    void insercoesAcimaDoPrevistoContinuamSemFalsosNegativos() {
+        BloomFilter filter = BloomFilter.create(1, 0.5);
+        for (int i = 0; i < 1_000; i++) {
+            filter.put("k" + i);
+        }
+
+        for (int i = 0; i < 1_000; i++) {
+            assertTrue(filter.mightContain("k" + i));
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.zoonosys.security.authentication;
+
+import com.zoonosys.exceptions.GlobalExceptionHandler;
+import com.zoonosys.exceptions.ServiceUnavailableException;
+import com.zoonosys.exceptions.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LoginExecutorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private LoginExecutor executor;
+
+    @AfterEach
+    void encerra() {
+        release.countDown();
+        executor.shutdown();
+    }
+
+    private double rejected(String reason) {
+        return meterRegistry.get("login.rejected").tag("reason", reason).counter().count();
+    }
+
+    /** Ocupa a única thread do pool até o fim do teste e espera a tarefa começar. */
+    private void ocupaAThread() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CompletableFuture.runAsync(() -> executor.execute(() -> {
+            started.countDown();
+            return release.await(10, TimeUnit.SECONDS);
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void executaATarefaERegistraOTempoDeHash() {
+        executor = new LoginExecutor(1, 1, Duration.ofSeconds(5), meterRegistry);
+
+        assertEquals("ok", executor.execute(() -> "ok"));
+        assertEquals(1, meterRegistry.get("login.hash.duration").timer().count());
+    }
+
+    @Test
+    void filaCheiaRejeitaCom429() throws InterruptedException {
+        executor = new LoginExecutor(1, 1, Duration.ofSeconds(10), meterRegistry);
+        ocupaAThread();
+        CompletableFuture.runAsync(() -> executor.execute(() -> "na fila"));
+        waitForQueueDepth(1);
+
+        TooManyRequestsException ex = assertThrows(TooManyRequestsException.class,
+                () -> executor.execute(() -> "excedente"));
+        assertEquals(1.0, rejected("queue-full"));
+
+        ResponseEntity<String> response = new GlobalExceptionHandler().handleTooManyRequestsException(ex);
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, response.getStatusCode());
+        assertEquals("1", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void esperaAlemDoLimiteRejeitaCom503() {
+        executor = new LoginExecutor(1, 1, Duration.ofMillis(50), meterRegistry);
+
+        assertThrows(ServiceUnavailableException.class,
+                () -> executor.execute(() -> release.await(10, TimeUnit.SECONDS)));
+        assertEquals(1.0, rejected("timeout"));
+        assertEquals(0.0, rejected("queue-full"));
+    }
+
+    @Test
+    void propagaAExcecaoDaAutenticacao() {
+        executor = new LoginExecutor(1, 1, Duration.ofSeconds(5), meterRegistry);
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> executor.execute(() -> { throw new IllegalArgumentException("credenciais inválidas"); }));
+        assertEquals("credenciais inválidas", ex.getMessage());
+    }
+
+    private void waitForQueueDepth(int depth) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("login.queue.depth").gauge().value() < depth) {
+            assertTrue(System.nanoTime() < deadline, "a tarefa não entrou na fila");
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.zoonosys.security.authentication;
+
+import com.zoonosys.exceptions.UnauthorizedException;
+import com.zoonosys.models.RefreshToken;
+import com.zoonosys.models.User;
+import com.zoonosys.repositories.RefreshTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * O repositório é simulado sobre uma lista em memória, com a mesma semântica das consultas (inclusive o consumo
+ * condicional de {@code markUsed}).
+ */
+class RefreshTokenServiceTest {
+
+    private final RefreshTokenRepository repository = mock(RefreshTokenRepository.class);
+
+    private final RefreshTokenService service = new RefreshTokenService(repository, Duration.ofDays(30));
+
+    private final List<RefreshToken> tokens = new ArrayList<>();
+
+    private final User user = User.builder().id(7L).email("ana@zoonosys.com").build();
+
+    @BeforeEach
+    void configura() {
+        when(repository.save(any(RefreshToken.class))).thenAnswer(invocation -> {
+            RefreshToken token = invocation.getArgument(0);
+            token.setId((long) tokens.size() + 1);
+            tokens.add(token);
+            return token;
+        });
+        when(repository.findByTokenHashWithUser(anyString()))
+                .thenAnswer(invocation -> byHash(invocation.getArgument(0)));
+        when(repository.findFamilyIdByTokenHash(anyString()))
+                .thenAnswer(invocation -> byHash(invocation.getArgument(0)).map(RefreshToken::getFamilyId));
+        when(repository.markUsed(anyLong(), any(Instant.class))).thenAnswer(invocation -> {
+            RefreshToken token = tokens.get((int) (long) invocation.<Long>getArgument(0) - 1);
+            if (token.getUsedAt() != null || token.getRevoked()) {
+                return 0;
+            }
+            token.setUsedAt(invocation.getArgument(1));
+            return 1;
+        });
+        when(repository.revokeFamily(anyString())).thenAnswer(invocation -> revokeWhere(
+                token -> token.getFamilyId().equals(invocation.getArgument(0))));
+        when(repository.revokeAllByUserId(anyLong())).thenAnswer(invocation -> revokeWhere(
+                token -> token.getUser().getId().equals(invocation.getArgument(0))));
+    }
+
+    private Optional<RefreshToken> byHash(String hash) {
+        return tokens.stream().filter(token -> token.getTokenHash().equals(hash)).findFirst();
+    }
+
+    private int revokeWhere(Predicate<RefreshToken> filter) {
+        int revoked = 0;
+        for (RefreshToken token : tokens) {
+            if (filter.test(token)) {
+                token.setRevoked(true);
+                revoked++;
+            }
+        }
+        return revoked;
+    }
+
+    @Test
+    void rotacaoConsomeOTokenEEmiteOProximoDaMesmaFamilia() {
+        String primeiro = service.issue(user);
+
+        RefreshTokenService.Rotation rotation = service.rotate(primeiro);
+
+        assertSame(user, rotation.user());
+        assertNotEquals(primeiro, rotation.refreshToken());
+        assertEquals(2, tokens.size());
+        assertNotNull(tokens.get(0).getUsedAt());
+        assertEquals(tokens.get(0).getFamilyId(), tokens.get(1).getFamilyId());
+        assertFalse(tokens.get(1).getRevoked());
+        // O hash é o que fica no banco, nunca o valor entregue ao cliente.
+        assertFalse(tokens.stream().anyMatch(token -> token.getTokenHash().equals(rotation.refreshToken())));
+
+        assertNotNull(service.rotate(rotation.refreshToken()).refreshToken());
+    }
+
+    @Test
+    void loginsDiferentesIniciamFamiliasDiferentes() {
+        service.issue(user);
+        service.issue(user);
+
+        assertNotEquals(tokens.get(0).getFamilyId(), tokens.get(1).getFamilyId());
+    }
+
+    @Test
+    void reusoDeTokenJaRotacionadoRevogaAFamilia() {
+        String primeiro = service.issue(user);
+        String segundo = service.rotate(primeiro).refreshToken();
+
+        UnauthorizedException ex = assertThrows(UnauthorizedException.class, () -> service.rotate(primeiro));
+
+        assertEquals("Refresh token inválido.", ex.getMessage());
+        verify(repository).revokeFamily(tokens.get(0).getFamilyId());
+        assertTrue(tokens.stream().allMatch(RefreshToken::getRevoked));
+        // O token legítimo mais recente também deixa de valer.
+        assertThrows(UnauthorizedException.class, () -> service.rotate(segundo));
+    }
+
+    @Test
+    void rotacaoConcorrentePerdedoraEhTratadaComoReuso() {
+        String primeiro = service.issue(user);
+        // Outra requisição consumiu o token entre a leitura e o UPDATE condicional.
+        when(repository.markUsed(anyLong(), any(Instant.class))).thenReturn(0);
+
+        assertThrows(UnauthorizedException.class, () -> service.rotate(primeiro));
+
+        verify(repository).revokeFamily(tokens.get(0).getFamilyId());
+        assertEquals(1, tokens.size());
+    }
+
+    @Test
+    void tokenExpiradoEhRecusadoSemRevogarAFamilia() {
+        String primeiro = service.issue(user);
+        tokens.get(0).setExpiresAt(Instant.now().minusSeconds(1));
+
+        UnauthorizedException ex = assertThrows(UnauthorizedException.class, () -> service.rotate(primeiro));
+
+        assertEquals("Refresh token expirado.", ex.getMessage());
+        verify(repository, never()).markUsed(anyLong(), any(Instant.class));
+        verify(repository, never()).revokeFamily(anyString());
+    }
+
+    @Test
+    void tokenDesconhecidoEhRecusado() {
+        assertThrows(UnauthorizedException.class, () -> service.rotate("desconhecido"));
+
+        verify(repository, never()).revokeFamily(anyString());
+    }
+
+    @Test
+    void logoutRevogaAFamiliaEImpedeARenovacao() {
+        String primeiro = service.issue(user);
+        String segundo = service.rotate(primeiro).refreshToken();
+        String outraSessao = service.issue(user);
+
+        service.revokeFamilyOf(segundo);
+
+        assertThrows(UnauthorizedException.class, () -> service.rotate(segundo));
+        assertNotNull(service.rotate(outraSessao).refreshToken());
+    }
+
+    @Test
+    void logoutComTokenDesconhecidoNaoRevogaNada() {
+        service.issue(user);
+
+        service.revokeFamilyOf("desconhecido");
+
+        verify(repository, never()).revokeFamily(anyString());
+        assertFalse(tokens.get(0).getRevoked());
+    }
+
+    @Test
+    void revogarTodasAsSessoesAlcancaTodasAsFamilias() {
+        String primeiro = service.issue(user);
+        String segundo = service.issue(user);
+
+        service.revokeAllForUser(user.getId());
+
+        assertThrows(UnauthorizedException.class, () -> service.rotate(primeiro));
+        assertThrows(UnauthorizedException.class, () -> service.rotate(segundo));
+        verify(repository, times(2)).revokeFamily(anyString());
+    }
+}
@@ -0,0 +1,109 @@
+package com.zoonosys.security.authentication;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.zoonosys.models.RevokedToken;
+import com.zoonosys.repositories.RevokedTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TokenRevocationServiceTest {
+
+    private static final String EMAIL = "ana@zoonosys.com";
+
+    private final RevokedTokenRepository revokedTokenRepository = mock(RevokedTokenRepository.class);
+
+    private final JwtTokenService jwtTokenService = mock(JwtTokenService.class);
+
+    private final TokenRevocationService service =
+            new TokenRevocationService(revokedTokenRepository, jwtTokenService, 0.01);
+
+    @BeforeEach
+    void configura() {
+        when(jwtTokenService.getAccessTokenTtl()).thenReturn(Duration.ofHours(4));
+    }
+
+    private static DecodedJWT token(String subject, Instant issuedAt) {
+        return JWT.decode(JWT.create()
+                .withSubject(subject)
+                .withIssuedAt(issuedAt)
+                .withExpiresAt(issuedAt.plus(Duration.ofHours(4)))
+                .withJWTId(UUID.randomUUID().toString())
+                .sign(Algorithm.HMAC256("segredo-de-teste")));
+    }
+
+    /** Revoga todas as sessões e devolve o registro gravado, que passa a ser o lido do banco. */
+    private RevokedToken revogaTudo() {
+        service.revokeAllForUser(EMAIL);
+        ArgumentCaptor<RevokedToken> saved = ArgumentCaptor.forClass(RevokedToken.class);
+        verify(revokedTokenRepository).save(saved.capture());
+        RevokedToken revoked = saved.getValue();
+        when(revokedTokenRepository.findByRevocationKey("user:" + EMAIL)).thenReturn(Optional.of(revoked));
+        return revoked;
+    }
+
+    @Test
+    void revogacaoGuardaOInstanteTruncadoAoSegundo() {
+        RevokedToken revoked = revogaTudo();
+
+        assertEquals("user:" + EMAIL, revoked.getRevocationKey());
+        assertEquals(revoked.getRevokedAt().truncatedTo(ChronoUnit.SECONDS), revoked.getRevokedAt());
+    }
+
+    @Test
+    void tokenEmitidoNoMesmoSegundoDaRevogacaoEhRecusado() {
+        Instant revokedAt = revogaTudo().getRevokedAt();
+
+        assertTrue(service.isRevoked(token(EMAIL, revokedAt)));
+        assertTrue(service.isRevoked(token(EMAIL, revokedAt.plusMillis(999))));
+    }
+
+    @Test
+    void tokenEmitidoAntesDaRevogacaoEhRecusado() {
+        Instant revokedAt = revogaTudo().getRevokedAt();
+
+        assertTrue(service.isRevoked(token(EMAIL, revokedAt.minusSeconds(1))));
+    }
+
+    @Test
+    void tokenEmitidoNoSegundoSeguinteEhAceito() {
+        Instant revokedAt = revogaTudo().getRevokedAt();
+
+        assertFalse(service.isRevoked(token(EMAIL, revokedAt.plusSeconds(1))));
+    }
+
+    @Test
+    void logoutRevogaApenasOProprioToken() {
+        DecodedJWT jwt = token(EMAIL, Instant.now());
+        service.revokeToken(jwt);
+        when(revokedTokenRepository.existsByRevocationKey("jti:" + jwt.getId())).thenReturn(true);
+
+        assertTrue(service.isRevoked(jwt));
+        assertFalse(service.isRevoked(token(EMAIL, Instant.now())));
+    }
+
+    @Test
+    void tokenSemRevogacaoNaoConsultaOBanco() {
+        assertFalse(service.isRevoked(token("outro@zoonosys.com", Instant.now())));
+
+        verify(revokedTokenRepository, never()).existsByRevocationKey(anyString());
+        verify(revokedTokenRepository, never()).findByRevocationKey(anyString());
+    }
+}
@@ -0,0 +1,153 @@
+package com.zoonosys.security.authentication;
+
+import com.zoonosys.enums.RoleName;
+import com.zoonosys.models.Role;
+import com.zoonosys.models.User;
+import com.zoonosys.repositories.UserRepository;
+import com.zoonosys.security.userdetails.UserDetailsImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Filtro em modo "claims": o principal vem do token e só a versão do token é conferida,
+ * via {@link TokenVersionCache}.
+ */
+class UserAuthenticationFilterTest {
+
+    private static final long USER_ID = 7L;
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+
+    private final PrincipalCache principalCache = mock(PrincipalCache.class);
+
+    private final TokenRevocationService tokenRevocationService = mock(TokenRevocationService.class);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final JwtTokenService jwtTokenService = new JwtTokenService("segredo-de-teste", "zoonosys-test",
+            Duration.ofHours(1), true, 100, Duration.ofMinutes(15), meterRegistry);
+
+    private final TokenVersionCache tokenVersionCache = new TokenVersionCache(userRepository, Duration.ofMinutes(5),
+            meterRegistry);
+
+    private final UserAuthenticationFilter filter = new UserAuthenticationFilter();
+
+    @BeforeEach
+    void configura() {
+        ReflectionTestUtils.setField(filter, "jwtTokenService", jwtTokenService);
+        ReflectionTestUtils.setField(filter, "userRepository", userRepository);
+        ReflectionTestUtils.setField(filter, "principalCache", principalCache);
+        ReflectionTestUtils.setField(filter, "tokenVersionCache", tokenVersionCache);
+        ReflectionTestUtils.setField(filter, "tokenRevocationService", tokenRevocationService);
+    }
+
+    @AfterEach
+    void limpa() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private String token(int version) {
+        User user = User.builder()
+                .id(USER_ID)
+                .email("admin@zoonosys.com")
+                .name("Admin")
+                .roles(List.of(Role.builder().name(RoleName.ROLE_ADMINISTRATOR).build()))
+                .tokenVersion(version)
+                .build();
+        return jwtTokenService.generateToken(new UserDetailsImpl(user));
+    }
+
+    /** Executa o filtro e devolve a autenticação resultante; a cadeia segue em qualquer caso. */
+    private Authentication autentica(String token) throws ServletException, IOException {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/users");
+        request.addHeader("Authorization", "Bearer " + token);
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertNotNull(chain.getRequest());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    @Test
+    void tokenComVersaoAtualAutenticaSemCarregarOUsuario() throws ServletException, IOException {
+        when(userRepository.findTokenVersionById(USER_ID)).thenReturn(Optional.of(0));
+
+        Authentication authentication = autentica(token(0));
+
+        assertNotNull(authentication);
+        UserDetailsImpl principal = (UserDetailsImpl) authentication.getPrincipal();
+        assertEquals("admin@zoonosys.com", principal.getUsername());
+        assertEquals(List.of("ROLE_ADMINISTRATOR"),
+                authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+        verify(userRepository, never()).findByEmail(anyString());
+        verify(principalCache, never()).get(anyString(), any());
+    }
+
+    @Test
+    void tokenComVersaoAntigaEhRecusado() throws ServletException, IOException {
+        when(userRepository.findTokenVersionById(USER_ID)).thenReturn(Optional.of(1));
+
+        assertNull(autentica(token(0)));
+    }
+
+    @Test
+    void tokenDeUsuarioRemovidoEhRecusado() throws ServletException, IOException {
+        when(userRepository.findTokenVersionById(USER_ID)).thenReturn(Optional.empty());
+
+        assertNull(autentica(token(0)));
+    }
+
+    @Test
+    void novaVersaoValeAssimQueOCacheEhInvalidado() throws ServletException, IOException {
+        String antigo = token(0);
+        when(userRepository.findTokenVersionById(USER_ID)).thenReturn(Optional.of(0));
+        assertNotNull(autentica(antigo));
+
+        // O papel mudou (versão 1), mas a versão 0 continua em cache até a invalidação ou o TTL.
+        when(userRepository.findTokenVersionById(USER_ID)).thenReturn(Optional.of(1));
+        assertNotNull(autentica(antigo));
+        verify(userRepository, times(1)).findTokenVersionById(USER_ID);
+
+        tokenVersionCache.invalidate(USER_ID);
+
+        assertNull(autentica(antigo));
+        assertNotNull(autentica(token(1)));
+        verify(userRepository, times(2)).findTokenVersionById(USER_ID);
+    }
+
+    @Test
+    void tokenRevogadoNaoConsultaAVersao() throws ServletException, IOException {
+        when(tokenRevocationService.isRevoked(any())).thenReturn(true);
+
+        assertNull(autentica(token(0)));
+        verify(userRepository, never()).findTokenVersionById(any());
+    }
+}
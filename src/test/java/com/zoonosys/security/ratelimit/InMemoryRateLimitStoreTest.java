@@ -0,0 +1,104 @@
+package com.zoonosys.security.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InMemoryRateLimitStoreTest {
+
+    private static InMemoryRateLimitStore store() {
+        return new InMemoryRateLimitStore(new RateLimitProperties(true, "memory", 1_000, Map.of()));
+    }
+
+    @Test
+    void permiteRajadaAteACapacidade() {
+        InMemoryRateLimitStore store = store();
+        RateLimitProperties.Limit limit = new RateLimitProperties.Limit(3, Duration.ofHours(1));
+
+        assertTrue(store.tryAcquire("ip:1", limit));
+        assertTrue(store.tryAcquire("ip:1", limit));
+        assertTrue(store.tryAcquire("ip:1", limit));
+        assertFalse(store.tryAcquire("ip:1", limit));
+    }
+
+    @Test
+    void chavesTemBucketsIndependentes() {
+        InMemoryRateLimitStore store = store();
+        RateLimitProperties.Limit limit = new RateLimitProperties.Limit(1, Duration.ofHours(1));
+
+        assertTrue(store.tryAcquire("ip:1", limit));
+        assertFalse(store.tryAcquire("ip:1", limit));
+        assertTrue(store.tryAcquire("ip:2", limit));
+    }
+
+    @Test
+    void reabasteceAposOIntervaloDeEmissao() throws InterruptedException {
+        InMemoryRateLimitStore store = store();
+        RateLimitProperties.Limit limit = new RateLimitProperties.Limit(1, Duration.ofMillis(100));
+
+        assertTrue(store.tryAcquire("email:a", limit));
+        assertFalse(store.tryAcquire("email:a", limit));
+
+        Thread.sleep(150);
+        assertTrue(store.tryAcquire("email:a", limit));
+    }
+
+    @Test
+    void acessosConcorrentesNaoUltrapassamACapacidade() throws Exception {
+        InMemoryRateLimitStore store = store();
+        RateLimitProperties.Limit limit = new RateLimitProperties.Limit(50, Duration.ofHours(1));
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    int acquired = 0;
+                    for (int i = 0; i < 100; i++) {
+                        if (store.tryAcquire("ip:shared", limit)) {
+                            acquired++;
+                        }
+                    }
+                    return acquired;
+                }));
+            }
+            start.countDown();
+
+            int total = 0;
+            for (Future<Integer> result : results) {
+                total += result.get(10, TimeUnit.SECONDS);
+            }
+            assertEquals(50, total);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void evictIdleRemoveBucketsJaReabastecidos() throws InterruptedException {
+        InMemoryRateLimitStore store = store();
+        RateLimitProperties.Limit shortLimit = new RateLimitProperties.Limit(1, Duration.ofMillis(50));
+        RateLimitProperties.Limit longLimit = new RateLimitProperties.Limit(1, Duration.ofHours(1));
+
+        store.tryAcquire("ip:curto", shortLimit);
+        store.tryAcquire("ip:longo", longLimit);
+        Thread.sleep(100);
+
+        assertEquals(1, store.evictIdle());
+        assertFalse(store.tryAcquire("ip:longo", longLimit));
+    }
+}
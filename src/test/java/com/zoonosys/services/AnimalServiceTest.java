@@ -0,0 +1,157 @@
+package com.zoonosys.services;
+
+import com.zoonosys.dtos.RegisterAnimalDTO;
+import com.zoonosys.dtos.UpdateAnimalDTO;
+import com.zoonosys.enums.AnimalGender;
+import com.zoonosys.enums.AnimalSize;
+import com.zoonosys.enums.AnimalSpecies;
+import com.zoonosys.models.Animal;
+import com.zoonosys.models.User;
+import com.zoonosys.repositories.AnimalRepository;
+import com.zoonosys.repositories.UserRepository;
+import com.zoonosys.security.SecuritySanitizer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AnimalServiceTest {
+
+    @Mock
+    private AnimalRepository animalRepository;
+
+    @Mock
+    private SecuritySanitizer sanitizer;
+
+    @Mock
+    private PagedQueryExecutor pagedQueryExecutor;
+
+    @Mock
+    private AnimalSuggestIndex suggestIndex;
+
+    @Mock
+    private AnimalFacetCounter facetCounter;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ImageStorageService imageStorage;
+
+    @InjectMocks
+    private AnimalService animalService;
+
+    private Animal animal;
+
+    @BeforeEach
+    void configura() {
+        animal = Animal.builder()
+                .id(5L)
+                .name("Pitoco")
+                .breed("SRD")
+                .species(AnimalSpecies.CANINE)
+                .gender(AnimalGender.MALE)
+                .size(AnimalSize.SMALL)
+                .isVaccinated(true)
+                .isNeutered(false)
+                .build();
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void encerraTransacao() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    private static UpdateAnimalDTO atualizacao() {
+        return new UpdateAnimalDTO("Pitoco", "Vira-lata", Optional.empty(), true, true,
+                Optional.empty(), Optional.empty(), AnimalSpecies.CANINE, AnimalGender.MALE, AnimalSize.MEDIUM);
+    }
+
+    private static void confirma() {
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+    }
+
+    @Test
+    void cadastroInvalidaAsPaginasSomenteAposOCommit() {
+        when(animalRepository.save(any(Animal.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        RegisterAnimalDTO cadastro = new RegisterAnimalDTO("Mel", "SRD", Optional.empty(), true, true,
+                Optional.empty(), Optional.empty(), AnimalSpecies.FELINE, AnimalGender.FEMALE, AnimalSize.SMALL);
+
+        animalService.register(cadastro, new User());
+
+        verify(pagedQueryExecutor, never()).invalidate(anyString());
+        confirma();
+        verify(pagedQueryExecutor).invalidate(AnimalService.PAGE_KEY);
+    }
+
+    @Test
+    void atualizacaoBloqueiaALinhaEInvalidaAposOCommit() {
+        when(animalRepository.findByIdForUpdate(5L)).thenReturn(Optional.of(animal));
+        when(animalRepository.save(animal)).thenReturn(animal);
+
+        animalService.update(5L, atualizacao());
+
+        verify(animalRepository, never()).findById(anyLong());
+        verify(pagedQueryExecutor, never()).invalidate(anyString());
+        confirma();
+        verify(pagedQueryExecutor).invalidate(AnimalService.PAGE_KEY);
+    }
+
+    @Test
+    void atualizacaoDeAnimalJaAdotadoPreservaOAdotanteENaoMexeEmSugestoesNemFacetas() {
+        // A adoção concorrente terminou antes: sob o bloqueio, a atualização já enxerga o adotante.
+        User adotante = new User();
+        animal.setAdoptingUser(adotante);
+        when(animalRepository.findByIdForUpdate(5L)).thenReturn(Optional.of(animal));
+        when(animalRepository.save(animal)).thenReturn(animal);
+
+        Animal salvo = animalService.update(5L, atualizacao());
+
+        assertSame(adotante, salvo.getAdoptingUser());
+        verify(suggestIndex, never()).remove(anyString(), anyString());
+        verify(suggestIndex, never()).add(any());
+        verify(facetCounter, never()).removed(any());
+        verify(facetCounter, never()).added(any());
+    }
+
+    @Test
+    void exclusaoBloqueiaALinhaEInvalidaAposOCommit() {
+        when(animalRepository.findByIdForUpdate(5L)).thenReturn(Optional.of(animal));
+
+        animalService.delete(5L);
+
+        verify(animalRepository).delete(animal);
+        verify(animalRepository, never()).findById(anyLong());
+        verify(pagedQueryExecutor, never()).invalidate(anyString());
+        confirma();
+        verify(pagedQueryExecutor).invalidate(AnimalService.PAGE_KEY);
+    }
+
+    @Test
+    void rollbackNaoInvalidaAsPaginas() {
+        when(animalRepository.findByIdForUpdate(5L)).thenReturn(Optional.of(animal));
+
+        animalService.delete(5L);
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        verify(pagedQueryExecutor, never()).invalidate(anyString());
+    }
+}
@@ -0,0 +1,141 @@
+package com.zoonosys.services;
+
+import com.zoonosys.models.Animal;
+import com.zoonosys.repositories.AnimalRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AnimalSuggestIndexTest {
+
+    private final AnimalRepository animalRepository = mock(AnimalRepository.class);
+
+    private AnimalSuggestIndex index(int maxTerms, String... namesAndBreeds) {
+        List<AnimalRepository.NameAndBreed> rows = new ArrayList<>();
+        for (int i = 0; i < namesAndBreeds.length; i += 2) {
+            rows.add(row(namesAndBreeds[i], namesAndBreeds[i + 1]));
+        }
+        when(animalRepository.findAvailableNamesAndBreeds()).thenReturn(rows);
+        AnimalSuggestIndex index = new AnimalSuggestIndex(animalRepository, new SimpleMeterRegistry(), maxTerms);
+        index.rebuild();
+        return index;
+    }
+
+    private static AnimalRepository.NameAndBreed row(String name, String breed) {
+        return new AnimalRepository.NameAndBreed() {
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public String getBreed() {
+                return breed;
+            }
+        };
+    }
+
+    private static AnimalSuggestIndex.Suggestion name(String value, int count) {
+        return new AnimalSuggestIndex.Suggestion(value, AnimalSuggestIndex.Field.NAME, count);
+    }
+
+    private static AnimalSuggestIndex.Suggestion breed(String value, int count) {
+        return new AnimalSuggestIndex.Suggestion(value, AnimalSuggestIndex.Field.BREED, count);
+    }
+
+    @Test
+    void sugerePorPrefixoSemAcentosEmOrdemAlfabetica() {
+        AnimalSuggestIndex index = index(100,
+                "Pitoco", "SRD",
+                "Pipoca", "Poodle",
+                "Pitoco", "Pinscher",
+                "Bolinha", "Pastor Alemão");
+
+        assertEquals(List.of(breed("Pinscher", 1), name("Pipoca", 1), name("Pitoco", 2)), index.suggest("PI", 10));
+        assertEquals(List.of(breed("Pastor Alemão", 1)), index.suggest("pastor ale", 10));
+        assertEquals(List.of(breed("Pastor Alemão", 1)), index.suggest("  PASTOR   ALEMAO", 10));
+    }
+
+    @Test
+    void respeitaOLimite() {
+        AnimalSuggestIndex index = index(100, "Ana", "SRD", "Amora", "SRD", "Apolo", "SRD");
+
+        assertEquals(List.of(name("Amora", 1), name("Ana", 1)), index.suggest("a", 2));
+        assertTrue(index.suggest("a", 0).isEmpty());
+        assertTrue(index.suggest("  ", 10).isEmpty());
+        assertTrue(index.suggest("z", 10).isEmpty());
+    }
+
+    @Test
+    void inclusoesSoAparecemAposOFlush() {
+        AnimalSuggestIndex index = index(100, "Rex", "Boxer");
+
+        index.add(Animal.builder().name("Rex").breed("Beagle").build());
+        index.add(Animal.builder().name("Thor").breed("Beagle").build());
+        assertEquals(List.of(name("Rex", 1)), index.suggest("rex", 10));
+
+        index.flush();
+        assertEquals(List.of(name("Rex", 2)), index.suggest("rex", 10));
+        assertEquals(List.of(name("Thor", 1)), index.suggest("thor", 10));
+        assertEquals(List.of(breed("Beagle", 2)), index.suggest("beagle", 10));
+    }
+
+    @Test
+    void remocoesDecrementamESaemAoZerar() {
+        AnimalSuggestIndex index = index(100, "Rex", "Boxer", "Rex", "SRD");
+
+        index.remove("Rex", "Boxer");
+        index.flush();
+        assertEquals(List.of(name("Rex", 1)), index.suggest("rex", 10));
+        assertTrue(index.suggest("boxer", 10).isEmpty());
+    }
+
+    @Test
+    void variacoesDoMesmoTermoSeCompensamNoLote() {
+        AnimalSuggestIndex index = index(100, "Rex", "Boxer");
+
+        index.add(Animal.builder().name("Luna").breed("Boxer").build());
+        index.remove("Luna", "Boxer");
+        index.flush();
+
+        assertTrue(index.suggest("luna", 10).isEmpty());
+        assertEquals(List.of(breed("Boxer", 1)), index.suggest("boxer", 10));
+    }
+
+    @Test
+    void reconstrucaoMantemOsTermosMaisFrequentes() {
+        AnimalSuggestIndex index = index(2,
+                "Aaa", "SRD",
+                "Zezé", "SRD",
+                "Zezé", "SRD");
+
+        // Cabem dois termos: a raça SRD (3) e o nome Zezé (2); Aaa (1) fica de fora.
+        assertTrue(index.suggest("aaa", 10).isEmpty());
+        assertEquals(List.of(name("Zezé", 2)), index.suggest("zeze", 10));
+        assertEquals(List.of(breed("SRD", 3)), index.suggest("srd", 10));
+    }
+
+    @Test
+    void flushNaoUltrapassaOLimiteDeTermos() {
+        AnimalSuggestIndex index = index(2, "Rex", "SRD");
+
+        index.add(Animal.builder().name("Thor").breed("SRD").build());
+        index.flush();
+
+        assertTrue(index.suggest("thor", 10).isEmpty());
+        assertEquals(List.of(breed("SRD", 2)), index.suggest("srd", 10));
+    }
+
+    @Test
+    void normalizaAcentosEspacosEMaiusculas() {
+        assertEquals("sao joao", AnimalSuggestIndex.normalize("  São   JOÃO "));
+        assertEquals("", AnimalSuggestIndex.normalize(null));
+    }
+}
@@ -0,0 +1,114 @@
+package com.zoonosys.services;
+
+import com.zoonosys.exceptions.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CsvReaderTest {
+
+    private static CsvReader reader(String content, char separator) {
+        return new CsvReader(new StringReader(content), separator, 100);
+    }
+
+    @Test
+    void leRegistrosSimples() throws IOException {
+        CsvReader csv = reader("name,breed\nPitoco,SRD\n", ',');
+
+        assertEquals(List.of("name", "breed"), csv.next());
+        assertEquals(List.of("Pitoco", "SRD"), csv.next());
+        assertNull(csv.next());
+    }
+
+    @Test
+    void aceitaCrlfEUltimaLinhaSemQuebra() throws IOException {
+        CsvReader csv = reader("a,b\r\nc,d", ',');
+
+        assertEquals(List.of("a", "b"), csv.next());
+        assertEquals(List.of("c", "d"), csv.next());
+        assertNull(csv.next());
+    }
+
+    @Test
+    void campoEntreAspasComQuebrasDeLinhaEAspasDuplicadas() throws IOException {
+        CsvReader csv = reader("\"linha 1\r\nlinha 2\nfim\",\"diz \"\"oi\"\"\",\"a,b\"\n", ',');
+
+        assertEquals(List.of("linha 1\r\nlinha 2\nfim", "diz \"oi\"", "a,b"), csv.next());
+        assertNull(csv.next());
+    }
+
+    @Test
+    void campoVazioEntreAspas() throws IOException {
+        CsvReader csv = reader("\"\",x,\n", ',');
+
+        assertEquals(List.of("", "x", ""), csv.next());
+    }
+
+    @Test
+    void linhaDoRegistroContaQuebrasDentroDeAspas() throws IOException {
+        CsvReader csv = reader("h1,h2\n\"a\nb\",c\nd,e\n", ',');
+
+        csv.next();
+        assertEquals(1, csv.recordLine());
+        csv.next();
+        assertEquals(2, csv.recordLine());
+        csv.next();
+        assertEquals(4, csv.recordLine());
+    }
+
+    @Test
+    void separadorPontoEVirgula() throws IOException {
+        CsvReader csv = reader("nome;raça\n\"Rex; o bravo\";Boxer\n", ';');
+
+        assertEquals(List.of("nome", "raça"), csv.next());
+        assertEquals(List.of("Rex; o bravo", "Boxer"), csv.next());
+    }
+
+    @Test
+    void linhaEmBrancoViraUmCampoVazio() throws IOException {
+        CsvReader csv = reader("a\n\nb\n", ',');
+
+        assertEquals(List.of("a"), csv.next());
+        assertEquals(List.of(""), csv.next());
+        assertEquals(List.of("b"), csv.next());
+    }
+
+    @Test
+    void aspasNaoFechadasSaoRecusadas() throws IOException {
+        CsvReader csv = reader("a,b\n\"aberto,c\n", ',');
+        csv.next();
+
+        BadRequestException error = assertThrows(BadRequestException.class, csv::next);
+        assertEquals("Aspas não fechadas no registro da linha 2.", error.getMessage());
+    }
+
+    @Test
+    void campoAcimaDoLimiteERecusado() {
+        CsvReader csv = new CsvReader(new StringReader("abcdef\n"), ',', 5);
+
+        assertThrows(BadRequestException.class, csv::next);
+    }
+
+    @Test
+    void detectaPontoEVirgulaSemConsumirOCabecalho() throws IOException {
+        BufferedReader reader = new BufferedReader(new StringReader("nome;raça\nRex;Boxer\n"));
+
+        assertEquals(';', CsvReader.detectSeparator(reader, 1000));
+        assertEquals("nome;raça", reader.readLine());
+    }
+
+    @Test
+    void detectaVirgula() throws IOException {
+        assertEquals(',', CsvReader.detectSeparator(new BufferedReader(new StringReader("nome,raça\n")), 1000));
+        // Com os dois caracteres no cabeçalho, vale a vírgula.
+        assertEquals(',', CsvReader.detectSeparator(new BufferedReader(new StringReader("nome,\"a;b\"\n")), 1000));
+        assertEquals(',', CsvReader.detectSeparator(new BufferedReader(new StringReader("")), 1000));
+    }
+}
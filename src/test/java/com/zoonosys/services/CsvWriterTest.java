@@ -0,0 +1,54 @@
+package com.zoonosys.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CsvWriterTest {
+
+    private static String write(List<?> values) throws IOException {
+        StringWriter out = new StringWriter();
+        new CsvWriter(out).writeRecord(values);
+        return out.toString();
+    }
+
+    @Test
+    void camposSimplesSemAspas() throws IOException {
+        assertEquals("Pitoco,SRD,42,true\r\n", write(List.of("Pitoco", "SRD", 42, true)));
+    }
+
+    @Test
+    void aspasQuandoHaSeparadorAspasOuQuebraDeLinha() throws IOException {
+        assertEquals("\"a,b\",\"diz \"\"oi\"\"\",\"l1\nl2\",\"l1\r\nl2\"\r\n",
+                write(List.of("a,b", "diz \"oi\"", "l1\nl2", "l1\r\nl2")));
+    }
+
+    @Test
+    void nuloViraCampoVazio() throws IOException {
+        assertEquals(",x,\r\n", write(Arrays.asList(null, "x", null)));
+    }
+
+    @Test
+    void datasEmIso8601Utc() throws IOException {
+        Timestamp timestamp = Timestamp.from(Instant.parse("2026-03-01T12:30:00Z"));
+
+        assertEquals("2026-03-01T12:30:00Z\r\n", write(List.of(timestamp)));
+    }
+
+    @Test
+    void valoresComCaraDeFormulaRecebemApostrofo() throws IOException {
+        assertEquals("'=SUM(A1:A9),'+1,'-1,'@cmd\r\n", write(List.of("=SUM(A1:A9)", "+1", "-1", "@cmd")));
+    }
+
+    @Test
+    void formulaComSeparadorRecebeApostrofoEAspas() throws IOException {
+        assertEquals("\"'=HYPERLINK(\"\"x\"\",\"\"y\"\")\"\r\n", write(List.of("=HYPERLINK(\"x\",\"y\")")));
+    }
+}
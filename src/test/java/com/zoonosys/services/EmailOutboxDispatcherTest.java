@@ -0,0 +1,221 @@
+package com.zoonosys.services;
+
+import com.zoonosys.enums.EmailOutboxStatus;
+import com.zoonosys.exceptions.ServiceUnavailableException;
+import com.zoonosys.models.EmailOutbox;
+import com.zoonosys.repositories.EmailOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.MailSendException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EmailOutboxDispatcherTest {
+
+    private static final int BATCH_SIZE = 2;
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    private static final Duration BASE_BACKOFF = Duration.ofSeconds(30);
+
+    private static final Duration LEASE = Duration.ofMinutes(2);
+
+    private final EmailOutboxRepository outboxRepository = mock(EmailOutboxRepository.class);
+
+    private final EmailService emailService = mock(EmailService.class);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final EmailOutboxDispatcher dispatcher = new EmailOutboxDispatcher(outboxRepository, emailService,
+            mock(PlatformTransactionManager.class), meterRegistry,
+            BATCH_SIZE, MAX_ATTEMPTS, BASE_BACKOFF, LEASE, Duration.ofDays(7));
+
+    @BeforeEach
+    void configura() throws MessagingException {
+        when(emailService.isAvailable()).thenReturn(true);
+        when(emailService.render(any())).thenAnswer(invocation -> mock(MimeMessage.class));
+        when(outboxRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    private static EmailOutbox outbox(long id, int attempts) {
+        EmailOutbox outbox = new EmailOutbox();
+        outbox.setId(id);
+        outbox.setTemplate(EmailService.PASSWORD_RESET_TEMPLATE);
+        outbox.setRecipient("usuario" + id + "@zoonosys.com");
+        outbox.setPayload("{\"resetToken\":\"segredo\"}");
+        outbox.setAttempts(attempts);
+        return outbox;
+    }
+
+    @SafeVarargs
+    private void fila(List<EmailOutbox>... lotes) {
+        Iterator<List<EmailOutbox>> respostas = Arrays.asList(lotes).iterator();
+        when(outboxRepository.lockNextBatch(any(Instant.class), eq(BATCH_SIZE)))
+                .thenAnswer(invocation -> respostas.hasNext() ? new ArrayList<>(respostas.next()) : new ArrayList<>());
+    }
+
+    private double counter(String name) {
+        return meterRegistry.get(name).counter().count();
+    }
+
+    private static void assertBetween(Instant value, Instant from, Instant to) {
+        assertFalse(value.isBefore(from), value + " antes de " + from);
+        assertFalse(value.isAfter(to), value + " depois de " + to);
+    }
+
+    @Test
+    void reivindicaOLoteAntesDeEnviarEMarcaComoEnviado() {
+        EmailOutbox outbox = outbox(1, 0);
+        fila(List.of(outbox));
+        Instant before = Instant.now();
+        doAnswer(invocation -> {
+            assertEquals(EmailOutboxStatus.SENDING, outbox.getStatus());
+            assertEquals(1, outbox.getAttempts());
+            assertFalse(outbox.getLockedUntil().isBefore(before.plus(LEASE)));
+            return null;
+        }).when(emailService).send(anyString(), any(MimeMessage[].class));
+
+        dispatcher.dispatch();
+
+        assertEquals(EmailOutboxStatus.SENT, outbox.getStatus());
+        assertNotNull(outbox.getSentAt());
+        assertNull(outbox.getLockedUntil());
+        assertNull(outbox.getLastError());
+        assertEquals("{}", outbox.getPayload());
+        assertEquals(1.0, counter("email.outbox.sent"));
+    }
+
+    @Test
+    void continuaReivindicandoEnquantoOLoteVemCheio() {
+        fila(List.of(outbox(1, 0), outbox(2, 0)), List.of(outbox(3, 0)));
+
+        dispatcher.dispatch();
+
+        verify(outboxRepository, times(2)).lockNextBatch(any(Instant.class), eq(BATCH_SIZE));
+        assertEquals(3.0, counter("email.outbox.sent"));
+    }
+
+    @Test
+    void falhaVoltaParaAFilaComBackoffExponencial() {
+        EmailOutbox primeira = outbox(1, 0);
+        EmailOutbox segunda = outbox(2, 1);
+        fila(List.of(primeira, segunda));
+        doThrow(new MailSendException("SMTP indisponível"))
+                .when(emailService).send(anyString(), any(MimeMessage[].class));
+
+        Instant before = Instant.now();
+        dispatcher.dispatch();
+        Instant after = Instant.now();
+
+        assertEquals(EmailOutboxStatus.PENDING, primeira.getStatus());
+        assertNull(primeira.getLockedUntil());
+        assertTrue(primeira.getLastError().contains("SMTP indisponível"));
+        assertBetween(primeira.getNextAttemptAt(), before.plus(BASE_BACKOFF), after.plus(BASE_BACKOFF));
+        // Segunda tentativa: o atraso dobra.
+        assertBetween(segunda.getNextAttemptAt(), before.plus(BASE_BACKOFF.multipliedBy(2)),
+                after.plus(BASE_BACKOFF.multipliedBy(2)));
+        assertEquals(2.0, counter("email.outbox.failed"));
+        assertEquals(0.0, counter("email.outbox.sent"));
+    }
+
+    @Test
+    void descartaAposOLimiteDeTentativas() {
+        EmailOutbox outbox = outbox(1, MAX_ATTEMPTS - 1);
+        fila(List.of(outbox));
+        doThrow(new MailSendException("SMTP indisponível"))
+                .when(emailService).send(anyString(), any(MimeMessage[].class));
+
+        dispatcher.dispatch();
+
+        assertEquals(EmailOutboxStatus.DEAD, outbox.getStatus());
+        assertEquals(MAX_ATTEMPTS, outbox.getAttempts());
+        assertTrue(outbox.getLastError().contains("SMTP indisponível"));
+        assertEquals("{}", outbox.getPayload());
+        assertEquals(1.0, counter("email.outbox.dead"));
+        assertEquals(0.0, counter("email.outbox.failed"));
+    }
+
+    @Test
+    void falhaParcialAfetaSoAsMensagensRecusadas() throws MessagingException {
+        EmailOutbox aceita = outbox(1, 0);
+        EmailOutbox recusada = outbox(2, 0);
+        MimeMessage mensagemRecusada = mock(MimeMessage.class);
+        when(emailService.render(recusada)).thenReturn(mensagemRecusada);
+        fila(List.of(aceita, recusada));
+        Map<Object, Exception> recusas = Map.of(mensagemRecusada, new MessagingException("caixa inexistente"));
+        doThrow(new MailSendException(recusas))
+                .when(emailService).send(anyString(), any(MimeMessage[].class));
+
+        dispatcher.dispatch();
+
+        assertEquals(EmailOutboxStatus.SENT, aceita.getStatus());
+        assertEquals(EmailOutboxStatus.PENDING, recusada.getStatus());
+        assertTrue(recusada.getLastError().contains("caixa inexistente"));
+    }
+
+    @Test
+    void falhaAoRenderizarNaoImpedeOEnvioDoRestoDoLote() throws MessagingException {
+        EmailOutbox valida = outbox(1, 0);
+        EmailOutbox invalida = outbox(2, 0);
+        when(emailService.render(invalida)).thenThrow(new MessagingException("template inválido"));
+        fila(List.of(valida, invalida));
+
+        dispatcher.dispatch();
+
+        assertEquals(EmailOutboxStatus.SENT, valida.getStatus());
+        assertEquals(EmailOutboxStatus.PENDING, invalida.getStatus());
+        assertTrue(invalida.getLastError().contains("template inválido"));
+    }
+
+    @Test
+    void recusaDoDisjuntorDevolveATentativa() {
+        EmailOutbox outbox = outbox(1, 0);
+        fila(List.of(outbox));
+        doThrow(new ServiceUnavailableException("Servidor de e-mail indisponível."))
+                .when(emailService).send(anyString(), any(MimeMessage[].class));
+
+        dispatcher.dispatch();
+
+        assertEquals(EmailOutboxStatus.PENDING, outbox.getStatus());
+        assertEquals(0, outbox.getAttempts());
+        assertNull(outbox.getLastError());
+        assertEquals(0.0, counter("email.outbox.failed"));
+    }
+
+    @Test
+    void disjuntorAbertoNaoReivindicaLotes() {
+        when(emailService.isAvailable()).thenReturn(false);
+
+        dispatcher.dispatch();
+
+        verify(outboxRepository, never()).lockNextBatch(any(Instant.class), anyInt());
+    }
+}
@@ -0,0 +1,237 @@
+package com.zoonosys.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zoonosys.exceptions.ServiceUnavailableException;
+import com.zoonosys.repositories.EmailOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Envio contra um servidor SMTP mínimo no próprio processo, com os mesmos timeouts de socket configurados em
+ * {@code SecurityConfig}.
+ */
+class EmailServiceTest {
+
+    private static final String TEMPLATE = EmailService.PASSWORD_RESET_TEMPLATE;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final MailCircuitBreaker circuitBreaker = new MailCircuitBreaker(2, Duration.ofMinutes(1), meterRegistry);
+
+    private SmtpServer server;
+
+    private JavaMailSenderImpl mailSender;
+
+    private EmailService emailService;
+
+    @AfterEach
+    void encerra() throws IOException {
+        server.close();
+    }
+
+    private void inicia(boolean responsive) throws IOException {
+        server = new SmtpServer(responsive);
+        mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("127.0.0.1");
+        mailSender.setPort(server.port());
+        Properties props = mailSender.getJavaMailProperties();
+        props.put("mail.smtp.connectiontimeout", "1000");
+        props.put("mail.smtp.timeout", "200");
+        props.put("mail.smtp.writetimeout", "1000");
+        emailService = new EmailService(mailSender, mock(EmailOutboxRepository.class), new ObjectMapper(),
+                circuitBreaker, meterRegistry, 4, Duration.ofSeconds(2));
+    }
+
+    private MimeMessage message(String to) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, false, "UTF-8");
+        helper.setFrom("noreply@zoonosys.com");
+        helper.setTo(to);
+        helper.setSubject("Recuperação de Senha - ZoonoSys");
+        helper.setText("corpo");
+        return message;
+    }
+
+    private long sends() {
+        return meterRegistry.get("email.send.duration").tag("template", TEMPLATE).timer().count();
+    }
+
+    private double failures(String reason) {
+        return meterRegistry.get("email.send.failures").tag("template", TEMPLATE).tag("reason", reason)
+                .counter().count();
+    }
+
+    @Test
+    void enviaOLoteNumaUnicaConexaoERegistraADuracao() throws Exception {
+        inicia(true);
+
+        emailService.send(TEMPLATE, message("ana@zoonosys.com"), message("bruno@zoonosys.com"));
+
+        assertEquals(List.of("<ana@zoonosys.com>", "<bruno@zoonosys.com>"), server.recipients);
+        assertEquals(1, server.connections.get());
+        assertEquals(1, sends());
+        assertTrue(meterRegistry.find("email.send.failures").counters().isEmpty());
+        assertEquals(MailCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    void timeoutDoServidorAbreODisjuntor() throws Exception {
+        inicia(false);
+
+        assertThrows(MailSendException.class, () -> emailService.send(TEMPLATE, message("ana@zoonosys.com")));
+        assertTrue(emailService.isAvailable());
+        assertThrows(MailSendException.class, () -> emailService.send(TEMPLATE, message("ana@zoonosys.com")));
+
+        assertEquals(MailCircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertFalse(emailService.isAvailable());
+        assertEquals(2.0, failures("send"));
+        assertEquals(2, sends());
+
+        // Com o disjuntor aberto o servidor não é contatado.
+        assertThrows(ServiceUnavailableException.class, () -> emailService.send(TEMPLATE, message("ana@zoonosys.com")));
+        assertEquals(2, server.connections.get());
+        assertEquals(1.0, failures("circuit-open"));
+        assertEquals(2, sends());
+    }
+
+    @Test
+    void recusaDeParteDosDestinatariosNaoContaComoFalhaDoServidor() throws Exception {
+        inicia(true);
+        MimeMessage recusada = message("recusado@zoonosys.com");
+
+        MailSendException ex = assertThrows(MailSendException.class,
+                () -> emailService.send(TEMPLATE, message("ana@zoonosys.com"), recusada));
+
+        assertEquals(1, ex.getFailedMessages().size());
+        assertTrue(ex.getFailedMessages().containsKey(recusada));
+        assertEquals(List.of("<ana@zoonosys.com>"), server.recipients);
+        assertEquals(1.0, failures("send"));
+        assertEquals(MailCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    /**
+     * Servidor SMTP suficiente para o JavaMail: aceita qualquer comando e recusa destinatários "recusado@...".
+     * Sem resposta, aceita a conexão e nunca envia a saudação, como um servidor travado.
+     */
+    private static final class SmtpServer implements AutoCloseable {
+        private final ServerSocket socket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+
+        private final List<Socket> clients = new CopyOnWriteArrayList<>();
+
+        private final List<String> recipients = new CopyOnWriteArrayList<>();
+
+        private final AtomicInteger connections = new AtomicInteger();
+
+        private final boolean responsive;
+
+        private SmtpServer(boolean responsive) throws IOException {
+            this.responsive = responsive;
+            Thread acceptor = new Thread(this::accept, "smtp-test");
+            acceptor.setDaemon(true);
+            acceptor.start();
+        }
+
+        int port() {
+            return socket.getLocalPort();
+        }
+
+        private void accept() {
+            while (!socket.isClosed()) {
+                try {
+                    Socket client = socket.accept();
+                    connections.incrementAndGet();
+                    clients.add(client);
+                    if (responsive) {
+                        Thread session = new Thread(() -> converse(client), "smtp-test-session");
+                        session.setDaemon(true);
+                        session.start();
+                    }
+                } catch (IOException e) {
+                    return;
+                }
+            }
+        }
+
+        private void converse(Socket client) {
+            try (client;
+                 BufferedReader in = new BufferedReader(
+                         new InputStreamReader(client.getInputStream(), StandardCharsets.UTF_8));
+                 PrintWriter out = new PrintWriter(client.getOutputStream(), true, StandardCharsets.UTF_8)) {
+                reply(out, "220 localhost ESMTP");
+                List<String> pending = new ArrayList<>();
+                String line;
+                while ((line = in.readLine()) != null) {
+                    String command = line.toUpperCase(Locale.ROOT);
+                    if (command.startsWith("RCPT TO:")) {
+                        String recipient = line.substring("RCPT TO:".length()).trim();
+                        if (recipient.contains("recusado")) {
+                            reply(out, "550 5.1.1 Mailbox unavailable");
+                        } else {
+                            pending.add(recipient);
+                            reply(out, "250 OK");
+                        }
+                    } else if (command.equals("DATA")) {
+                        reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                        while ((line = in.readLine()) != null && !line.equals(".")) {
+                            // Corpo da mensagem descartado.
+                        }
+                        recipients.addAll(pending);
+                        pending.clear();
+                        reply(out, "250 OK");
+                    } else if (command.equals("RSET")) {
+                        pending.clear();
+                        reply(out, "250 OK");
+                    } else if (command.equals("QUIT")) {
+                        reply(out, "221 Bye");
+                        return;
+                    } else {
+                        reply(out, "250 OK");
+                    }
+                }
+            } catch (IOException e) {
+                // Conexão encerrada pelo cliente.
+            }
+        }
+
+        private static void reply(PrintWriter out, String line) {
+            out.print(line + "\r\n");
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+            for (Socket client : clients) {
+                client.close();
+            }
+        }
+    }
+}
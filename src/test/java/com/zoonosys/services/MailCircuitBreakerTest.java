@@ -0,0 +1,88 @@
+package com.zoonosys.services;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MailCircuitBreakerTest {
+
+    private static MailCircuitBreaker breaker(Duration openDuration) {
+        return new MailCircuitBreaker(3, openDuration, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void abreAposFalhasConsecutivas() {
+        MailCircuitBreaker breaker = breaker(Duration.ofHours(1));
+
+        breaker.onFailure();
+        breaker.onFailure();
+        assertEquals(MailCircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.tryAcquire());
+
+        breaker.onFailure();
+        assertEquals(MailCircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire());
+        assertFalse(breaker.isCallPermitted());
+    }
+
+    @Test
+    void sucessoZeraContagemDeFalhas() {
+        MailCircuitBreaker breaker = breaker(Duration.ofHours(1));
+
+        breaker.onFailure();
+        breaker.onFailure();
+        breaker.onSuccess();
+        breaker.onFailure();
+        breaker.onFailure();
+
+        assertEquals(MailCircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void meioAbertoFechaQuandoTentativaDeTesteTemSucesso() {
+        MailCircuitBreaker breaker = breaker(Duration.ZERO);
+        openCircuit(breaker);
+
+        assertTrue(breaker.isCallPermitted());
+        assertTrue(breaker.tryAcquire());
+        assertEquals(MailCircuitBreaker.State.HALF_OPEN, breaker.getState());
+        // Só uma tentativa de teste por vez.
+        assertFalse(breaker.tryAcquire());
+
+        breaker.onSuccess();
+        assertEquals(MailCircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.tryAcquire());
+    }
+
+    @Test
+    void meioAbertoReabreQuandoTentativaDeTesteFalha() {
+        MailCircuitBreaker breaker = breaker(Duration.ZERO);
+        openCircuit(breaker);
+
+        assertTrue(breaker.tryAcquire());
+        breaker.onFailure();
+
+        assertEquals(MailCircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    void abertoNaoLiberaAntesDoTempoDeEspera() {
+        MailCircuitBreaker breaker = breaker(Duration.ofHours(1));
+        openCircuit(breaker);
+
+        assertFalse(breaker.tryAcquire());
+        assertEquals(MailCircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    private static void openCircuit(MailCircuitBreaker breaker) {
+        for (int i = 0; i < 3; i++) {
+            breaker.onFailure();
+        }
+        assertEquals(MailCircuitBreaker.State.OPEN, breaker.getState());
+    }
+}
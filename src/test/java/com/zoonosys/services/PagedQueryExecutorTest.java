@@ -0,0 +1,102 @@
+package com.zoonosys.services;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PagedQueryExecutorTest {
+
+    private final PagedQueryExecutor executor =
+            new PagedQueryExecutor(2, 8, Duration.ofMinutes(1), 100, new SimpleMeterRegistry());
+
+    private final AtomicInteger counts = new AtomicInteger();
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    private static List<Integer> rows(int size) {
+        return IntStream.range(0, size).boxed().toList();
+    }
+
+    private long count(long total) {
+        counts.incrementAndGet();
+        return total;
+    }
+
+    @Test
+    void ultimaPaginaIncompletaDeduzOTotalSemContagem() {
+        Page<Integer> page = executor.page("news:", PageRequest.of(2, 10), p -> rows(4), () -> 999L);
+
+        assertEquals(24, page.getTotalElements());
+        assertEquals(3, page.getTotalPages());
+    }
+
+    @Test
+    void paginaCheiaUsaAContagem() {
+        Page<Integer> page = executor.page("news:", PageRequest.of(0, 10), p -> rows(10), () -> count(57));
+
+        assertEquals(57, page.getTotalElements());
+        assertEquals(1, counts.get());
+    }
+
+    @Test
+    void paginaVaziaUsaAContagem() {
+        Page<Integer> page = executor.page("news:", PageRequest.of(9, 10), p -> rows(0), () -> count(57));
+
+        assertEquals(57, page.getTotalElements());
+    }
+
+    @Test
+    void totalEmCacheDispensaNovaContagem() {
+        executor.page("news:all", PageRequest.of(0, 10), p -> rows(10), () -> count(57));
+        Page<Integer> second = executor.page("news:all", PageRequest.of(1, 10), p -> rows(10), () -> count(100));
+
+        assertEquals(57, second.getTotalElements());
+        assertEquals(1, counts.get());
+    }
+
+    @Test
+    void invalidacaoPorPrefixoDescartaOTotal() {
+        executor.page("news:all", PageRequest.of(0, 10), p -> rows(10), () -> count(57));
+        executor.page("campaigns:all", PageRequest.of(0, 10), p -> rows(10), () -> count(30));
+
+        executor.invalidate("news");
+
+        assertEquals(80, executor.page("news:all", PageRequest.of(0, 10), p -> rows(10), () -> count(80))
+                .getTotalElements());
+        assertEquals(30, executor.page("campaigns:all", PageRequest.of(0, 10), p -> rows(10), () -> count(31))
+                .getTotalElements());
+        assertEquals(3, counts.get());
+    }
+
+    @Test
+    void semPaginacaoOTotalEOTamanhoDoConteudo() {
+        Page<Integer> page = executor.page("news:", Pageable.unpaged(), p -> rows(7), () -> count(999));
+
+        assertEquals(7, page.getTotalElements());
+        assertEquals(0, counts.get());
+    }
+
+    @Test
+    void falhaNaContagemChegaAoChamador() {
+        IllegalStateException error = assertThrows(IllegalStateException.class,
+                () -> executor.page("news:", PageRequest.of(0, 10), p -> rows(10), () -> {
+                    throw new IllegalStateException("banco indisponível");
+                }));
+
+        assertEquals("banco indisponível", error.getMessage());
+    }
+}
@@ -0,0 +1,93 @@
+package com.zoonosys.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimingWheelTest {
+
+    /** Avança um tick por vez e registra o instante em que cada chave venceu. */
+    private static Map<String, Long> advanceTickByTick(TimingWheel wheel, long from, long to) {
+        Map<String, Long> expired = new HashMap<>();
+        for (long now = from + 1; now <= to; now++) {
+            long tick = now;
+            wheel.advance(now, key -> expired.put(key, tick));
+        }
+        return expired;
+    }
+
+    @Test
+    void venceNoPrazoDoPrimeiroNivel() {
+        TimingWheel wheel = new TimingWheel(1, 2, 0);
+        assertTrue(wheel.schedule("a", 10));
+        assertTrue(wheel.schedule("b", 63));
+
+        Map<String, Long> expired = advanceTickByTick(wheel, 0, 100);
+
+        assertEquals(10L, expired.get("a"));
+        assertEquals(63L, expired.get("b"));
+    }
+
+    @Test
+    void desceDeNivelNaCascataSemAntecipar() {
+        TimingWheel wheel = new TimingWheel(1, 2, 60);
+        wheel.schedule("a", 130);
+        wheel.schedule("b", 4_286);
+
+        Map<String, Long> expired = advanceTickByTick(wheel, 60, 5_000);
+
+        assertEquals(130L, expired.get("a"));
+        assertEquals(4_286L, expired.get("b"));
+    }
+
+    @Test
+    void prazoAlemDoAlcanceEReagendado() {
+        TimingWheel wheel = new TimingWheel(1, 2, 0);
+        wheel.schedule("longe", 10_000);
+
+        Map<String, Long> expired = advanceTickByTick(wheel, 0, 12_000);
+
+        assertEquals(10_000L, expired.get("longe"));
+    }
+
+    @Test
+    void prazoVencidoNaoEAgendado() {
+        TimingWheel wheel = new TimingWheel(1_000, 2, 10_000);
+
+        assertFalse(wheel.schedule("a", 10_000));
+        assertFalse(wheel.schedule("b", 5_000));
+    }
+
+    @Test
+    void prazoEArredondadoParaOTickSeguinte() {
+        TimingWheel wheel = new TimingWheel(1_000, 2, 0);
+        wheel.schedule("a", 1_500);
+
+        Map<String, Long> expired = new HashMap<>();
+        wheel.advance(1_999, key -> expired.put(key, 1_999L));
+        assertTrue(expired.isEmpty());
+
+        wheel.advance(2_000, key -> expired.put(key, 2_000L));
+        assertEquals(2_000L, expired.get("a"));
+    }
+
+    @Test
+    void avancoEmSaltoEntregaTodasAsVencidas() {
+        TimingWheel wheel = new TimingWheel(1, 2, 0);
+        for (int i = 1; i <= 1_000; i++) {
+            wheel.schedule("k" + i, i * 3L);
+        }
+
+        Map<String, Long> expired = new HashMap<>();
+        wheel.advance(1_500, key -> expired.put(key, 1_500L));
+
+        assertEquals(500, expired.size());
+        assertTrue(expired.containsKey("k500"));
+        assertFalse(expired.containsKey("k501"));
+    }
+}
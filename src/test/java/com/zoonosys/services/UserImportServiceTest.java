@@ -0,0 +1,172 @@
+package com.zoonosys.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zoonosys.dtos.ImportReportDTO;
+import com.zoonosys.dtos.ImportRowErrorDTO;
+import com.zoonosys.enums.ImportFormat;
+import com.zoonosys.enums.RoleName;
+import com.zoonosys.models.Role;
+import com.zoonosys.models.User;
+import com.zoonosys.repositories.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserImportServiceTest {
+
+    private static final String HEADER = "email;password;name;cpf;phone\n";
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+
+    private final RoleRegistry roleRegistry = mock(RoleRegistry.class);
+
+    private final PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+
+    private final PagedQueryExecutor pagedQueryExecutor = mock(PagedQueryExecutor.class);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final UserImportService service = new UserImportService(userRepository, roleRegistry, passwordEncoder,
+            pagedQueryExecutor, new ObjectMapper(), mock(PlatformTransactionManager.class), meterRegistry,
+            1, 10, 100, 10);
+
+    @BeforeEach
+    void configura() {
+        when(roleRegistry.get(RoleName.ROLE_CUSTOMER)).thenReturn(Role.builder().name(RoleName.ROLE_CUSTOMER).build());
+        when(passwordEncoder.encode(anyString())).thenAnswer(invocation -> "hash:" + invocation.getArgument(0));
+        when(userRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(userRepository.saveAndFlush(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @AfterEach
+    void encerra() {
+        service.shutdown();
+    }
+
+    private ImportReportDTO importa(String csv) throws IOException {
+        return service.importUsers(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), ImportFormat.CSV);
+    }
+
+    private double rows(String result) {
+        return meterRegistry.get("users.import.rows").tag("result", result).counter().count();
+    }
+
+    private static DataIntegrityViolationException duplicado(String column) {
+        return new DataIntegrityViolationException("duplicate key",
+                new IllegalStateException("Key (" + column + ")=(valor) already exists."));
+    }
+
+    @Test
+    void gravaOLoteInteiroDeUmaVez() throws IOException {
+        ImportReportDTO report = importa(HEADER
+                + "ana@zoonosys.com;senha1;Ana;11111111111;11999990001\n"
+                + "bruno@zoonosys.com;senha2;Bruno;22222222222;11999990002\n");
+
+        assertEquals(new ImportReportDTO(2, 2, List.of(), false), report);
+        verify(userRepository, times(1)).saveAll(anyList());
+        verify(userRepository, never()).saveAndFlush(any(User.class));
+        verify(pagedQueryExecutor).invalidate(UserService.PAGE_KEY);
+        assertEquals(2.0, rows("imported"));
+    }
+
+    @Test
+    void loteRecusadoEhRegravadoLinhaALinha() throws IOException {
+        when(userRepository.saveAll(anyList())).thenThrow(duplicado("email"));
+        when(userRepository.saveAndFlush(any(User.class))).thenAnswer(invocation -> {
+            User user = invocation.getArgument(0);
+            if (user.getEmail().equals("repetido@zoonosys.com")) {
+                throw duplicado("email");
+            }
+            return user;
+        });
+
+        ImportReportDTO report = importa(HEADER
+                + "ana@zoonosys.com;senha1;Ana;11111111111;11999990001\n"
+                + "repetido@zoonosys.com;senha2;Repetido;22222222222;11999990002\n"
+                + "carla@zoonosys.com;senha3;Carla;33333333333;11999990003\n");
+
+        assertEquals(List.of(new ImportRowErrorDTO(3, "E-mail já cadastrado")), report.errors());
+        assertEquals(3, report.rows());
+        assertEquals(2, report.imported());
+        assertEquals(2.0, rows("imported"));
+        assertEquals(1.0, rows("rejected"));
+        verify(pagedQueryExecutor).invalidate(UserService.PAGE_KEY);
+    }
+
+    @Test
+    void regravacaoUsaEntidadesNovasSemCifrarDeNovo() throws IOException {
+        when(userRepository.saveAll(anyList())).thenThrow(duplicado("cpf"));
+
+        importa(HEADER
+                + "ana@zoonosys.com;senha1;Ana;11111111111;11999990001\n"
+                + "bruno@zoonosys.com;senha2;Bruno;22222222222;11999990002\n");
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<User>> batch = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<User> retried = ArgumentCaptor.forClass(User.class);
+        verify(userRepository).saveAll(batch.capture());
+        verify(userRepository, times(2)).saveAndFlush(retried.capture());
+        List<User> rejected = batch.getValue();
+        List<User> retriedUsers = retried.getAllValues();
+        for (int i = 0; i < rejected.size(); i++) {
+            assertNotSame(rejected.get(i), retriedUsers.get(i));
+            assertEquals(rejected.get(i).getEmail(), retriedUsers.get(i).getEmail());
+            assertEquals(rejected.get(i).getPassword(), retriedUsers.get(i).getPassword());
+        }
+        assertEquals("hash:senha1", retriedUsers.get(0).getPassword());
+        verify(passwordEncoder, times(2)).encode(anyString());
+    }
+
+    @Test
+    void falhaDoBancoSemViolacaoDeUnicidadeViraErroGenerico() throws IOException {
+        when(userRepository.saveAll(anyList())).thenThrow(new QueryTimeoutException("lote lento"));
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(
+                new QueryTimeoutException("linha lenta", new IllegalStateException("canceling statement")));
+
+        ImportReportDTO report = importa(HEADER + "ana@zoonosys.com;senha1;Ana;11111111111;11999990001\n");
+
+        assertEquals(List.of(new ImportRowErrorDTO(2, "Recusado pelo banco de dados: canceling statement")),
+                report.errors());
+        assertEquals(0, report.imported());
+        verify(pagedQueryExecutor, never()).invalidate(anyString());
+    }
+
+    @Test
+    void linhasInvalidasNaoChegamAoBanco() throws IOException {
+        ImportReportDTO report = importa(HEADER
+                + "ana@zoonosys.com;senha1;Ana;11111111111;11999990001\n"
+                + "sem-arroba;senha2;Bruno;22222222222;11999990002\n"
+                + "carla@zoonosys.com;senha3;Carla;;11999990003\n");
+
+        assertEquals(3, report.rows());
+        assertEquals(1, report.imported());
+        assertEquals(List.of(
+                new ImportRowErrorDTO(3, "email: endereço inválido 'sem-arroba'."),
+                new ImportRowErrorDTO(4, "cpf: campo obrigatório.")), report.errors());
+        assertFalse(report.errorsTruncated());
+        verify(passwordEncoder, times(1)).encode(anyString());
+    }
+}
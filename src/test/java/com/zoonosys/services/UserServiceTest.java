@@ -0,0 +1,110 @@
+package com.zoonosys.services;
+
+import com.zoonosys.enums.RoleName;
+import com.zoonosys.models.Role;
+import com.zoonosys.models.User;
+import com.zoonosys.repositories.UserRepository;
+import com.zoonosys.security.authentication.PrincipalCache;
+import com.zoonosys.security.authentication.TokenVersionCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private RoleRegistry roleRegistry;
+
+    @Mock
+    private PrincipalCache principalCache;
+
+    @Mock
+    private TokenVersionCache tokenVersionCache;
+
+    @Mock
+    private PagedQueryExecutor pagedQueryExecutor;
+
+    @InjectMocks
+    private UserService userService;
+
+    private User user;
+
+    @BeforeEach
+    void configura() {
+        user = User.builder()
+                .id(7L)
+                .email("ana@zoonosys.com")
+                .name("Ana")
+                .roles(new ArrayList<>(List.of(Role.builder().name(RoleName.ROLE_CUSTOMER).build())))
+                .tokenVersion(3)
+                .build();
+        when(userRepository.findById(7L)).thenReturn(Optional.of(user));
+        when(roleRegistry.get(RoleName.ROLE_ADMINISTRATOR))
+                .thenReturn(Role.builder().name(RoleName.ROLE_ADMINISTRATOR).build());
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void encerraTransacao() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    private void verificaQueNadaFoiInvalidado() {
+        verify(principalCache, never()).invalidate(anyString());
+        verify(tokenVersionCache, never()).invalidate(anyLong());
+        verify(pagedQueryExecutor, never()).invalidate(anyString());
+    }
+
+    @Test
+    void mudancaDePapelIncrementaAVersaoDoToken() {
+        userService.updateUserRole(7L, RoleName.ROLE_ADMINISTRATOR);
+
+        assertEquals(4, user.getTokenVersion());
+        assertEquals(List.of(RoleName.ROLE_ADMINISTRATOR), user.getRoles().stream().map(Role::getName).toList());
+        verify(userRepository).save(user);
+    }
+
+    @Test
+    void cachesSoSaoInvalidadosAposOCommit() {
+        userService.updateUserRole(7L, RoleName.ROLE_ADMINISTRATOR);
+
+        verificaQueNadaFoiInvalidado();
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        verify(principalCache).invalidate("ana@zoonosys.com");
+        verify(tokenVersionCache).invalidate(7L);
+        verify(pagedQueryExecutor).invalidate(UserService.PAGE_KEY);
+    }
+
+    @Test
+    void rollbackNaoInvalidaOsCaches() {
+        userService.updateUserRole(7L, RoleName.ROLE_ADMINISTRATOR);
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        verificaQueNadaFoiInvalidado();
+    }
+}